@@ -0,0 +1,66 @@
+package org.daodao.jdbc.benchmarks;
+
+import org.daodao.jdbc.config.Neo4jConfig;
+import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.support.BoltProfile;
+import org.daodao.jdbc.support.FakeBoltServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Resolves the server the database-backed benchmarks run against. By default this is the
+ * server from application.properties; {@code -Dbenchmark.neo4j.uri=...} (plus optional
+ * {@code .username}, {@code .password} and {@code .database}) points the run elsewhere.
+ * {@code -Dbenchmark.neo4j.uri=standin} starts the in-process {@link FakeBoltServer} instead,
+ * shaped by {@code benchmark.standin.latency-ms}, {@code .jitter-ms}, {@code .records} and
+ * {@code .failure-rate}.
+ */
+public final class BenchmarkTarget {
+    static final String STANDIN = "standin";
+
+    private BenchmarkTarget() {
+    }
+
+    public static Neo4jConnector connect() {
+        String uri = System.getProperty("benchmark.neo4j.uri");
+        if (uri == null) {
+            return new Neo4jConnector(new Neo4jConfig());
+        }
+        if (STANDIN.equals(uri)) {
+            return new Neo4jConnector(startStandIn().config());
+        }
+        Properties props = new Properties();
+        props.setProperty("neo4j.uri", uri);
+        props.setProperty("neo4j.username", System.getProperty("benchmark.neo4j.username", "neo4j"));
+        props.setProperty("neo4j.password", System.getProperty("benchmark.neo4j.password", ""));
+        String database = System.getProperty("benchmark.neo4j.database");
+        if (database != null) {
+            props.setProperty("neo4j.database", database);
+        }
+        return new Neo4jConnector(new Neo4jConfig(props));
+    }
+
+    private static FakeBoltServer startStandIn() {
+        BoltProfile profile = BoltProfile.defaults()
+                .withQueryLatency(Duration.ofMillis(Long.getLong("benchmark.standin.latency-ms", 0)))
+                .withLatencyJitter(Duration.ofMillis(Long.getLong("benchmark.standin.jitter-ms", 0)))
+                .withRecordCount(Integer.getInteger("benchmark.standin.records", 100))
+                .withFailureRate(Double.parseDouble(System.getProperty("benchmark.standin.failure-rate", "0")));
+        try {
+            FakeBoltServer server = new FakeBoltServer(profile);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    server.close();
+                } catch (IOException ignored) {
+                    // JVM is exiting
+                }
+            }));
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start Bolt stand-in", e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.daodao.jdbc.benchmarks;
+
+import org.daodao.jdbc.model.Movie;
+import org.daodao.jdbc.service.MovieQueries;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building query parameters, including the conversion the driver performs before a
+ * parameter map goes on the wire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParameterBenchmark {
+    private final Movie movie = new Movie("The Matrix", 1999, "Science Fiction",
+            "A computer hacker learns about the true nature of reality");
+
+    @Benchmark
+    public Map<String, Object> movieParamsHashMap() {
+        return hashMapParams();
+    }
+
+    @Benchmark
+    public Value movieParamsHashMapToValue() {
+        return Values.value(hashMapParams());
+    }
+
+    @Benchmark
+    public Value movieParamsDirectValue() {
+        return Values.parameters("title", movie.getTitle(), "year", movie.getYear(),
+                "genre", movie.getGenre(), "description", movie.getDescription());
+    }
+
+    @Benchmark
+    public Query movieDefinitionBind() {
+        return MovieQueries.CREATE_MOVIE.bind(movie);
+    }
+
+    private Map<String, Object> hashMapParams() {
+        Map<String, Object> params = new HashMap<>();
+        params.put("title", movie.getTitle());
+        params.put("year", movie.getYear());
+        params.put("genre", movie.getGenre());
+        params.put("description", movie.getDescription());
+        return params;
+    }
+}
@@ -0,0 +1,86 @@
+package org.daodao.jdbc.benchmarks;
+
+import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.connectors.ReactiveNeo4jConnector;
+import org.daodao.jdbc.model.Movie;
+import org.daodao.jdbc.model.Person;
+import org.daodao.jdbc.service.Neo4jAsyncMovieService;
+import org.daodao.jdbc.service.Neo4jMovieService;
+import org.daodao.jdbc.service.ReactiveMovieService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup throughput of the blocking, async and reactive services against the same server.
+ * Expects the sample data from Neo4jDatabaseInitializer to be present.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(8)
+public class ReadBenchmark {
+    private Neo4jConnector connector;
+    private Neo4jMovieService blockingService;
+    private Neo4jAsyncMovieService asyncService;
+    private ReactiveMovieService reactiveService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        connector = BenchmarkTarget.connect();
+        blockingService = new Neo4jMovieService(connector);
+        asyncService = new Neo4jAsyncMovieService(connector);
+        reactiveService = new ReactiveMovieService(new ReactiveNeo4jConnector(connector));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connector.close();
+    }
+
+    @Benchmark
+    public Movie blockingGetMovie() {
+        return blockingService.getMovie("The Matrix");
+    }
+
+    @Benchmark
+    public Movie asyncGetMovie() {
+        return asyncService.getMovie("The Matrix").toCompletableFuture().join();
+    }
+
+    @Benchmark
+    public Movie reactiveGetMovie() {
+        return reactiveService.getMovie("The Matrix").block();
+    }
+
+    @Benchmark
+    public List<Person> blockingGetActors() {
+        return blockingService.getActorsInMovie("The Dark Knight");
+    }
+
+    @Benchmark
+    public List<Person> asyncGetActors() {
+        return asyncService.getActorsInMovie("The Dark Knight").toCompletableFuture().join();
+    }
+
+    @Benchmark
+    public List<Person> reactiveGetActors() {
+        return reactiveService.getActorsInMovie("The Dark Knight").collectList().block();
+    }
+}
@@ -0,0 +1,136 @@
+package org.daodao.jdbc.benchmarks;
+
+import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.model.Movie;
+import org.daodao.jdbc.model.Person;
+import org.daodao.jdbc.queries.RecordMapper;
+import org.daodao.jdbc.service.MovieQueries;
+import org.daodao.jdbc.support.FakeBoltServer;
+import org.daodao.jdbc.support.ScriptedResult;
+import org.neo4j.driver.Record;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Record-to-object mapping cost. The records are real driver records, fetched once from the
+ * in-process {@link FakeBoltServer}, and the mappers are the service's own movie and person
+ * mappers from {@link MovieQueries}. The {@code byName} benchmarks keep the previous
+ * look-up-every-column-by-name mapping as a baseline; run with {@code -prof gc} to compare
+ * allocation per row. The {@code interleaved} benchmarks map rows of two results whose columns
+ * come back in a different order from several threads at once, the way concurrent queries share
+ * one mapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordMappingBenchmark {
+    public record MovieRow(String title, int year, String genre, String description) {
+    }
+
+    private static final RecordMapper<MovieRow> MOVIE_ROW_MAPPER = RecordMapper.forRecord(MovieRow.class);
+
+    private Record movieRecord;
+    private Record sparseMovieRecord;
+    private Record personRecord;
+    private Record reorderedMovieRecord;
+    private Function<Record, Movie> boundMovieMapper;
+    private Function<Record, Movie> boundReorderedMovieMapper;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> movieKeys = List.of("title", "year", "genre", "description");
+        try (FakeBoltServer server = new FakeBoltServer()) {
+            Neo4jConnector connector = new Neo4jConnector(server.config());
+            try {
+                movieRecord = fetch(server, connector, "MOVIE", movieKeys, Arrays.asList("The Matrix", 1999,
+                        "Science Fiction", "A computer hacker learns about the true nature of reality"));
+                sparseMovieRecord = fetch(server, connector, "SPARSE", movieKeys, Arrays.asList("The Matrix", null, null, null));
+                personRecord = fetch(server, connector, "PERSON", List.of("name", "birthYear", "nationality"),
+                        List.of("Keanu Reeves", 1964, "Canadian"));
+                reorderedMovieRecord = fetch(server, connector, "REORDERED", List.of("description", "genre", "year", "title"),
+                        List.of("A thief who steals corporate secrets", "Science Fiction", 2010, "Inception"));
+            } finally {
+                connector.close();
+            }
+        }
+        boundMovieMapper = RecordMapper.forResult(MovieQueries.MOVIE_MAPPER, movieRecord.keys());
+        boundReorderedMovieMapper = RecordMapper.forResult(MovieQueries.MOVIE_MAPPER, reorderedMovieRecord.keys());
+    }
+
+    @Benchmark
+    public Movie mapMovie() {
+        return MovieQueries.MOVIE_MAPPER.apply(movieRecord);
+    }
+
+    @Benchmark
+    public Movie mapMovieByName() {
+        return mapMovieByName(movieRecord);
+    }
+
+    @Benchmark
+    public MovieRow mapMovieRecordType() {
+        return MOVIE_ROW_MAPPER.apply(movieRecord);
+    }
+
+    @Benchmark
+    public Movie mapSparseMovie() {
+        return MovieQueries.MOVIE_MAPPER.apply(sparseMovieRecord);
+    }
+
+    @Benchmark
+    public Person mapPerson() {
+        return MovieQueries.PERSON_MAPPER.apply(personRecord);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void mapInterleaved(Blackhole blackhole) {
+        blackhole.consume(MovieQueries.MOVIE_MAPPER.apply(movieRecord));
+        blackhole.consume(MovieQueries.MOVIE_MAPPER.apply(reorderedMovieRecord));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void mapInterleavedBound(Blackhole blackhole) {
+        blackhole.consume(boundMovieMapper.apply(movieRecord));
+        blackhole.consume(boundReorderedMovieMapper.apply(reorderedMovieRecord));
+    }
+
+    private static Record fetch(FakeBoltServer server, Neo4jConnector connector, String query,
+                                List<String> keys, List<Object> row) {
+        server.respondContaining(query, (text, params) -> ScriptedResult.of(keys, List.of(row)));
+        return connector.executeRead(query, Map.of(), Function.identity()).get(0);
+    }
+
+    private static Movie mapMovieByName(Record record) {
+        Movie movie = new Movie();
+        movie.setTitle(record.get("title").asString());
+        var yearValue = record.get("year");
+        movie.setYear(yearValue.isNull() ? null : yearValue.asInt());
+        var genreValue = record.get("genre");
+        movie.setGenre(genreValue.isNull() ? null : genreValue.asString());
+        var descriptionValue = record.get("description");
+        movie.setDescription(descriptionValue.isNull() ? null : descriptionValue.asString());
+        return movie;
+    }
+}
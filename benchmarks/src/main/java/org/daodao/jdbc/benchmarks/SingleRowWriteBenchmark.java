@@ -0,0 +1,59 @@
+package org.daodao.jdbc.benchmarks;
+
+import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.model.Movie;
+import org.daodao.jdbc.service.Neo4jMovieService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows written per second through one transaction per row, the baseline for
+ * {@link WriteBenchmark}. Each invocation writes {@link WriteBenchmark#ROWS} movies; scores are
+ * reported per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class SingleRowWriteBenchmark {
+    private Neo4jConnector connector;
+    private Neo4jMovieService movieService;
+    private List<Movie> movies;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        connector = BenchmarkTarget.connect();
+        movieService = new Neo4jMovieService(connector);
+        movies = WriteBenchmark.movies();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        WriteBenchmark.deleteMovies(connector);
+        connector.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WriteBenchmark.ROWS)
+    public void singleRowTransactions() {
+        for (Movie movie : movies) {
+            movieService.createMovie(movie);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.daodao.jdbc.benchmarks;
+
+import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.model.Movie;
+import org.daodao.jdbc.service.Neo4jBulkLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows written per second through batched UNWIND statements, per batch size. Each invocation
+ * writes {@link #ROWS} movies; scores are reported per row. {@link SingleRowWriteBenchmark} is
+ * the one-transaction-per-row baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class WriteBenchmark {
+    static final int ROWS = 500;
+    static final String TITLE_PREFIX = "Benchmark Write_";
+
+    @Param({"100", "500"})
+    public int batchSize;
+
+    private Neo4jConnector connector;
+    private Neo4jBulkLoader bulkLoader;
+    private List<Movie> movies;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        connector = BenchmarkTarget.connect();
+        bulkLoader = new Neo4jBulkLoader(connector, batchSize);
+        movies = movies();
+    }
+
+    static List<Movie> movies() {
+        List<Movie> movies = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            movies.add(new Movie(TITLE_PREFIX + i, 2000 + i % 25, "Benchmark", "Benchmark movie " + i));
+        }
+        return movies;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        deleteMovies(connector);
+        connector.close();
+    }
+
+    static void deleteMovies(Neo4jConnector connector) {
+        connector.executeWrite("MATCH (m:Movie) WHERE m.title STARTS WITH '" + TITLE_PREFIX + "' DETACH DELETE m", new HashMap<>());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long batchedUnwind() {
+        return bulkLoader.loadMovies(movies).getRows();
+    }
+}
@@ -0,0 +1,273 @@
+package org.daodao.jdbc.cache;
+
+import org.daodao.jdbc.model.Relationship;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process cache of ACTED_IN / DIRECTED adjacency. Only the topology is kept: movie titles
+ * and person names are interned once into name tables indexed by a compact int id, and each
+ * cached cast or filmography is an {@code int[]} of those ids, so a cached list costs a few bytes
+ * per edge. Node attributes are not cached here; callers resolve the returned keys through the
+ * entity caches.
+ *
+ * <p>Casts and filmographies are each bounded per relationship type. All lists share one least
+ * recently used order, and when the name tables would outgrow their bound the oldest lists are
+ * evicted one by one; a name is dropped from its table once no cached list refers to it.
+ *
+ * <p>Loaders take a {@link #stamp()} before reading from the database and pass it to the put
+ * methods; a put is dropped if any invalidation happened in between, so a read racing a write
+ * can never re-populate a stale list.
+ */
+public class AdjacencyCache {
+    private final int maxEntries;
+    private final int maxNodes;
+
+    private final NameTable movies = new NameTable();
+    private final NameTable persons = new NameTable();
+
+    private final LinkedHashMap<ListKey, int[]> lists = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<ListKind, Integer> listCounts = new HashMap<>();
+
+    private long stamp;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    private enum Side {
+        CAST, FILMOGRAPHY
+    }
+
+    private record ListKind(Side side, Relationship.Type type) {
+    }
+
+    private record ListKey(Side side, Relationship.Type type, String key) {
+        ListKind kind() {
+            return new ListKind(side, type);
+        }
+    }
+
+    public AdjacencyCache(int maxEntries) {
+        this(maxEntries, maxEntries * 16);
+    }
+
+    public AdjacencyCache(int maxEntries, int maxNodes) {
+        if (maxEntries <= 0 || maxNodes <= 0) {
+            throw new IllegalArgumentException("Adjacency cache bounds must be positive: " + maxEntries + ", " + maxNodes);
+        }
+        this.maxEntries = maxEntries;
+        this.maxNodes = maxNodes;
+    }
+
+    public synchronized long stamp() {
+        return stamp;
+    }
+
+    /**
+     * Returns the names of the people related to the movie, or null if the cast is not cached.
+     */
+    public synchronized List<String> getCast(Relationship.Type type, String movieTitle) {
+        return names(lists.get(new ListKey(Side.CAST, type, movieTitle)), persons);
+    }
+
+    /**
+     * Returns the titles of the movies related to the person, or null if the filmography is not cached.
+     */
+    public synchronized List<String> getFilmography(Relationship.Type type, String personName) {
+        return names(lists.get(new ListKey(Side.FILMOGRAPHY, type, personName)), movies);
+    }
+
+    public synchronized void putCast(Relationship.Type type, String movieTitle, List<String> personNames, long loadStamp) {
+        put(new ListKey(Side.CAST, type, movieTitle), personNames, persons, loadStamp);
+    }
+
+    public synchronized void putFilmography(Relationship.Type type, String personName, List<String> movieTitles, long loadStamp) {
+        put(new ListKey(Side.FILMOGRAPHY, type, personName), movieTitles, movies, loadStamp);
+    }
+
+    public synchronized void invalidateRelationship(Relationship.Type type, String movieTitle, String personName) {
+        stamp++;
+        remove(new ListKey(Side.CAST, type, movieTitle));
+        remove(new ListKey(Side.FILMOGRAPHY, type, personName));
+    }
+
+    public synchronized void invalidateMovie(String movieTitle) {
+        stamp++;
+        int movieId = movies.id(movieTitle);
+        Iterator<Map.Entry<ListKey, int[]>> entries = lists.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<ListKey, int[]> entry = entries.next();
+            ListKey key = entry.getKey();
+            boolean stale = key.side() == Side.CAST
+                    ? key.key().equals(movieTitle)
+                    : movieId >= 0 && contains(entry.getValue(), movieId);
+            if (stale) {
+                entries.remove();
+                released(key, entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Records a write that changed node attributes but no relationship. Cached lists stay valid,
+     * but loads that started before the write are not used to fill other caches.
+     */
+    public synchronized void attributesChanged() {
+        stamp++;
+    }
+
+    public synchronized void invalidateAll() {
+        stamp++;
+        lists.clear();
+        listCounts.clear();
+        movies.clear();
+        persons.clear();
+    }
+
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits, misses, evictions, lists.size());
+    }
+
+    private List<String> names(int[] ids, NameTable table) {
+        if (ids == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        List<String> names = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            names.add(table.name(id));
+        }
+        return names;
+    }
+
+    private void put(ListKey key, List<String> names, NameTable table, long loadStamp) {
+        if (loadStamp != stamp) {
+            return;
+        }
+        remove(key);
+        if (names.size() > maxNodes) {
+            return;
+        }
+        // Make room in the name tables by evicting whole lists, oldest first
+        while (movies.size() + persons.size() + names.size() > maxNodes && !lists.isEmpty()) {
+            evictEldest(null);
+        }
+        int[] ids = new int[names.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = table.acquire(names.get(i));
+        }
+        lists.put(key, ids);
+        ListKind kind = key.kind();
+        if (listCounts.merge(kind, 1, Integer::sum) > maxEntries) {
+            evictEldest(kind);
+        }
+    }
+
+    private void evictEldest(ListKind kind) {
+        Iterator<Map.Entry<ListKey, int[]>> entries = lists.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<ListKey, int[]> entry = entries.next();
+            if (kind == null || entry.getKey().kind().equals(kind)) {
+                entries.remove();
+                released(entry.getKey(), entry.getValue());
+                evictions++;
+                return;
+            }
+        }
+    }
+
+    private void remove(ListKey key) {
+        int[] ids = lists.remove(key);
+        if (ids != null) {
+            released(key, ids);
+        }
+    }
+
+    private void released(ListKey key, int[] ids) {
+        listCounts.merge(key.kind(), -1, Integer::sum);
+        NameTable table = key.side() == Side.CAST ? persons : movies;
+        for (int id : ids) {
+            table.release(id);
+        }
+    }
+
+    private static boolean contains(int[] ids, int id) {
+        for (int candidate : ids) {
+            if (candidate == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Interned names with a reference count per id; ids of names no list refers to any more are
+     * reused.
+     */
+    private static final class NameTable {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private String[] names = new String[64];
+        private int[] references = new int[64];
+        private int[] free = new int[16];
+        private int freeCount;
+        private int nextId;
+
+        int size() {
+            return ids.size();
+        }
+
+        int id(String name) {
+            Integer id = ids.get(name);
+            return id == null ? -1 : id;
+        }
+
+        String name(int id) {
+            return names[id];
+        }
+
+        int acquire(String name) {
+            Integer existing = ids.get(name);
+            int id;
+            if (existing != null) {
+                id = existing;
+            } else {
+                id = freeCount > 0 ? free[--freeCount] : nextId++;
+                if (id == names.length) {
+                    names = Arrays.copyOf(names, id * 2);
+                    references = Arrays.copyOf(references, id * 2);
+                }
+                names[id] = name;
+                ids.put(name, id);
+            }
+            references[id]++;
+            return id;
+        }
+
+        void release(int id) {
+            if (--references[id] > 0) {
+                return;
+            }
+            ids.remove(names[id]);
+            names[id] = null;
+            if (freeCount == free.length) {
+                free = Arrays.copyOf(free, freeCount * 2);
+            }
+            free[freeCount++] = id;
+        }
+
+        void clear() {
+            ids.clear();
+            Arrays.fill(names, null);
+            Arrays.fill(references, 0);
+            freeCount = 0;
+            nextId = 0;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.daodao.jdbc.cache;
+
+/**
+ * Cache for entities read from the graph. Implementations may be local or backed by an external
+ * store; callers only rely on {@code get} returning {@code null} for absent or expired entries.
+ * A null key is never cached.
+ *
+ * <p>Read-through loaders take a {@link #stamp(Object)} of the key before reading from the
+ * database and store the result with {@link #put(Object, Object, long)}; the put is dropped if
+ * the key was invalidated in between, so a read racing a write cannot cache the old row.
+ */
+public interface EntityCache<K, V> {
+
+    V get(K key);
+
+    void put(K key, V value);
+
+    long stamp(K key);
+
+    void put(K key, V value, long stamp);
+
+    void invalidate(K key);
+
+    void invalidateAll();
+
+    CacheStats stats();
+
+    static <K, V> EntityCache<K, V> disabled() {
+        return new EntityCache<>() {
+            @Override
+            public V get(K key) {
+                return null;
+            }
+
+            @Override
+            public void put(K key, V value) {
+            }
+
+            @Override
+            public long stamp(K key) {
+                return 0;
+            }
+
+            @Override
+            public void put(K key, V value, long stamp) {
+            }
+
+            @Override
+            public void invalidate(K key) {
+            }
+
+            @Override
+            public void invalidateAll() {
+            }
+
+            @Override
+            public CacheStats stats() {
+                return new CacheStats(0, 0, 0, 0);
+            }
+        };
+    }
+}
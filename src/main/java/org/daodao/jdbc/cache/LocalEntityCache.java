@@ -0,0 +1,135 @@
+package org.daodao.jdbc.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process LRU cache bounded by entry count, with a fixed time-to-live per entry. Stamps are
+ * kept per stripe of keys rather than per key so that they take bounded memory; an invalidation
+ * of one key may also drop a racing put of another key in its stripe, which only costs a miss.
+ */
+public class LocalEntityCache<K, V> implements EntityCache<K, V> {
+    private static final int STAMP_STRIPES = 1024;
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    // Guarded by entries
+    private final long[] stamps = new long[STAMP_STRIPES];
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    public LocalEntityCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    public LocalEntityCache(int maxSize, Duration ttl, LongSupplier nanoClock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxSize);
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Cache TTL must be positive: " + ttl);
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    @Override
+    public V get(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAt() - nanoClock.getAsLong() <= 0) {
+                entries.remove(key);
+                evictions.increment();
+                entry = null;
+            }
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value();
+        }
+    }
+
+    @Override
+    public void put(K key, V value) {
+        synchronized (entries) {
+            store(key, value);
+        }
+    }
+
+    @Override
+    public long stamp(K key) {
+        synchronized (entries) {
+            return stamps[stripe(key)];
+        }
+    }
+
+    @Override
+    public void put(K key, V value, long stamp) {
+        synchronized (entries) {
+            if (stamps[stripe(key)] == stamp) {
+                store(key, value);
+            }
+        }
+    }
+
+    @Override
+    public void invalidate(K key) {
+        synchronized (entries) {
+            stamps[stripe(key)]++;
+            entries.remove(key);
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        synchronized (entries) {
+            for (int i = 0; i < stamps.length; i++) {
+                stamps[i]++;
+            }
+            entries.clear();
+        }
+    }
+
+    private void store(K key, V value) {
+        if (key == null) {
+            // Null keys bypass the cache, so a lookup by a null key always reaches the database
+            return;
+        }
+        entries.put(key, new Entry<>(value, nanoClock.getAsLong() + ttlNanos));
+        if (entries.size() > maxSize) {
+            Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private static int stripe(Object key) {
+        int hash = Objects.hashCode(key);
+        return (hash ^ (hash >>> 16)) & (STAMP_STRIPES - 1);
+    }
+
+    @Override
+    public CacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+}
@@ -1,37 +1,111 @@
 package org.daodao.jdbc.config;
 
+import org.daodao.jdbc.exceptions.PropertyException;
+import org.daodao.jdbc.logging.QueryLog;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Locale;
 import java.util.Properties;
 
 public class Neo4jConfig {
     private static final Logger log = LoggerFactory.getLogger(Neo4jConfig.class);
-    
+
+    public static final int DEFAULT_MAX_CONNECTION_POOL_SIZE = 100;
+    public static final long DEFAULT_CONNECTION_ACQUISITION_TIMEOUT_MS = 60_000;
+    public static final long DEFAULT_MAX_CONNECTION_LIFETIME_MS = 3_600_000;
+    public static final long DEFAULT_CONNECTION_TIMEOUT_MS = 30_000;
+    public static final long DEFAULT_LIVENESS_CHECK_TIMEOUT_MS = -1;
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+    public static final int DEFAULT_EVENT_LOOP_THREADS = 0;
+    public static final int DEFAULT_ENTITY_CACHE_MAX_SIZE = 0;
+    public static final long DEFAULT_ENTITY_CACHE_TTL_MS = 300_000;
+    public static final int DEFAULT_ADJACENCY_CACHE_MAX_ENTRIES = 0;
+    public static final QueryLog.Mode DEFAULT_QUERY_LOG_MODE = QueryLog.Mode.SLOW;
+    public static final long DEFAULT_QUERY_LOG_SLOW_THRESHOLD_MS = 500;
+    public static final long DEFAULT_QUERY_LOG_SAMPLE_INTERVAL_MS = 1000;
+    public static final long DEFAULT_SLOW_QUERY_THRESHOLD_MS = 1000;
+    public static final long DEFAULT_SLOW_QUERY_PROFILE_INTERVAL_MS = 300_000;
+    public static final int DEFAULT_WRITE_BEHIND_MAX_PENDING = 0;
+    public static final long DEFAULT_WRITE_BEHIND_FLUSH_INTERVAL_MS = 1000;
+    public static final long DEFAULT_WRITE_BEHIND_JOURNAL_SYNC_MS = 1000;
+    public static final int DEFAULT_READ_BATCH_MAX_SIZE = 0;
+    public static final long DEFAULT_READ_BATCH_WINDOW_MS = 2;
+    public static final long DEFAULT_RETRY_MAX_TIME_MS = 30_000;
+    public static final long DEFAULT_RETRY_INITIAL_BACKOFF_MS = 50;
+    public static final long DEFAULT_RETRY_MAX_BACKOFF_MS = 2000;
+    public static final double DEFAULT_RETRY_JITTER = 0.5;
+
     private final String uri;
     private final String username;
     private final String password;
     private final String database;
 
+    private final int maxConnectionPoolSize;
+    private final long connectionAcquisitionTimeoutMs;
+    private final long maxConnectionLifetimeMs;
+    private final long connectionTimeoutMs;
+    private final long livenessCheckTimeoutMs;
+    private final int fetchSize;
+    private final int eventLoopThreads;
+    private final int entityCacheMaxSize;
+    private final long entityCacheTtlMs;
+    private final int adjacencyCacheMaxEntries;
+    private final QueryLog.Mode queryLogMode;
+    private final long queryLogSlowThresholdMs;
+    private final long queryLogSampleIntervalMs;
+    private final long slowQueryThresholdMs;
+    private final long slowQueryProfileIntervalMs;
+    private final int writeBehindMaxPending;
+    private final long writeBehindFlushIntervalMs;
+    private final String writeBehindJournal;
+    private final long writeBehindJournalSyncMs;
+    private final int readBatchMaxSize;
+    private final long readBatchWindowMs;
+    private final long retryMaxTimeMs;
+    private final long retryInitialBackoffMs;
+    private final long retryMaxBackoffMs;
+    private final double retryJitter;
+
     public Neo4jConfig() {
-        Properties props = new Properties();
-        try (InputStream input = Neo4jConfig.class.getClassLoader().getResourceAsStream("application.properties")) {
-            if (input == null) {
-                throw new RuntimeException("Unable to find application.properties");
-            }
-            props.load(input);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load application.properties", e);
-        }
-        
+        this(loadProperties());
+        log.info("Neo4j configuration loaded successfully");
+    }
+
+    public Neo4jConfig(Properties props) {
         this.uri = props.getProperty("neo4j.uri");
         this.username = props.getProperty("neo4j.username");
         this.password = props.getProperty("neo4j.password");
         this.database = props.getProperty("neo4j.database");
-        
-        log.info("Neo4j configuration loaded successfully");
+
+        this.maxConnectionPoolSize = intProperty(props, "neo4j.pool.max-size", DEFAULT_MAX_CONNECTION_POOL_SIZE, 1);
+        this.connectionAcquisitionTimeoutMs = longProperty(props, "neo4j.pool.acquisition-timeout-ms", DEFAULT_CONNECTION_ACQUISITION_TIMEOUT_MS, 0);
+        this.maxConnectionLifetimeMs = longProperty(props, "neo4j.pool.max-lifetime-ms", DEFAULT_MAX_CONNECTION_LIFETIME_MS, 1);
+        this.livenessCheckTimeoutMs = longProperty(props, "neo4j.pool.liveness-check-timeout-ms", DEFAULT_LIVENESS_CHECK_TIMEOUT_MS, -1);
+        this.connectionTimeoutMs = longProperty(props, "neo4j.connection-timeout-ms", DEFAULT_CONNECTION_TIMEOUT_MS, 0);
+        this.fetchSize = intProperty(props, "neo4j.fetch-size", DEFAULT_FETCH_SIZE, 1);
+        this.eventLoopThreads = intProperty(props, "neo4j.event-loop-threads", DEFAULT_EVENT_LOOP_THREADS, 0);
+        this.entityCacheMaxSize = intProperty(props, "neo4j.cache.entity.max-size", DEFAULT_ENTITY_CACHE_MAX_SIZE, 0);
+        this.entityCacheTtlMs = longProperty(props, "neo4j.cache.entity.ttl-ms", DEFAULT_ENTITY_CACHE_TTL_MS, 1);
+        this.adjacencyCacheMaxEntries = intProperty(props, "neo4j.cache.adjacency.max-entries", DEFAULT_ADJACENCY_CACHE_MAX_ENTRIES, 0);
+        this.queryLogMode = queryLogModeProperty(props, "neo4j.query-log.mode");
+        this.queryLogSlowThresholdMs = longProperty(props, "neo4j.query-log.slow-threshold-ms", DEFAULT_QUERY_LOG_SLOW_THRESHOLD_MS, 0);
+        this.queryLogSampleIntervalMs = longProperty(props, "neo4j.query-log.sample-interval-ms", DEFAULT_QUERY_LOG_SAMPLE_INTERVAL_MS, 0);
+        this.slowQueryThresholdMs = longProperty(props, "neo4j.slow-query.threshold-ms", DEFAULT_SLOW_QUERY_THRESHOLD_MS, -1);
+        this.slowQueryProfileIntervalMs = longProperty(props, "neo4j.slow-query.profile-interval-ms", DEFAULT_SLOW_QUERY_PROFILE_INTERVAL_MS, -1);
+        this.writeBehindMaxPending = intProperty(props, "neo4j.write-behind.max-pending", DEFAULT_WRITE_BEHIND_MAX_PENDING, 0);
+        this.writeBehindFlushIntervalMs = longProperty(props, "neo4j.write-behind.flush-interval-ms", DEFAULT_WRITE_BEHIND_FLUSH_INTERVAL_MS, 1);
+        String journal = props.getProperty("neo4j.write-behind.journal");
+        this.writeBehindJournal = journal == null || journal.isBlank() ? null : journal.trim();
+        this.writeBehindJournalSyncMs = longProperty(props, "neo4j.write-behind.journal-sync-ms", DEFAULT_WRITE_BEHIND_JOURNAL_SYNC_MS, 0);
+        this.readBatchMaxSize = intProperty(props, "neo4j.read-batch.max-size", DEFAULT_READ_BATCH_MAX_SIZE, 0);
+        this.readBatchWindowMs = longProperty(props, "neo4j.read-batch.window-ms", DEFAULT_READ_BATCH_WINDOW_MS, 0);
+        this.retryMaxTimeMs = longProperty(props, "neo4j.retry.max-time-ms", DEFAULT_RETRY_MAX_TIME_MS, 0);
+        this.retryInitialBackoffMs = longProperty(props, "neo4j.retry.initial-backoff-ms", DEFAULT_RETRY_INITIAL_BACKOFF_MS, 0);
+        this.retryMaxBackoffMs = longProperty(props, "neo4j.retry.max-backoff-ms", DEFAULT_RETRY_MAX_BACKOFF_MS, retryInitialBackoffMs);
+        this.retryJitter = fractionProperty(props, "neo4j.retry.jitter", DEFAULT_RETRY_JITTER);
     }
 
     public Neo4jConfig(String uri, String username, String password, String database) {
@@ -39,6 +113,99 @@ public class Neo4jConfig {
         this.username = username;
         this.password = password;
         this.database = database;
+
+        this.maxConnectionPoolSize = DEFAULT_MAX_CONNECTION_POOL_SIZE;
+        this.connectionAcquisitionTimeoutMs = DEFAULT_CONNECTION_ACQUISITION_TIMEOUT_MS;
+        this.maxConnectionLifetimeMs = DEFAULT_MAX_CONNECTION_LIFETIME_MS;
+        this.livenessCheckTimeoutMs = DEFAULT_LIVENESS_CHECK_TIMEOUT_MS;
+        this.connectionTimeoutMs = DEFAULT_CONNECTION_TIMEOUT_MS;
+        this.fetchSize = DEFAULT_FETCH_SIZE;
+        this.eventLoopThreads = DEFAULT_EVENT_LOOP_THREADS;
+        this.entityCacheMaxSize = DEFAULT_ENTITY_CACHE_MAX_SIZE;
+        this.entityCacheTtlMs = DEFAULT_ENTITY_CACHE_TTL_MS;
+        this.adjacencyCacheMaxEntries = DEFAULT_ADJACENCY_CACHE_MAX_ENTRIES;
+        this.queryLogMode = DEFAULT_QUERY_LOG_MODE;
+        this.queryLogSlowThresholdMs = DEFAULT_QUERY_LOG_SLOW_THRESHOLD_MS;
+        this.queryLogSampleIntervalMs = DEFAULT_QUERY_LOG_SAMPLE_INTERVAL_MS;
+        this.slowQueryThresholdMs = DEFAULT_SLOW_QUERY_THRESHOLD_MS;
+        this.slowQueryProfileIntervalMs = DEFAULT_SLOW_QUERY_PROFILE_INTERVAL_MS;
+        this.writeBehindMaxPending = DEFAULT_WRITE_BEHIND_MAX_PENDING;
+        this.writeBehindFlushIntervalMs = DEFAULT_WRITE_BEHIND_FLUSH_INTERVAL_MS;
+        this.writeBehindJournal = null;
+        this.writeBehindJournalSyncMs = DEFAULT_WRITE_BEHIND_JOURNAL_SYNC_MS;
+        this.readBatchMaxSize = DEFAULT_READ_BATCH_MAX_SIZE;
+        this.readBatchWindowMs = DEFAULT_READ_BATCH_WINDOW_MS;
+        this.retryMaxTimeMs = DEFAULT_RETRY_MAX_TIME_MS;
+        this.retryInitialBackoffMs = DEFAULT_RETRY_INITIAL_BACKOFF_MS;
+        this.retryMaxBackoffMs = DEFAULT_RETRY_MAX_BACKOFF_MS;
+        this.retryJitter = DEFAULT_RETRY_JITTER;
+    }
+
+    private static Properties loadProperties() {
+        Properties props = new Properties();
+        try (InputStream input = Neo4jConfig.class.getClassLoader().getResourceAsStream("application.properties")) {
+            if (input == null) {
+                throw new RuntimeException("Unable to find application.properties");
+            }
+            props.load(input);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load application.properties", e);
+        }
+        return props;
+    }
+
+    private static int intProperty(Properties props, String key, int defaultValue, int min) {
+        long value = longProperty(props, key, defaultValue, min);
+        if (value > Integer.MAX_VALUE) {
+            throw new PropertyException("Property " + key + " is too large: " + value);
+        }
+        return (int) value;
+    }
+
+    private static long longProperty(Properties props, String key, long defaultValue, long min) {
+        String raw = props.getProperty(key);
+        if (raw == null || raw.isBlank()) {
+            return defaultValue;
+        }
+        long value;
+        try {
+            value = Long.parseLong(raw.trim());
+        } catch (NumberFormatException e) {
+            throw new PropertyException("Property " + key + " is not a number: " + raw, e);
+        }
+        if (value < min) {
+            throw new PropertyException("Property " + key + " must be at least " + min + ": " + value);
+        }
+        return value;
+    }
+
+    private static double fractionProperty(Properties props, String key, double defaultValue) {
+        String raw = props.getProperty(key);
+        if (raw == null || raw.isBlank()) {
+            return defaultValue;
+        }
+        double value;
+        try {
+            value = Double.parseDouble(raw.trim());
+        } catch (NumberFormatException e) {
+            throw new PropertyException("Property " + key + " is not a number: " + raw, e);
+        }
+        if (!(value >= 0 && value <= 1)) {
+            throw new PropertyException("Property " + key + " must be between 0 and 1: " + value);
+        }
+        return value;
+    }
+
+    private static QueryLog.Mode queryLogModeProperty(Properties props, String key) {
+        String raw = props.getProperty(key);
+        if (raw == null || raw.isBlank()) {
+            return DEFAULT_QUERY_LOG_MODE;
+        }
+        try {
+            return QueryLog.Mode.valueOf(raw.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new PropertyException("Property " + key + " must be one of off, slow, sampled: " + raw, e);
+        }
     }
 
     public String getUri() {
@@ -56,4 +223,104 @@ public class Neo4jConfig {
     public String getDatabase() {
         return database;
     }
-}
\ No newline at end of file
+
+    public int getMaxConnectionPoolSize() {
+        return maxConnectionPoolSize;
+    }
+
+    public long getConnectionAcquisitionTimeoutMs() {
+        return connectionAcquisitionTimeoutMs;
+    }
+
+    public long getMaxConnectionLifetimeMs() {
+        return maxConnectionLifetimeMs;
+    }
+
+    public long getConnectionTimeoutMs() {
+        return connectionTimeoutMs;
+    }
+
+    public long getLivenessCheckTimeoutMs() {
+        return livenessCheckTimeoutMs;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public int getEventLoopThreads() {
+        return eventLoopThreads;
+    }
+
+    public int getEntityCacheMaxSize() {
+        return entityCacheMaxSize;
+    }
+
+    public long getEntityCacheTtlMs() {
+        return entityCacheTtlMs;
+    }
+
+    public int getAdjacencyCacheMaxEntries() {
+        return adjacencyCacheMaxEntries;
+    }
+
+    public QueryLog.Mode getQueryLogMode() {
+        return queryLogMode;
+    }
+
+    public long getQueryLogSlowThresholdMs() {
+        return queryLogSlowThresholdMs;
+    }
+
+    public long getQueryLogSampleIntervalMs() {
+        return queryLogSampleIntervalMs;
+    }
+
+    public long getSlowQueryThresholdMs() {
+        return slowQueryThresholdMs;
+    }
+
+    public long getSlowQueryProfileIntervalMs() {
+        return slowQueryProfileIntervalMs;
+    }
+
+    public int getWriteBehindMaxPending() {
+        return writeBehindMaxPending;
+    }
+
+    public long getWriteBehindFlushIntervalMs() {
+        return writeBehindFlushIntervalMs;
+    }
+
+    public String getWriteBehindJournal() {
+        return writeBehindJournal;
+    }
+
+    public long getWriteBehindJournalSyncMs() {
+        return writeBehindJournalSyncMs;
+    }
+
+    public int getReadBatchMaxSize() {
+        return readBatchMaxSize;
+    }
+
+    public long getReadBatchWindowMs() {
+        return readBatchWindowMs;
+    }
+
+    public long getRetryMaxTimeMs() {
+        return retryMaxTimeMs;
+    }
+
+    public long getRetryInitialBackoffMs() {
+        return retryInitialBackoffMs;
+    }
+
+    public long getRetryMaxBackoffMs() {
+        return retryMaxBackoffMs;
+    }
+
+    public double getRetryJitter() {
+        return retryJitter;
+    }
+}
@@ -3,69 +3,306 @@ package org.daodao.jdbc.connectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.daodao.jdbc.config.Neo4jConfig;
+import org.daodao.jdbc.logging.QueryLog;
+import org.daodao.jdbc.logging.SlowQueryLog;
+import org.daodao.jdbc.metrics.Neo4jMetrics;
+import org.daodao.jdbc.queries.QueryDefinition;
+import org.daodao.jdbc.queries.RecordMapper;
+import org.neo4j.driver.AccessMode;
 import org.neo4j.driver.AuthTokens;
+import org.neo4j.driver.Config;
 import org.neo4j.driver.Driver;
 import org.neo4j.driver.GraphDatabase;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
 import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
 import org.neo4j.driver.Result;
-import org.neo4j.driver.Value;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.TransactionWork;
+import org.neo4j.driver.async.AsyncSession;
+import org.neo4j.driver.summary.ResultSummary;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class Neo4jConnector {
     private static final Logger log = LoggerFactory.getLogger(Neo4jConnector.class);
     private final Driver driver;
     private final Neo4jConfig config;
+    private final String database;
+    private final boolean ownsDriver;
+    private final Neo4jMetrics metrics;
+    private final QueryLog queryLog;
+    private final SlowQueryLog slowQueryLog;
+    private final RetryPolicy retryPolicy;
+    private final Map<SessionKey, SessionConfig> sessionConfigs = new ConcurrentHashMap<>();
 
     public Neo4jConnector(Neo4jConfig config) {
+        this(config, Neo4jMetrics.disabled());
+    }
+
+    public Neo4jConnector(Neo4jConfig config, Neo4jMetrics metrics) {
         this.config = config;
+        this.metrics = metrics;
+        this.queryLog = QueryLog.fromConfig(config);
+        this.retryPolicy = RetryPolicy.fromConfig(config, metrics);
         this.driver = GraphDatabase.driver(config.getUri(), 
-            AuthTokens.basic(config.getUsername(), config.getPassword()));
-        log.info("Connected to Neo4j at {}", config.getUri());
+            AuthTokens.basic(config.getUsername(), config.getPassword()), buildDriverConfig(config, metrics.isEnabled()));
+        this.database = config.getDatabase();
+        this.ownsDriver = true;
+        this.slowQueryLog = new SlowQueryLog(config.getSlowQueryThresholdMs(), config.getSlowQueryProfileIntervalMs());
+        metrics.bindPool(driver);
+        log.info("Connected to Neo4j at {} (database: {})", config.getUri(), database == null || database.isBlank() ? "default" : database);
+    }
+
+    private Neo4jConnector(Neo4jConnector parent, String database) {
+        this.config = parent.config;
+        this.driver = parent.driver;
+        this.database = database;
+        this.ownsDriver = false;
+        this.metrics = parent.metrics;
+        this.queryLog = parent.queryLog;
+        this.retryPolicy = parent.retryPolicy;
+        this.slowQueryLog = parent.slowQueryLog;
+    }
+
+    private record SessionKey(AccessMode accessMode, int fetchSize) {
+    }
+
+    private static Config buildDriverConfig(Neo4jConfig config, boolean driverMetrics) {
+        Config.ConfigBuilder builder = Config.builder()
+                .withMaxConnectionPoolSize(config.getMaxConnectionPoolSize())
+                .withConnectionAcquisitionTimeout(config.getConnectionAcquisitionTimeoutMs(), TimeUnit.MILLISECONDS)
+                .withMaxConnectionLifetime(config.getMaxConnectionLifetimeMs(), TimeUnit.MILLISECONDS)
+                .withConnectionTimeout(config.getConnectionTimeoutMs(), TimeUnit.MILLISECONDS)
+                .withFetchSize(config.getFetchSize())
+                .withMaxTransactionRetryTime(config.getRetryMaxTimeMs(), TimeUnit.MILLISECONDS);
+        if (config.getLivenessCheckTimeoutMs() >= 0) {
+            builder.withConnectionLivenessCheckTimeout(config.getLivenessCheckTimeoutMs(), TimeUnit.MILLISECONDS);
+        }
+        if (config.getEventLoopThreads() > 0) {
+            builder.withEventLoopThreads(config.getEventLoopThreads());
+        }
+        if (driverMetrics) {
+            builder.withDriverMetrics();
+        }
+        log.info("Driver settings: maxPoolSize={}, acquisitionTimeoutMs={}, maxLifetimeMs={}, connectionTimeoutMs={}, " +
+                        "livenessCheckTimeoutMs={}, fetchSize={}, eventLoopThreads={}, retryMaxTimeMs={}",
+                config.getMaxConnectionPoolSize(), config.getConnectionAcquisitionTimeoutMs(), config.getMaxConnectionLifetimeMs(),
+                config.getConnectionTimeoutMs(), config.getLivenessCheckTimeoutMs(), config.getFetchSize(),
+                config.getEventLoopThreads() > 0 ? config.getEventLoopThreads() : "default", config.getRetryMaxTimeMs());
+        return builder.build();
+    }
+
+    public Neo4jConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Returns a connector that shares this connector's driver and connection pool but opens its
+     * sessions against the given database. Closing the returned connector does not close the driver
+     * or the shared slow query log.
+     */
+    public Neo4jConnector forDatabase(String database) {
+        return new Neo4jConnector(this, database);
+    }
+
+    public Neo4jMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the policy that retries this connector's transactions. Code that runs its own
+     * sessions can use it to get the same backoff, classification and retry counters.
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    public String getDatabase() {
+        return database;
+    }
+
+    public SessionConfig sessionConfig(AccessMode accessMode) {
+        return sessionConfig(accessMode, config.getFetchSize());
+    }
+
+    public SessionConfig sessionConfig(AccessMode accessMode, int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Fetch size must be positive: " + fetchSize);
+        }
+        return sessionConfigs.computeIfAbsent(new SessionKey(accessMode, fetchSize), key -> {
+            SessionConfig.Builder builder = SessionConfig.builder()
+                    .withDefaultAccessMode(key.accessMode())
+                    .withFetchSize(key.fetchSize());
+            if (database != null && !database.isBlank()) {
+                builder.withDatabase(database);
+            }
+            return builder.build();
+        });
     }
 
     public Session getSession() {
-        return driver.session();
+        return getSession(AccessMode.WRITE);
+    }
+
+    public Session getSession(AccessMode accessMode) {
+        return driver.session(sessionConfig(accessMode));
+    }
+
+    public Session getSession(SessionConfig sessionConfig) {
+        return driver.session(sessionConfig);
+    }
+
+    public AsyncSession getAsyncSession(SessionConfig sessionConfig) {
+        return driver.asyncSession(sessionConfig);
+    }
+
+    Driver getDriver() {
+        return driver;
     }
 
     public void close() {
+        if (!ownsDriver) {
+            return;
+        }
+        slowQueryLog.close();
         if (driver != null) {
             driver.close();
             log.info("Neo4j connection closed");
         }
     }
 
-    public void executeWrite(String query, java.util.Map<String, Object> parameters) {
-        try (Session session = getSession()) {
-            session.writeTransaction(tx -> {
-                Result result = tx.run(query, parameters);
-                log.info("Write query executed: {}", query);
-                return result;
-            });
+    public void executeWrite(String query, Map<String, Object> parameters) {
+        executeWrite(new Query(query, parameters));
+    }
+
+    public <P> void executeWrite(QueryDefinition<P> definition, P source) {
+        executeWrite(definition.bind(source));
+    }
+
+    public void executeWrite(Query query) {
+        execute(query, "write", () -> {
+            try (Session session = getSession()) {
+                return retryPolicy.inTransaction(session, query.text(), timed(tx -> tx.run(query).consume()));
+            }
+        });
+    }
+
+    public ResultSummary executeRead(String query, Map<String, Object> parameters) {
+        return executeRead(new Query(query, parameters));
+    }
+
+    public ResultSummary executeRead(Query query) {
+        return execute(query, "read", () -> {
+            try (Session session = getSession(AccessMode.READ)) {
+                return retryPolicy.inTransaction(session, query.text(), timed(tx -> tx.run(query).consume()));
+            }
+        });
+    }
+
+    public <T> List<T> executeRead(String query, Map<String, Object> parameters, Function<Record, T> mapper) {
+        return executeRead(new Query(query, parameters), mapper);
+    }
+
+    public <P, T> List<T> executeRead(QueryDefinition<P> definition, P source, Function<Record, T> mapper) {
+        return executeRead(definition.bind(source), mapper);
+    }
+
+    public <T> List<T> executeRead(Query query, Function<Record, T> mapper) {
+        List<T> rows = execute(query, "read", () -> {
+            try (Session session = getSession(AccessMode.READ)) {
+                return retryPolicy.inTransaction(session, query.text(), timed(tx -> {
+                    Result result = tx.run(query);
+                    return result.list(RecordMapper.forResult(mapper, result.keys()));
+                }));
+            }
+        });
+        metrics.recordRows(query.text(), rows.size());
+        return rows;
+    }
+
+    private <T> T execute(Query query, String mode, Supplier<T> work) {
+        if (!queryLog.isEnabled() && !slowQueryLog.isEnabled()) {
+            return metrics.timeQuery(query.text(), mode, work);
+        }
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            T result = metrics.timeQuery(query.text(), mode, work);
+            success = true;
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            String name = metrics.queryName(query.text());
+            // Statements over the slow query threshold are only written to the slow query log
+            if (slowQueryLog.isSlow(elapsed)) {
+                slowQueryLog.record(name, query.text(), query.parameters(), mode, elapsed, success, this::getSession);
+            } else {
+                queryLog.record(name, query.text(), mode, elapsed, success);
+            }
         }
     }
 
-    public Result executeRead(String query, java.util.Map<String, Object> parameters) {
-        try (Session session = getSession()) {
-            return session.readTransaction(tx -> {
-                Result result = tx.run(query, parameters);
-                log.info("Read query executed: {}", query);
-                return result;
-            });
+    // The first invocation measures pool acquisition plus BEGIN; later invocations are retries,
+    // which the retry policy counts
+    private <T> TransactionWork<T> timed(TransactionWork<T> work) {
+        if (!metrics.isEnabled()) {
+            return work;
         }
+        long start = System.nanoTime();
+        boolean[] first = {true};
+        return tx -> {
+            if (first[0]) {
+                first[0] = false;
+                metrics.recordSessionAcquisition(System.nanoTime() - start);
+            }
+            return work.execute(tx);
+        };
+    }
+
+    public <T> QueryCursor<T> openCursor(String query, Map<String, Object> parameters, Function<Record, T> mapper) {
+        return openCursor(query, parameters, mapper, config.getFetchSize());
+    }
+
+    public <T> QueryCursor<T> openCursor(String query, Map<String, Object> parameters, Function<Record, T> mapper, int fetchSize) {
+        return openCursor(new Query(query, parameters), mapper, fetchSize);
+    }
+
+    public <P, T> QueryCursor<T> openCursor(QueryDefinition<P> definition, P source, Function<Record, T> mapper, int fetchSize) {
+        return openCursor(definition.bind(source), mapper, fetchSize);
+    }
+
+    /**
+     * Opens a cursor over a read query. The query timer, query log and slow query log cover BEGIN
+     * and RUN only; fetching records as the cursor is consumed is not included, so callers that
+     * need the whole duration time the cursor until it is closed.
+     */
+    public <T> QueryCursor<T> openCursor(Query query, Function<Record, T> mapper, int fetchSize) {
+        return execute(query, "cursor", () -> {
+            Session session = getSession(sessionConfig(AccessMode.READ, fetchSize));
+            try {
+                Transaction tx = session.beginTransaction();
+                Result result = tx.run(query);
+                return new QueryCursor<>(session, tx, result, mapper);
+            } catch (RuntimeException e) {
+                session.close();
+                throw e;
+            }
+        });
     }
 
     public boolean isDatabaseEmpty() {
         String query = "MATCH (n) RETURN count(n) as count";
         Map<String, Object> params = new HashMap<>();
-        try (Session session = getSession()) {
-            return session.readTransaction(tx -> {
-                Result result = tx.run(query, params);
-                int count = result.single().get("count").asInt();
-                log.info("Database node count: {}", count);
-                return count == 0;
-            });
-        }
+        int count = executeRead(query, params, record -> record.get("count").asInt()).get(0);
+        log.info("Database node count: {}", count);
+        return count == 0;
     }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package org.daodao.jdbc.connectors;
+
+import org.daodao.jdbc.queries.RecordMapper;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.summary.ResultSummary;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Forward-only cursor over a read query. The underlying session and transaction stay open
+ * until the cursor is closed; records are pulled from the server in fetch-size chunks.
+ */
+public class QueryCursor<T> implements Iterator<T>, AutoCloseable {
+    private final Session session;
+    private final Transaction transaction;
+    private final Result result;
+    private final Function<Record, T> mapper;
+    private boolean closed;
+
+    QueryCursor(Session session, Transaction transaction, Result result, Function<Record, T> mapper) {
+        this.session = session;
+        this.transaction = transaction;
+        this.result = result;
+        this.mapper = RecordMapper.forResult(mapper, result.keys());
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !closed && result.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return mapper.apply(result.next());
+    }
+
+    public Stream<T> stream() {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    public ResultSummary consume() {
+        return result.consume();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            transaction.close();
+        } finally {
+            session.close();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.daodao.jdbc.connectors;
+
+import org.daodao.jdbc.queries.QueryDefinition;
+import org.daodao.jdbc.queries.RecordMapper;
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.reactive.RxResult;
+import org.neo4j.driver.reactive.RxSession;
+import org.neo4j.driver.summary.ResultSummary;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Non-blocking counterpart of {@link Neo4jConnector} built on the driver's {@link RxSession}.
+ * Shares the driver (and therefore the connection pool) of the blocking connector. Records are
+ * requested from the server as downstream subscribers signal demand.
+ */
+public class ReactiveNeo4jConnector {
+    private final Driver driver;
+    private final SessionConfig readSessionConfig;
+    private final SessionConfig writeSessionConfig;
+
+    public ReactiveNeo4jConnector(Neo4jConnector connector) {
+        this(connector, connector.getConfig().getFetchSize());
+    }
+
+    public ReactiveNeo4jConnector(Neo4jConnector connector, int fetchSize) {
+        this.driver = connector.getDriver();
+        this.readSessionConfig = connector.sessionConfig(AccessMode.READ, fetchSize);
+        this.writeSessionConfig = connector.sessionConfig(AccessMode.WRITE);
+    }
+
+    public RxSession getSession(SessionConfig sessionConfig) {
+        return driver.rxSession(sessionConfig);
+    }
+
+    public <T> Flux<T> executeRead(String query, Map<String, Object> parameters, Function<Record, T> mapper) {
+        return executeRead(new Query(query, parameters), mapper);
+    }
+
+    public <P, T> Flux<T> executeRead(QueryDefinition<P> definition, P source, Function<Record, T> mapper) {
+        return executeRead(definition.bind(source), mapper);
+    }
+
+    public <T> Flux<T> executeRead(Query query, Function<Record, T> mapper) {
+        return Flux.usingWhen(
+                Mono.fromSupplier(() -> getSession(readSessionConfig)),
+                session -> session.readTransaction(tx -> {
+                    RxResult result = tx.run(query);
+                    return Mono.from(result.keys())
+                            .flatMapMany(keys -> Flux.from(result.records()).map(RecordMapper.forResult(mapper, keys)));
+                }),
+                RxSession::close);
+    }
+
+    public Mono<ResultSummary> executeWrite(String query, Map<String, Object> parameters) {
+        return executeWrite(new Query(query, parameters));
+    }
+
+    public <P> Mono<ResultSummary> executeWrite(QueryDefinition<P> definition, P source) {
+        return executeWrite(definition.bind(source));
+    }
+
+    public Mono<ResultSummary> executeWrite(Query query) {
+        return Flux.usingWhen(
+                Mono.fromSupplier(() -> getSession(writeSessionConfig)),
+                session -> session.writeTransaction(tx -> Flux.from(tx.run(query).consume())),
+                RxSession::close)
+                .single();
+    }
+}
@@ -0,0 +1,139 @@
+package org.daodao.jdbc.connectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.daodao.jdbc.config.Neo4jConfig;
+import org.daodao.jdbc.metrics.Neo4jMetrics;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.TransactionWork;
+import org.neo4j.driver.exceptions.AuthorizationExpiredException;
+import org.neo4j.driver.exceptions.ServiceUnavailableException;
+import org.neo4j.driver.exceptions.SessionExpiredException;
+import org.neo4j.driver.exceptions.TransientException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs transactions with retries on transient failures. The n-th retry waits
+ * {@code min(maxBackoff, initialBackoff * 2^(n-1))}, spread by a random factor of up to
+ * {@code jitter} either way so that writers that deadlocked on the same nodes do not collide
+ * again, until {@code maxRetryTime} has passed since the first attempt. Unlike the driver's
+ * managed transactions, every knob is configurable and each retry is counted per query.
+ */
+public class RetryPolicy {
+    private static final Logger log = LoggerFactory.getLogger(RetryPolicy.class);
+
+    private final long maxRetryTimeMs;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final double jitter;
+    private final Neo4jMetrics metrics;
+
+    public RetryPolicy(long maxRetryTimeMs, long initialBackoffMs, long maxBackoffMs, double jitter, Neo4jMetrics metrics) {
+        if (maxRetryTimeMs < 0) {
+            throw new IllegalArgumentException("Max retry time must not be negative: " + maxRetryTimeMs);
+        }
+        if (initialBackoffMs < 0 || maxBackoffMs < initialBackoffMs) {
+            throw new IllegalArgumentException("Backoff must satisfy 0 <= initial <= max: " + initialBackoffMs + ", " + maxBackoffMs);
+        }
+        if (!(jitter >= 0 && jitter <= 1)) {
+            throw new IllegalArgumentException("Jitter must be between 0 and 1: " + jitter);
+        }
+        this.maxRetryTimeMs = maxRetryTimeMs;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.jitter = jitter;
+        this.metrics = metrics;
+    }
+
+    public static RetryPolicy fromConfig(Neo4jConfig config, Neo4jMetrics metrics) {
+        return new RetryPolicy(config.getRetryMaxTimeMs(), config.getRetryInitialBackoffMs(),
+                config.getRetryMaxBackoffMs(), config.getRetryJitter(), metrics);
+    }
+
+    public long getMaxRetryTimeMs() {
+        return maxRetryTimeMs;
+    }
+
+    /**
+     * Returns whether a failure may succeed when the transaction is run again: lock timeouts and
+     * deadlocks, leader switches and lost connections. Client errors, database errors and
+     * transactions terminated on purpose are fatal.
+     */
+    public boolean isRetryable(Throwable error) {
+        if (error instanceof TransientException transientError) {
+            String code = transientError.code();
+            return !"Neo.TransientError.Transaction.Terminated".equals(code)
+                    && !"Neo.TransientError.Transaction.LockClientStopped".equals(code);
+        }
+        return error instanceof ServiceUnavailableException
+                || error instanceof SessionExpiredException
+                || error instanceof AuthorizationExpiredException;
+    }
+
+    /**
+     * Returns the wait before the given retry, counting from 1.
+     */
+    public long backoffMillis(int retry) {
+        long delay = initialBackoffMs << Math.min(retry - 1, 30);
+        if (delay > maxBackoffMs || delay < 0) {
+            delay = maxBackoffMs;
+        }
+        if (jitter == 0 || delay == 0) {
+            return delay;
+        }
+        double spread = delay * jitter;
+        return Math.max(0, Math.round(delay + ThreadLocalRandom.current().nextDouble(-spread, spread)));
+    }
+
+    /**
+     * Runs the work in explicit transactions on the given session, committing after each attempt
+     * that succeeds. The work may run more than once and must not have side effects outside the
+     * transaction.
+     */
+    public <T> T inTransaction(Session session, String query, TransactionWork<T> work) {
+        return execute(query, () -> {
+            try (Transaction tx = session.beginTransaction()) {
+                T result = work.execute(tx);
+                tx.commit();
+                return result;
+            }
+        });
+    }
+
+    /**
+     * Runs the attempt until it succeeds, fails with an error that is not retryable or the next
+     * wait would take it past the max retry time.
+     */
+    public <T> T execute(String query, Supplier<T> attempt) {
+        long start = System.nanoTime();
+        for (int retry = 1; ; retry++) {
+            try {
+                return attempt.get();
+            } catch (RuntimeException e) {
+                if (maxRetryTimeMs == 0 || !isRetryable(e)) {
+                    throw e;
+                }
+                long delay = backoffMillis(retry);
+                long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                if (elapsed + delay > maxRetryTimeMs) {
+                    metrics.recordRetriesExhausted(query);
+                    log.warn("Giving up on {} after {} attempts in {} ms: {}", metrics.queryName(query), retry, elapsed, e.getMessage());
+                    throw e;
+                }
+                metrics.recordRetry(query, e);
+                log.debug("Attempt {} of {} failed, retrying in {} ms: {}", retry, metrics.queryName(query), delay, e.getMessage());
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    e.addSuppressed(interrupted);
+                    throw e;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.daodao.jdbc.logging;
+
+import org.daodao.jdbc.config.Neo4jConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Structured per-statement log written to the {@code org.daodao.jdbc.query} logger. In
+ * {@link Mode#SLOW} only statements over the threshold are logged (at WARN); in
+ * {@link Mode#SAMPLED} every statement is eligible (at INFO, slow ones at WARN). Either way each
+ * query name logs at most once per sample interval, and the next line reports how many were
+ * suppressed in between. Nothing is formatted unless a line is actually written. When the
+ * connector's {@link SlowQueryLog} is enabled, statements over its threshold are written there
+ * instead of here.
+ */
+public class QueryLog {
+    public static final String LOGGER_NAME = "org.daodao.jdbc.query";
+    private static final Logger log = LoggerFactory.getLogger(LOGGER_NAME);
+    private static final int MAX_TRACKED_NAMES = 10_000;
+
+    public enum Mode {
+        OFF, SLOW, SAMPLED
+    }
+
+    private final Mode mode;
+    private final long slowThresholdNanos;
+    private final long sampleIntervalNanos;
+    private final Map<String, Sampler> samplers = new ConcurrentHashMap<>();
+    // Names seen after the table is full share one rate limit instead of escaping it
+    private final Sampler overflow = new Sampler();
+
+    private static final class Sampler {
+        final AtomicLong nextAllowed = new AtomicLong(Long.MIN_VALUE);
+        final AtomicLong suppressed = new AtomicLong();
+    }
+
+    public QueryLog(Mode mode, long slowThresholdMs, long sampleIntervalMs) {
+        this.mode = mode;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.sampleIntervalNanos = TimeUnit.MILLISECONDS.toNanos(sampleIntervalMs);
+    }
+
+    public static QueryLog fromConfig(Neo4jConfig config) {
+        return new QueryLog(config.getQueryLogMode(), config.getQueryLogSlowThresholdMs(), config.getQueryLogSampleIntervalMs());
+    }
+
+    public static QueryLog off() {
+        return new QueryLog(Mode.OFF, 0, 0);
+    }
+
+    public boolean isEnabled() {
+        return mode != Mode.OFF;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void record(String name, String query, String accessMode, long elapsedNanos, boolean success) {
+        boolean slow = elapsedNanos >= slowThresholdNanos;
+        if (mode == Mode.OFF || (mode == Mode.SLOW && !slow)) {
+            return;
+        }
+        if (slow ? !log.isWarnEnabled() : !log.isInfoEnabled()) {
+            return;
+        }
+        long suppressed = acquire(name);
+        if (suppressed < 0) {
+            return;
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        String outcome = success ? "success" : "error";
+        if (slow) {
+            log.warn("slow query name={} mode={} durationMs={} outcome={} suppressed={} cypher={}",
+                    name, accessMode, elapsedMillis, outcome, suppressed, query);
+        } else {
+            log.info("query name={} mode={} durationMs={} outcome={} suppressed={}",
+                    name, accessMode, elapsedMillis, outcome, suppressed);
+        }
+    }
+
+    // Returns the number of lines suppressed since the last one for this name, or -1 if rate limited
+    private long acquire(String name) {
+        Sampler sampler = samplers.get(name);
+        if (sampler == null) {
+            sampler = samplers.size() >= MAX_TRACKED_NAMES ? overflow : samplers.computeIfAbsent(name, n -> new Sampler());
+        }
+        long now = System.nanoTime();
+        long next = sampler.nextAllowed.get();
+        if ((next != Long.MIN_VALUE && now - next < 0) || !sampler.nextAllowed.compareAndSet(next, now + sampleIntervalNanos)) {
+            sampler.suppressed.incrementAndGet();
+            return -1;
+        }
+        return sampler.suppressed.getAndSet(0);
+    }
+}
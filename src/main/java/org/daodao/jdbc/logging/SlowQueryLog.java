@@ -0,0 +1,215 @@
+package org.daodao.jdbc.logging;
+
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.TransactionWork;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.summary.Plan;
+import org.neo4j.driver.summary.ProfiledPlan;
+import org.neo4j.driver.summary.ResultSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Writes statements slower than a threshold to the {@code org.daodao.jdbc.slowquery} logger
+ * (a rolling file in the default logback setup), together with the shapes of their parameters
+ * and a plan summary. Plans are captured on a background thread and at most once per profile
+ * interval for each statement text; reads are re-run with {@code PROFILE}, writes are only
+ * planned with {@code EXPLAIN} so that capturing a plan never repeats a write. One instance is
+ * shared by a connector and the connectors it derives for other databases; each statement is
+ * recorded with the sessions of the database it ran against.
+ */
+public class SlowQueryLog implements AutoCloseable {
+    public static final String LOGGER_NAME = "org.daodao.jdbc.slowquery";
+    private static final Logger log = LoggerFactory.getLogger(LOGGER_NAME);
+    private static final int MAX_TRACKED_SHAPES = 10_000;
+    private static final int MAX_SHAPE_KEYS = 16;
+
+    private final long thresholdNanos;
+    private final long profileIntervalNanos;
+    private final Map<String, Long> lastCaptured = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor profiler;
+
+    /**
+     * @param thresholdMs       statements taking at least this long are logged, -1 disables the log
+     * @param profileIntervalMs minimum time between plan captures for one statement, -1 disables plans
+     */
+    public SlowQueryLog(long thresholdMs, long profileIntervalMs) {
+        this.thresholdNanos = thresholdMs < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.profileIntervalNanos = profileIntervalMs < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(profileIntervalMs);
+        if (thresholdNanos >= 0 && profileIntervalNanos >= 0) {
+            // One capture at a time; when captures back up, entries are written without a plan
+            this.profiler = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(16),
+                    runnable -> Thread.ofPlatform().daemon().name("neo4j-slow-query-profiler").unstarted(runnable));
+            this.profiler.allowCoreThreadTimeOut(true);
+        } else {
+            this.profiler = null;
+        }
+    }
+
+    public static SlowQueryLog off() {
+        return new SlowQueryLog(-1, -1);
+    }
+
+    public boolean isEnabled() {
+        return thresholdNanos >= 0;
+    }
+
+    public boolean isSlow(long elapsedNanos) {
+        return thresholdNanos >= 0 && elapsedNanos >= thresholdNanos;
+    }
+
+    /**
+     * Logs the statement if it is slow; {@code sessions} opens the sessions its plan is captured in.
+     */
+    public void record(String name, String query, Value parameters, String mode, long elapsedNanos, boolean success,
+                       Function<AccessMode, Session> sessions) {
+        if (!isSlow(elapsedNanos) || !log.isWarnEnabled()) {
+            return;
+        }
+        if (profiler != null && claimCapture(query)) {
+            try {
+                profiler.execute(() -> write(name, query, parameters, mode, elapsedNanos, success,
+                        capturePlan(query, parameters, mode, sessions)));
+                return;
+            } catch (RejectedExecutionException e) {
+                lastCaptured.remove(query);
+            }
+        }
+        write(name, query, parameters, mode, elapsedNanos, success, "not captured");
+    }
+
+    private boolean claimCapture(String query) {
+        long now = System.nanoTime();
+        Long previous = lastCaptured.get(query);
+        if (previous != null) {
+            return now - previous >= profileIntervalNanos && lastCaptured.replace(query, previous, now);
+        }
+        if (lastCaptured.size() >= MAX_TRACKED_SHAPES) {
+            return false;
+        }
+        return lastCaptured.putIfAbsent(query, now) == null;
+    }
+
+    private static String capturePlan(String query, Value parameters, String mode, Function<AccessMode, Session> sessions) {
+        boolean write = "write".equals(mode);
+        String prefixed = (write ? "EXPLAIN " : "PROFILE ") + query;
+        try (Session session = sessions.apply(write ? AccessMode.WRITE : AccessMode.READ)) {
+            TransactionWork<ResultSummary> work = tx -> tx.run(prefixed, parameters).consume();
+            ResultSummary summary = write ? session.writeTransaction(work) : session.readTransaction(work);
+            if (summary.hasProfile()) {
+                ProfiledPlan profile = summary.profile();
+                return describe(profile) + " totalDbHits=" + totalDbHits(profile);
+            }
+            return summary.hasPlan() ? describe(summary.plan()) : "unavailable";
+        } catch (RuntimeException e) {
+            return "failed (" + e.getMessage() + ")";
+        }
+    }
+
+    private static void write(String name, String query, Value parameters, String mode,
+                              long elapsedNanos, boolean success, String plan) {
+        log.warn("slow query name={} mode={} durationMs={} outcome={} params={} cypher={} plan={}",
+                name, mode, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), success ? "success" : "error",
+                shapeOf(parameters.asMap()), query, plan);
+    }
+
+    static String describe(Plan plan) {
+        StringBuilder sb = new StringBuilder();
+        describe(plan, sb);
+        return sb.toString();
+    }
+
+    private static void describe(Plan plan, StringBuilder sb) {
+        String operator = plan.operatorType();
+        int at = operator.indexOf('@');
+        sb.append(at > 0 ? operator.substring(0, at) : operator);
+        if (plan instanceof ProfiledPlan profiled) {
+            sb.append("(rows=").append(profiled.records()).append(", dbHits=").append(profiled.dbHits()).append(')');
+        }
+        List<? extends Plan> children = plan.children();
+        if (!children.isEmpty()) {
+            sb.append(" <- ");
+            if (children.size() > 1) {
+                sb.append('[');
+            }
+            for (int i = 0; i < children.size(); i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                describe(children.get(i), sb);
+            }
+            if (children.size() > 1) {
+                sb.append(']');
+            }
+        }
+    }
+
+    private static long totalDbHits(ProfiledPlan plan) {
+        long hits = plan.dbHits();
+        for (ProfiledPlan child : plan.children()) {
+            hits += totalDbHits(child);
+        }
+        return hits;
+    }
+
+    /**
+     * Describes the types and sizes of a parameter value without its contents, e.g.
+     * {@code {rows:List[1000]<{title:String, year:Integer}>}}.
+     */
+    static String shapeOf(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof String) {
+            return "String";
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return "Integer";
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return "Float";
+        }
+        if (value instanceof Boolean) {
+            return "Boolean";
+        }
+        if (value instanceof Map<?, ?> map) {
+            StringBuilder sb = new StringBuilder("{");
+            int keys = 0;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (keys > 0) {
+                    sb.append(", ");
+                }
+                if (keys++ == MAX_SHAPE_KEYS) {
+                    sb.append("...");
+                    break;
+                }
+                sb.append(entry.getKey()).append(':').append(shapeOf(entry.getValue()));
+            }
+            return sb.append('}').toString();
+        }
+        if (value instanceof Collection<?> collection) {
+            Iterator<?> first = collection.iterator();
+            return "List[" + collection.size() + "]" + (first.hasNext() ? "<" + shapeOf(first.next()) + ">" : "");
+        }
+        return value.getClass().getSimpleName();
+    }
+
+    @Override
+    public void close() {
+        if (profiler != null) {
+            profiler.shutdownNow();
+        }
+    }
+}
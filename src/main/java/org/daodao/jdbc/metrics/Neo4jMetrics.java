@@ -0,0 +1,244 @@
+package org.daodao.jdbc.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.neo4j.driver.ConnectionPoolMetrics;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.exceptions.Neo4jException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+/**
+ * Records connector and service timings into a Micrometer {@link MeterRegistry}. Queries are
+ * tagged by name: statements registered through {@link #nameQuery} use that name, anything else
+ * is tagged with a stable hash of its text, logged once at DEBUG so it can be looked up. Once
+ * {@link #MAX_QUERY_NAMES} statements are known, further unnamed ones share the
+ * {@link #OTHER_QUERY} tag so dynamically built Cypher cannot grow the registry without bound.
+ *
+ * <p>Meters:
+ * <ul>
+ *   <li>{@code neo4j.query} - timer per query, mode and outcome, with percentile histogram; in
+ *   {@code cursor} mode it covers BEGIN and RUN only, not fetching the records</li>
+ *   <li>{@code neo4j.query.rows} - rows returned per query</li>
+ *   <li>{@code neo4j.query.errors} - failures per query and error code</li>
+ *   <li>{@code neo4j.session.acquire} - time from opening a transaction to running its first statement</li>
+ *   <li>{@code neo4j.tx.retries} - transaction retries per query and error code</li>
+ *   <li>{@code neo4j.tx.retries.exhausted} - transactions per query that failed after running out of retry time</li>
+ *   <li>{@code neo4j.pool.in.use} / {@code neo4j.pool.idle} - connections across all pools</li>
+ *   <li>{@code neo4j.service} - timer per service operation and outcome</li>
+ * </ul>
+ *
+ * <p>Meters are registered on first use and kept per tag set, so the hot path is one map lookup.
+ */
+public class Neo4jMetrics {
+    private static final Logger log = LoggerFactory.getLogger(Neo4jMetrics.class);
+    public static final int MAX_QUERY_NAMES = 10_000;
+    public static final String OTHER_QUERY = "other";
+
+    private final MeterRegistry registry;
+    private final Map<String, String> queryNames = new ConcurrentHashMap<>();
+    private final Map<TimerKey, Timer> queryTimers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> rowSummaries = new ConcurrentHashMap<>();
+    private final Map<CodeKey, Counter> errorCounters = new ConcurrentHashMap<>();
+    private final Map<CodeKey, Counter> retryCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> exhaustedCounters = new ConcurrentHashMap<>();
+    private final Map<OperationKey, Timer> operationTimers = new ConcurrentHashMap<>();
+    private final Timer sessionAcquisitionTimer;
+
+    private record TimerKey(String name, String mode, String outcome) {
+    }
+
+    private record CodeKey(String name, String code) {
+    }
+
+    private record OperationKey(String operation, String outcome) {
+    }
+
+    public Neo4jMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.sessionAcquisitionTimer = registry == null ? null : Timer.builder("neo4j.session.acquire")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public static Neo4jMetrics disabled() {
+        return new Neo4jMetrics(null);
+    }
+
+    public boolean isEnabled() {
+        return registry != null;
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    public void nameQuery(String query, String name) {
+        queryNames.put(query, name);
+    }
+
+    public void nameQueries(Map<String, String> names) {
+        queryNames.putAll(names);
+    }
+
+    public String queryName(String query) {
+        String name = queryNames.get(query);
+        if (name != null) {
+            return name;
+        }
+        if (queryNames.size() >= MAX_QUERY_NAMES) {
+            // Dynamically built statements must not grow the name table or the meters without bound
+            return OTHER_QUERY;
+        }
+        return queryNames.computeIfAbsent(query, q -> {
+            String hashed = "q-" + Integer.toHexString(q.hashCode());
+            log.debug("Unnamed query {} is tagged as {}", q, hashed);
+            return hashed;
+        });
+    }
+
+    public <T> T timeQuery(String query, String mode, Supplier<T> work) {
+        if (registry == null) {
+            return work.get();
+        }
+        String name = queryName(query);
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = work.get();
+            outcome = "success";
+            return result;
+        } catch (RuntimeException e) {
+            errorCounters.computeIfAbsent(new CodeKey(name, errorCode(e)), key -> Counter.builder("neo4j.query.errors")
+                    .tag("query", key.name())
+                    .tag("code", key.code())
+                    .register(registry))
+                    .increment();
+            throw e;
+        } finally {
+            queryTimers.computeIfAbsent(new TimerKey(name, mode, outcome), key -> Timer.builder("neo4j.query")
+                    .tag("query", key.name())
+                    .tag("mode", key.mode())
+                    .tag("outcome", key.outcome())
+                    .publishPercentileHistogram()
+                    .register(registry))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void recordRows(String query, int rows) {
+        if (registry != null) {
+            rowSummaries.computeIfAbsent(queryName(query), name -> DistributionSummary.builder("neo4j.query.rows")
+                    .tag("query", name)
+                    .register(registry))
+                    .record(rows);
+        }
+    }
+
+    public void recordSessionAcquisition(long nanos) {
+        if (registry != null) {
+            sessionAcquisitionTimer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void recordRetry(String query, Throwable cause) {
+        if (registry != null) {
+            retryCounters.computeIfAbsent(new CodeKey(queryName(query), errorCode(cause)), key -> Counter.builder("neo4j.tx.retries")
+                    .tag("query", key.name())
+                    .tag("code", key.code())
+                    .register(registry))
+                    .increment();
+        }
+    }
+
+    public void recordRetriesExhausted(String query) {
+        if (registry != null) {
+            exhaustedCounters.computeIfAbsent(queryName(query), name -> Counter.builder("neo4j.tx.retries.exhausted")
+                    .tag("query", name)
+                    .register(registry))
+                    .increment();
+        }
+    }
+
+    private static String errorCode(Throwable e) {
+        return e instanceof Neo4jException ne && ne.code() != null ? ne.code() : e.getClass().getSimpleName();
+    }
+
+    public <T> T timeOperation(String operation, Supplier<T> work) {
+        if (registry == null) {
+            return work.get();
+        }
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = work.get();
+            outcome = "success";
+            return result;
+        } finally {
+            recordOperation(operation, outcome, start);
+        }
+    }
+
+    /**
+     * Times a lazily consumed stream from the call that opens it until the stream is closed, so
+     * the sample covers fetching every record that was consumed. A stream that fails to open is
+     * recorded as an error.
+     */
+    public <T> Stream<T> timeStream(String operation, Supplier<Stream<T>> open) {
+        if (registry == null) {
+            return open.get();
+        }
+        long start = System.nanoTime();
+        Stream<T> stream;
+        try {
+            stream = open.get();
+        } catch (RuntimeException e) {
+            recordOperation(operation, "error", start);
+            throw e;
+        }
+        return stream.onClose(() -> recordOperation(operation, "success", start));
+    }
+
+    private void recordOperation(String operation, String outcome, long start) {
+        operationTimers.computeIfAbsent(new OperationKey(operation, outcome), key -> Timer.builder("neo4j.service")
+                .tag("operation", key.operation())
+                .tag("outcome", key.outcome())
+                .publishPercentileHistogram()
+                .register(registry))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    public void timeOperation(String operation, Runnable work) {
+        timeOperation(operation, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Registers pool gauges summed over every connection pool of the driver. The driver must have
+     * been built with driver metrics enabled.
+     */
+    public void bindPool(Driver driver) {
+        if (registry == null) {
+            return;
+        }
+        poolGauge("neo4j.pool.in.use", driver, ConnectionPoolMetrics::inUse);
+        poolGauge("neo4j.pool.idle", driver, ConnectionPoolMetrics::idle);
+    }
+
+    private void poolGauge(String name, Driver driver, ToDoubleFunction<ConnectionPoolMetrics> value) {
+        Gauge.builder(name, driver, d -> d.metrics().connectionPoolMetrics().stream().mapToDouble(value).sum())
+                .register(registry);
+    }
+}
@@ -0,0 +1,42 @@
+package org.daodao.jdbc.model;
+
+import java.util.List;
+
+public class MovieDetails {
+    private Movie movie;
+    private List<Person> actors;
+    private List<Person> directors;
+
+    public MovieDetails() {
+    }
+
+    public Movie getMovie() {
+        return movie;
+    }
+
+    public void setMovie(Movie movie) {
+        this.movie = movie;
+    }
+
+    public List<Person> getActors() {
+        return actors;
+    }
+
+    public void setActors(List<Person> actors) {
+        this.actors = actors;
+    }
+
+    public List<Person> getDirectors() {
+        return directors;
+    }
+
+    public void setDirectors(List<Person> directors) {
+        this.directors = directors;
+    }
+
+    public MovieDetails(Movie movie, List<Person> actors, List<Person> directors) {
+        this.movie = movie;
+        this.actors = actors;
+        this.directors = directors;
+    }
+}
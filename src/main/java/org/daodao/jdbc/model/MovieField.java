@@ -0,0 +1,21 @@
+package org.daodao.jdbc.model;
+
+/**
+ * Movie properties a projected read can ask for. The title is always returned.
+ */
+public enum MovieField {
+    TITLE("title"),
+    YEAR("year"),
+    GENRE("genre"),
+    DESCRIPTION("description");
+
+    private final String property;
+
+    MovieField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+}
@@ -0,0 +1,45 @@
+package org.daodao.jdbc.model;
+
+public class Relationship {
+    public enum Type {
+        ACTED_IN,
+        DIRECTED
+    }
+
+    private String personName;
+    private String movieTitle;
+    private Type type;
+
+    public Relationship() {
+    }
+
+    public String getPersonName() {
+        return personName;
+    }
+
+    public void setPersonName(String personName) {
+        this.personName = personName;
+    }
+
+    public String getMovieTitle() {
+        return movieTitle;
+    }
+
+    public void setMovieTitle(String movieTitle) {
+        this.movieTitle = movieTitle;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Relationship(String personName, String movieTitle, Type type) {
+        this.personName = personName;
+        this.movieTitle = movieTitle;
+        this.type = type;
+    }
+}
@@ -0,0 +1,13 @@
+package org.daodao.jdbc.queries;
+
+import org.neo4j.driver.Value;
+
+/**
+ * Turns a domain object into the parameter map of a query. Implementations build the driver
+ * {@link Value} directly, typically with {@link org.neo4j.driver.Values#parameters}, so no
+ * intermediate {@code Map<String, Object>} has to be converted before the query is sent.
+ */
+@FunctionalInterface
+public interface ParameterBinder<P> {
+    Value bind(P source);
+}
@@ -0,0 +1,84 @@
+package org.daodao.jdbc.queries;
+
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+
+/**
+ * A named, immutable Cypher statement together with the binder that produces its parameters.
+ * The statement text never changes between calls, so the server can reuse its cached plan.
+ */
+public final class QueryDefinition<P> {
+    private static final ParameterBinder<Object> NO_PARAMETERS = source -> Values.EmptyMap;
+
+    private final String name;
+    private final String cypher;
+    private final AccessMode accessMode;
+    private final boolean schema;
+    private final ParameterBinder<P> binder;
+    private final P sample;
+
+    private QueryDefinition(String name, String cypher, AccessMode accessMode, boolean schema, ParameterBinder<P> binder, P sample) {
+        this.name = name;
+        this.cypher = cypher;
+        this.accessMode = accessMode;
+        this.schema = schema;
+        this.binder = binder;
+        this.sample = sample;
+    }
+
+    public static <P> QueryDefinition<P> read(String name, String cypher, ParameterBinder<P> binder) {
+        return new QueryDefinition<>(name, cypher, AccessMode.READ, false, binder, null);
+    }
+
+    public static <P> QueryDefinition<P> write(String name, String cypher, ParameterBinder<P> binder) {
+        return new QueryDefinition<>(name, cypher, AccessMode.WRITE, false, binder, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static QueryDefinition<Void> schema(String name, String cypher) {
+        return new QueryDefinition<>(name, cypher, AccessMode.WRITE, true, (ParameterBinder<Void>) (ParameterBinder<?>) NO_PARAMETERS, null);
+    }
+
+    /**
+     * Returns a copy that warms up with parameters bound from {@code sample}, so the plan the
+     * server caches during warm-up is keyed by the same parameter types real calls use.
+     */
+    public QueryDefinition<P> withSample(P sample) {
+        return new QueryDefinition<>(name, cypher, accessMode, schema, binder, sample);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String cypher() {
+        return cypher;
+    }
+
+    public AccessMode accessMode() {
+        return accessMode;
+    }
+
+    public boolean isSchema() {
+        return schema;
+    }
+
+    public Value parameters(P source) {
+        return binder.bind(source);
+    }
+
+    public Query bind(P source) {
+        return new Query(cypher, binder.bind(source));
+    }
+
+    Query warmUpQuery() {
+        return new Query("EXPLAIN " + cypher, sample == null ? Values.EmptyMap : binder.bind(sample));
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
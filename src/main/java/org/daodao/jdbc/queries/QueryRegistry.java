@@ -0,0 +1,93 @@
+package org.daodao.jdbc.queries;
+
+import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.TransactionWork;
+import org.neo4j.driver.summary.ResultSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Named query definitions. Registering a definition under a name that is already taken is an
+ * error, so each statement text exists exactly once.
+ */
+public class QueryRegistry {
+    private static final Logger log = LoggerFactory.getLogger(QueryRegistry.class);
+
+    private final Map<String, QueryDefinition<?>> definitions = new LinkedHashMap<>();
+
+    public synchronized <P> QueryDefinition<P> register(QueryDefinition<P> definition) {
+        QueryDefinition<?> existing = definitions.putIfAbsent(definition.name(), definition);
+        if (existing != null) {
+            throw new IllegalArgumentException("Query already registered: " + definition.name());
+        }
+        return definition;
+    }
+
+    public synchronized QueryDefinition<?> get(String name) {
+        QueryDefinition<?> definition = definitions.get(name);
+        if (definition == null) {
+            throw new IllegalArgumentException("Unknown query: " + name);
+        }
+        return definition;
+    }
+
+    public synchronized List<QueryDefinition<?>> definitions() {
+        return List.copyOf(definitions.values());
+    }
+
+    /**
+     * Statement text to name, for tagging metrics and log lines.
+     */
+    public synchronized Map<String, String> names() {
+        Map<String, String> names = new LinkedHashMap<>();
+        for (QueryDefinition<?> definition : definitions.values()) {
+            names.put(definition.cypher(), definition.name());
+        }
+        return names;
+    }
+
+    /**
+     * Runs {@code EXPLAIN} for every non-schema definition so the server has planned and cached
+     * each statement before traffic arrives. Each statement is explained in a session of its own
+     * access mode, so in a cluster writes warm the leader and reads the followers they are routed
+     * to. Failures are logged and skipped; returns the number of statements warmed.
+     */
+    public int warmUp(Neo4jConnector connector) {
+        connector.getMetrics().nameQueries(names());
+        Map<AccessMode, List<QueryDefinition<?>>> byMode = new EnumMap<>(AccessMode.class);
+        for (QueryDefinition<?> definition : definitions()) {
+            if (!definition.isSchema()) {
+                byMode.computeIfAbsent(definition.accessMode(), mode -> new ArrayList<>()).add(definition);
+            }
+        }
+        int warmed = 0;
+        long start = System.nanoTime();
+        for (Map.Entry<AccessMode, List<QueryDefinition<?>>> group : byMode.entrySet()) {
+            try (Session session = connector.getSession(group.getKey())) {
+                for (QueryDefinition<?> definition : group.getValue()) {
+                    try {
+                        TransactionWork<ResultSummary> explain = tx -> tx.run(definition.warmUpQuery()).consume();
+                        if (group.getKey() == AccessMode.WRITE) {
+                            session.writeTransaction(explain);
+                        } else {
+                            session.readTransaction(explain);
+                        }
+                        warmed++;
+                    } catch (RuntimeException e) {
+                        log.warn("Warm-up of query {} failed: {}", definition.name(), e.getMessage());
+                    }
+                }
+            }
+        }
+        log.info("Warmed {} queries in {} ms", warmed, (System.nanoTime() - start) / 1_000_000);
+        return warmed;
+    }
+}
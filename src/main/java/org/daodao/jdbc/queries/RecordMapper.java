@@ -0,0 +1,260 @@
+package org.daodao.jdbc.queries;
+
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Maps records to objects by column position. Column indices are resolved once per result:
+ * callers that see the result's keys before its records {@link #bind(List) bind} the mapper to
+ * them, and every row is then read by position instead of looking each column up by name. Used
+ * directly as a function, the mapper keeps resolved layouts per distinct key list, so results
+ * mapped concurrently do not make each other re-resolve.
+ */
+public final class RecordMapper<T> implements Function<Record, T> {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType ROW_TYPE = MethodType.methodType(Object.class, Record.class, int[].class);
+    private static final int MAX_LAYOUTS = 32;
+
+    private final List<String> columns;
+    private final RowReader<T> reader;
+    private final Map<List<String>, Columns> layouts = new ConcurrentHashMap<>();
+    private volatile Layout layout;
+
+    private RecordMapper(List<String> columns, RowReader<T> reader) {
+        this.columns = columns;
+        this.reader = reader;
+    }
+
+    /**
+     * Reads one row through {@link Columns}, whose positions follow the column names passed to
+     * {@link #of}.
+     */
+    @FunctionalInterface
+    public interface RowReader<T> {
+        T read(Record record, Columns columns);
+    }
+
+    public static <T> RecordMapper<T> of(RowReader<T> reader, String... columns) {
+        return new RecordMapper<>(List.of(columns), reader);
+    }
+
+    /**
+     * Builds a mapper that calls the canonical constructor of a record type, taking each component
+     * from the column of the same name. The constructor call is assembled once as a method handle,
+     * so primitive components are read without boxing. A missing or null column gives null, or
+     * zero/false for primitive components.
+     */
+    public static <T extends java.lang.Record> RecordMapper<T> forRecord(Class<T> type) {
+        RecordComponent[] components = type.getRecordComponents();
+        Class<?>[] parameterTypes = Arrays.stream(components).map(RecordComponent::getType).toArray(Class<?>[]::new);
+        String[] columns = Arrays.stream(components).map(RecordComponent::getName).toArray(String[]::new);
+        MethodHandle row;
+        try {
+            MethodHandle constructor = MethodHandles.privateLookupIn(type, LOOKUP)
+                    .findConstructor(type, MethodType.methodType(void.class, parameterTypes));
+            // Replace each constructor parameter with a (Record, int[]) reader, then fold all readers onto one pair
+            for (int i = components.length - 1; i >= 0; i--) {
+                constructor = MethodHandles.collectArguments(constructor, i, reader(parameterTypes[i], i));
+            }
+            int[] reorder = new int[components.length * 2];
+            for (int i = 0; i < reorder.length; i++) {
+                reorder[i] = i % 2;
+            }
+            row = MethodHandles.permuteArguments(constructor.asType(constructor.type().changeReturnType(Object.class)),
+                    ROW_TYPE, reorder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot map records to " + type.getName(), e);
+        }
+        MethodHandle handle = row;
+        return new RecordMapper<>(List.of(columns), (record, resolved) -> {
+            try {
+                return type.cast(handle.invokeExact(record, resolved.indices));
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    public List<String> columns() {
+        return columns;
+    }
+
+    /**
+     * Returns a mapper for the records of one result with the given keys, with the column indices
+     * already resolved.
+     */
+    public Function<Record, T> bind(List<String> keys) {
+        Columns resolved = columnsFor(keys);
+        return record -> reader.read(record, resolved);
+    }
+
+    /**
+     * Binds the mapper to a result's keys if it is a {@code RecordMapper}; other functions are
+     * returned as they are.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Function<Record, T> forResult(Function<Record, T> mapper, List<String> keys) {
+        return mapper instanceof RecordMapper<?> recordMapper ? ((RecordMapper<T>) recordMapper).bind(keys) : mapper;
+    }
+
+    @Override
+    public T apply(Record record) {
+        List<String> keys = record.keys();
+        Layout current = layout;
+        if (current == null || current.keys != keys) {
+            current = new Layout(keys, columnsFor(keys));
+            layout = current;
+        }
+        return reader.read(record, current.columns);
+    }
+
+    private Columns columnsFor(List<String> keys) {
+        Columns resolved = layouts.get(keys);
+        if (resolved == null) {
+            resolved = new Columns(resolve(keys));
+            // Ad-hoc projections must not grow the table without bound
+            if (layouts.size() < MAX_LAYOUTS) {
+                layouts.putIfAbsent(List.copyOf(keys), resolved);
+            }
+        }
+        return resolved;
+    }
+
+    private int[] resolve(List<String> keys) {
+        int[] indices = new int[columns.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = keys.indexOf(columns.get(i));
+        }
+        return indices;
+    }
+
+    private static MethodHandle reader(Class<?> type, int position) throws ReflectiveOperationException {
+        String name;
+        Class<?> returnType = type;
+        if (type == String.class) {
+            name = "stringAt";
+        } else if (type == int.class) {
+            name = "intAt";
+        } else if (type == Integer.class) {
+            name = "integerAt";
+        } else if (type == long.class) {
+            name = "longAt";
+        } else if (type == Long.class) {
+            name = "boxedLongAt";
+        } else if (type == double.class) {
+            name = "doubleAt";
+        } else if (type == Double.class) {
+            name = "boxedDoubleAt";
+        } else if (type == boolean.class) {
+            name = "booleanAt";
+        } else if (type == Boolean.class) {
+            name = "boxedBooleanAt";
+        } else if (type == Value.class) {
+            name = "valueAt";
+        } else {
+            name = "objectAt";
+            returnType = Object.class;
+        }
+        MethodHandle handle = LOOKUP.findStatic(RecordMapper.class, name,
+                MethodType.methodType(returnType, Record.class, int[].class, int.class));
+        return MethodHandles.insertArguments(handle, 2, position).asType(MethodType.methodType(type, Record.class, int[].class));
+    }
+
+    private static Value valueAt(Record record, int[] indices, int position) {
+        int index = indices[position];
+        return index < 0 ? Values.NULL : record.get(index);
+    }
+
+    private static String stringAt(Record record, int[] indices, int position) {
+        Value value = valueAt(record, indices, position);
+        return value.isNull() ? null : value.asString();
+    }
+
+    private static int intAt(Record record, int[] indices, int position) {
+        return valueAt(record, indices, position).asInt(0);
+    }
+
+    private static Integer integerAt(Record record, int[] indices, int position) {
+        Value value = valueAt(record, indices, position);
+        return value.isNull() ? null : value.asInt();
+    }
+
+    private static long longAt(Record record, int[] indices, int position) {
+        return valueAt(record, indices, position).asLong(0L);
+    }
+
+    private static Long boxedLongAt(Record record, int[] indices, int position) {
+        Value value = valueAt(record, indices, position);
+        return value.isNull() ? null : value.asLong();
+    }
+
+    private static double doubleAt(Record record, int[] indices, int position) {
+        return valueAt(record, indices, position).asDouble(0d);
+    }
+
+    private static Double boxedDoubleAt(Record record, int[] indices, int position) {
+        Value value = valueAt(record, indices, position);
+        return value.isNull() ? null : value.asDouble();
+    }
+
+    private static boolean booleanAt(Record record, int[] indices, int position) {
+        return valueAt(record, indices, position).asBoolean(false);
+    }
+
+    private static Boolean boxedBooleanAt(Record record, int[] indices, int position) {
+        Value value = valueAt(record, indices, position);
+        return value.isNull() ? null : value.asBoolean();
+    }
+
+    private static Object objectAt(Record record, int[] indices, int position) {
+        Value value = valueAt(record, indices, position);
+        return value.isNull() ? null : value.asObject();
+    }
+
+    /**
+     * Column accessors for one resolved layout. Positions follow the mapper's column list; a
+     * column the result does not have reads as null.
+     */
+    public static final class Columns {
+        private final int[] indices;
+
+        private Columns(int[] indices) {
+            this.indices = indices;
+        }
+
+        public Value value(Record record, int position) {
+            return valueAt(record, indices, position);
+        }
+
+        public String string(Record record, int position) {
+            return stringAt(record, indices, position);
+        }
+
+        public Integer integer(Record record, int position) {
+            return integerAt(record, indices, position);
+        }
+    }
+
+    private static final class Layout {
+        private final List<String> keys;
+        private final Columns columns;
+
+        private Layout(List<String> keys, Columns columns) {
+            this.keys = keys;
+            this.columns = columns;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package org.daodao.jdbc.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Coalesces single-key lookups into batched ones. Keys requested within {@code windowMillis}
+ * of the first key of a batch, up to {@code maxBatchSize} keys, are resolved with one call to
+ * the batch function on a virtual thread; each caller's future completes with its value, or
+ * null when the batch function returned none. A key that is already waiting or being loaded
+ * shares the existing future instead of being requested again, unless it was
+ * {@link #invalidate(Object) invalidated} after its load was dispatched.
+ */
+class BatchLoader<K, V> implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(BatchLoader.class);
+
+    private final Function<List<K>, Map<K, V>> batchFunction;
+    private final int maxBatchSize;
+    private final long windowMillis;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService loaders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong keys = new AtomicLong();
+
+    // Guarded by this
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+
+    BatchLoader(Function<List<K>, Map<K, V>> batchFunction, int maxBatchSize, long windowMillis) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Max batch size must be positive: " + maxBatchSize);
+        }
+        if (windowMillis < 0) {
+            throw new IllegalArgumentException("Batch window must not be negative: " + windowMillis);
+        }
+        this.batchFunction = batchFunction;
+        this.maxBatchSize = maxBatchSize;
+        this.windowMillis = windowMillis;
+        this.timer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("batch-loader-timer").factory());
+    }
+
+    CompletableFuture<V> load(K key) {
+        CompletableFuture<V> loading = inFlight.get(key);
+        if (loading != null) {
+            return loading;
+        }
+        Map<K, CompletableFuture<V>> full = null;
+        CompletableFuture<V> future;
+        synchronized (this) {
+            // A batch is detached from pending and published to inFlight under this lock
+            future = pending.get(key);
+            if (future == null) {
+                future = inFlight.get(key);
+            }
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pending.put(key, future);
+            if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = new LinkedHashMap<>();
+                inFlight.putAll(full);
+            } else if (pending.size() == 1) {
+                Map<K, CompletableFuture<V>> batch = pending;
+                timer.schedule(() -> dispatchIfPending(batch), windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return future;
+    }
+
+    /**
+     * Stops later calls for the key from sharing a load that is already running, which may have
+     * read the key before a write. Keys still waiting for their batch are read after the write.
+     */
+    synchronized void invalidate(K key) {
+        inFlight.remove(key);
+    }
+
+    long getBatchCount() {
+        return batches.get();
+    }
+
+    long getKeyCount() {
+        return keys.get();
+    }
+
+    // The window closed; the batch may already have been dispatched for being full
+    private void dispatchIfPending(Map<K, CompletableFuture<V>> batch) {
+        synchronized (this) {
+            if (pending != batch) {
+                return;
+            }
+            pending = new LinkedHashMap<>();
+            inFlight.putAll(batch);
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        batches.incrementAndGet();
+        keys.addAndGet(batch.size());
+        loaders.execute(() -> {
+            try {
+                Map<K, V> values = batchFunction.apply(new ArrayList<>(batch.keySet()));
+                batch.forEach((key, future) -> future.complete(values.get(key)));
+            } catch (RuntimeException e) {
+                log.debug("Batch of {} keys failed: {}", batch.size(), e.getMessage());
+                batch.values().forEach(future -> future.completeExceptionally(e));
+            } finally {
+                batch.forEach(inFlight::remove);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        Map<K, CompletableFuture<V>> remaining;
+        synchronized (this) {
+            remaining = pending;
+            pending = new LinkedHashMap<>();
+            inFlight.putAll(remaining);
+        }
+        timer.shutdownNow();
+        if (!remaining.isEmpty()) {
+            dispatch(remaining);
+        }
+        loaders.close();
+        if (batches.get() > 0) {
+            log.info("Batch loader closed: {} keys loaded in {} batches", keys.get(), batches.get());
+        }
+    }
+}
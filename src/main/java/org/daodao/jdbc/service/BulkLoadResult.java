@@ -0,0 +1,29 @@
+package org.daodao.jdbc.service;
+
+public class BulkLoadResult {
+    private final long rows;
+    private final int batches;
+    private final long elapsedMillis;
+
+    public BulkLoadResult(long rows, int batches, long elapsedMillis) {
+        this.rows = rows;
+        this.batches = batches;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public int getBatches() {
+        return batches;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return rows * 1000.0 / Math.max(elapsedMillis, 1);
+    }
+}
@@ -0,0 +1,283 @@
+package org.daodao.jdbc.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.daodao.jdbc.config.Neo4jConfig;
+import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.connectors.QueryCursor;
+import org.daodao.jdbc.queries.QueryDefinition;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Exports all Movie or Person nodes to an NDJSON or CSV file. The unique key space (title or
+ * name) is cut into equal-sized, contiguous ranges, the first and last open-ended; each range is
+ * streamed through its own session into a part file, with at most {@code parallelism} ranges in
+ * flight, and the parts are concatenated into the target file at the end. Progress is checkpointed next to the target, so a failed or
+ * interrupted export resumes from the last checkpoint when run again.
+ */
+public class CatalogueExporter {
+    private static final Logger log = LoggerFactory.getLogger(CatalogueExporter.class);
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 10_000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final Source MOVIES = new Source("Movie", MovieQueries.MOVIE_EXPORT_RANGES,
+            MovieQueries.EXPORT_MOVIES_FROM, MovieQueries.EXPORT_MOVIES_AFTER, List.of("title", "year", "genre", "description"));
+    private static final Source PERSONS = new Source("Person", MovieQueries.PERSON_EXPORT_RANGES,
+            MovieQueries.EXPORT_PERSONS_FROM, MovieQueries.EXPORT_PERSONS_AFTER, List.of("name", "birthYear", "nationality"));
+
+    private final Neo4jConnector connector;
+    private final int parallelism;
+    private final int partitions;
+    private final int checkpointInterval;
+
+    private record Source(String label, QueryDefinition<Integer> ranges, QueryDefinition<KeyRange> from,
+                          QueryDefinition<KeyRange> after, List<String> columns) {
+    }
+
+    public CatalogueExporter(Neo4jConnector connector) {
+        this(connector, defaultParallelism(connector.getConfig()));
+    }
+
+    public CatalogueExporter(Neo4jConnector connector, int parallelism) {
+        this(connector, parallelism, parallelism * 4, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    public CatalogueExporter(Neo4jConnector connector, int parallelism, int partitions, int checkpointInterval) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        if (partitions <= 0) {
+            throw new IllegalArgumentException("Partition count must be positive: " + partitions);
+        }
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive: " + checkpointInterval);
+        }
+        this.connector = connector;
+        this.parallelism = parallelism;
+        this.partitions = partitions;
+        this.checkpointInterval = checkpointInterval;
+        connector.getMetrics().nameQueries(MovieQueries.REGISTRY.names());
+    }
+
+    private static int defaultParallelism(Neo4jConfig config) {
+        return Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), config.getMaxConnectionPoolSize()));
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public ExportResult exportMovies(Path target, ExportFormat format) {
+        return connector.getMetrics().timeOperation("exportMovies", () -> export(MOVIES, target, format));
+    }
+
+    public ExportResult exportPersons(Path target, ExportFormat format) {
+        return connector.getMetrics().timeOperation("exportPersons", () -> export(PERSONS, target, format));
+    }
+
+    private ExportResult export(Source source, Path target, ExportFormat format) {
+        long start = System.nanoTime();
+        Path checkpointFile = target.resolveSibling(target.getFileName() + ".checkpoint");
+        ExportCheckpoint checkpoint = ExportCheckpoint.load(checkpointFile, source.label(), format);
+        boolean resumed = checkpoint != null;
+        if (checkpoint == null) {
+            checkpoint = new ExportCheckpoint(checkpointFile, source.label(), format, planRanges(source));
+            checkpoint.save();
+        } else {
+            log.info("Resuming {} export to {} from checkpoint ({} rows already written)", source.label(), target, checkpoint.totalRows());
+        }
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Semaphore permits = new Semaphore(parallelism);
+        List<Future<?>> tasks = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < checkpoint.size(); i++) {
+                if (checkpoint.partition(i).isDone()) {
+                    continue;
+                }
+                int index = i;
+                ExportCheckpoint progress = checkpoint;
+                tasks.add(executor.submit(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        if (failure.get() == null) {
+                            exportRange(source, format, target, progress, index, failure);
+                        }
+                    } catch (RuntimeException | IOException e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        permits.release();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        } catch (ExecutionException e) {
+            failure.compareAndSet(null, e.getCause());
+        }
+        if (failure.get() != null) {
+            throw new RuntimeException("Export of " + source.label() + " nodes to " + target
+                    + " failed; run it again to resume from " + checkpointFile, failure.get());
+        }
+
+        try {
+            merge(source, format, target, checkpoint.size());
+            checkpoint.delete();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to assemble export file " + target, e);
+        }
+        ExportResult result = new ExportResult(checkpoint.totalRows(), checkpoint.size(), resumed,
+                (System.nanoTime() - start) / 1_000_000);
+        log.info("Exported {} {} nodes to {} in {} ranges ({} ms, {} rows/s)", result.getRows(), source.label(), target,
+                result.getPartitions(), result.getElapsedMillis(), Math.round(result.getRowsPerSecond()));
+        return result;
+    }
+
+    // Each range ends where the next one starts, and the first and last are open, so keys created
+    // after planning still fall into exactly one range when an export is resumed
+    private List<KeyRange> planRanges(Source source) {
+        List<List<String>> rows = connector.executeRead(source.ranges(), partitions,
+                record -> record.get("starts").asList(Value::asString));
+        List<String> starts = rows.isEmpty() ? List.of() : rows.get(0);
+        List<KeyRange> ranges = new ArrayList<>(Math.max(1, starts.size()));
+        for (int i = 0; i < Math.max(1, starts.size()); i++) {
+            String from = i == 0 ? null : starts.get(i);
+            String to = i + 1 < starts.size() ? starts.get(i + 1) : null;
+            ranges.add(new KeyRange(from, to));
+        }
+        return ranges;
+    }
+
+    private void exportRange(Source source, ExportFormat format, Path target, ExportCheckpoint checkpoint, int index,
+                             AtomicReference<Throwable> failure) throws IOException {
+        ExportCheckpoint.Partition partition = checkpoint.partition(index);
+        KeyRange range = partition.getRange();
+        String lastKey = partition.getLastKey();
+        long rows = partition.getRows();
+        Query query = lastKey == null
+                ? source.from().bind(range)
+                : source.after().bind(new KeyRange(lastKey, range.to()));
+
+        try (FileChannel channel = FileChannel.open(partFile(target, index),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             QueryCursor<Record> cursor = connector.openCursor(query, Function.identity(), connector.getConfig().getFetchSize())) {
+            channel.truncate(partition.getBytes());
+            channel.position(partition.getBytes());
+            LineWriter writer = new LineWriter(channel);
+            StringBuilder line = new StringBuilder(256);
+            while (cursor.hasNext()) {
+                Record record = cursor.next();
+                line.setLength(0);
+                format.appendRow(line, source.columns(), record);
+                writer.write(line);
+                lastKey = record.get(0).asString();
+                rows++;
+                if (rows % checkpointInterval == 0) {
+                    writer.flush();
+                    // The part file must be on disk before a checkpoint records its length
+                    channel.force(false);
+                    checkpoint.update(index, lastKey, channel.position(), rows, false);
+                    if (failure.get() != null) {
+                        return;
+                    }
+                }
+            }
+            writer.flush();
+            channel.force(false);
+            checkpoint.update(index, lastKey, channel.position(), rows, true);
+        }
+    }
+
+    private static void merge(Source source, ExportFormat format, Path target, int parts) throws IOException {
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = StandardCharsets.UTF_8.encode(format.header(source.columns()));
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            for (int i = 0; i < parts; i++) {
+                Path part = partFile(target, i);
+                try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+                    long size = in.size();
+                    long position = 0;
+                    while (position < size) {
+                        position += in.transferTo(position, size - position, out);
+                    }
+                }
+                Files.delete(part);
+            }
+        }
+    }
+
+    private static Path partFile(Path target, int index) {
+        return target.resolveSibling(String.format("%s.part-%04d", target.getFileName(), index));
+    }
+
+    /**
+     * Encodes lines as UTF-8 into a direct buffer that is written to the channel when full.
+     */
+    private static final class LineWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+
+        LineWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void write(CharSequence line) throws IOException {
+            CharBuffer chars = CharBuffer.wrap(line);
+            while (true) {
+                CoderResult result = encoder.encode(chars, buffer, true);
+                if (result.isOverflow()) {
+                    flush();
+                } else if (result.isError()) {
+                    result.throwException();
+                } else {
+                    break;
+                }
+            }
+            encoder.reset();
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package org.daodao.jdbc.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Streams rows out of a file in one of the {@link ExportFormat}s, one row per call, without
+ * loading the file. CSV rows are keyed by the header line and hold strings (empty fields are
+ * null); NDJSON rows hold the strings, longs, doubles, booleans and nulls of a flat object.
+ */
+class CatalogueFileReader implements Iterator<Map<String, Object>>, Closeable {
+    private final BufferedReader reader;
+    private final ExportFormat format;
+    private final List<String> header;
+    private long line;
+    private Map<String, Object> next;
+
+    CatalogueFileReader(Path file, ExportFormat format) throws IOException {
+        this.reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        this.format = format;
+        this.header = format == ExportFormat.CSV ? readCsvHeader() : null;
+    }
+
+    long getLine() {
+        return line;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = format == ExportFormat.CSV ? readCsvRow() : readJsonRow();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public Map<String, Object> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Map<String, Object> row = next;
+        next = null;
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private List<String> readCsvHeader() throws IOException {
+        List<String> fields = readCsvFields();
+        if (fields == null) {
+            return List.of();
+        }
+        List<String> names = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            names.add(field == null ? "" : field.trim());
+        }
+        return names;
+    }
+
+    private Map<String, Object> readCsvRow() throws IOException {
+        List<String> fields;
+        do {
+            fields = readCsvFields();
+        } while (fields != null && fields.size() == 1 && fields.get(0) == null);
+        if (fields == null) {
+            return null;
+        }
+        Map<String, Object> row = new HashMap<>();
+        for (int i = 0; i < header.size() && i < fields.size(); i++) {
+            row.put(header.get(i), fields.get(i));
+        }
+        return row;
+    }
+
+    // RFC 4180: quoted fields may contain commas, doubled quotes and line breaks
+    private List<String> readCsvFields() throws IOException {
+        String text = reader.readLine();
+        if (text == null) {
+            return null;
+        }
+        line++;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        int i = 0;
+        while (true) {
+            if (i == text.length()) {
+                if (!quoted) {
+                    fields.add(field.length() == 0 && !wasQuoted ? null : field.toString());
+                    return fields;
+                }
+                text = reader.readLine();
+                if (text == null) {
+                    throw new IOException("Unterminated quoted field at line " + line);
+                }
+                line++;
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = text.charAt(i++);
+            if (quoted) {
+                if (c == '"' && i < text.length() && text.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(field.length() == 0 && !wasQuoted ? null : field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            } else {
+                field.append(c);
+            }
+        }
+    }
+
+    private Map<String, Object> readJsonRow() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+        return new JsonObjectParser(text, line).parse();
+    }
+
+    /**
+     * Parser for a single flat JSON object; nested objects and arrays are rejected.
+     */
+    private static final class JsonObjectParser {
+        private final String text;
+        private final long line;
+        private int position;
+
+        JsonObjectParser(String text, long line) {
+            this.text = text;
+            this.line = line;
+        }
+
+        Map<String, Object> parse() throws IOException {
+            Map<String, Object> row = new HashMap<>();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                position++;
+                return row;
+            }
+            while (true) {
+                skipWhitespace();
+                String key = readString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                row.put(key, readValue());
+                skipWhitespace();
+                char c = peek();
+                position++;
+                if (c == '}') {
+                    return row;
+                }
+                if (c != ',') {
+                    throw error("Expected ',' or '}'");
+                }
+            }
+        }
+
+        private Object readValue() throws IOException {
+            char c = peek();
+            if (c == '"') {
+                return readString();
+            }
+            if (text.startsWith("null", position)) {
+                position += 4;
+                return null;
+            }
+            if (text.startsWith("true", position)) {
+                position += 4;
+                return Boolean.TRUE;
+            }
+            if (text.startsWith("false", position)) {
+                position += 5;
+                return Boolean.FALSE;
+            }
+            int start = position;
+            while (position < text.length() && "+-0123456789.eE".indexOf(text.charAt(position)) >= 0) {
+                position++;
+            }
+            String number = text.substring(start, position);
+            if (number.isEmpty()) {
+                throw error("Unsupported value");
+            }
+            try {
+                return number.contains(".") || number.contains("e") || number.contains("E")
+                        ? (Object) Double.parseDouble(number) : (Object) Long.parseLong(number);
+            } catch (NumberFormatException e) {
+                throw error("Invalid number " + number);
+            }
+        }
+
+        private String readString() throws IOException {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                if (position >= text.length()) {
+                    throw error("Unterminated string");
+                }
+                char c = text.charAt(position++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                char escaped = text.charAt(position++);
+                switch (escaped) {
+                    case 'n' -> value.append('\n');
+                    case 'r' -> value.append('\r');
+                    case 't' -> value.append('\t');
+                    case 'b' -> value.append('\b');
+                    case 'f' -> value.append('\f');
+                    case 'u' -> {
+                        value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                        position += 4;
+                    }
+                    default -> value.append(escaped);
+                }
+            }
+        }
+
+        private char peek() throws IOException {
+            if (position >= text.length()) {
+                throw error("Unexpected end of line");
+            }
+            return text.charAt(position);
+        }
+
+        private void expect(char c) throws IOException {
+            if (peek() != c) {
+                throw error("Expected '" + c + "'");
+            }
+            position++;
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IOException error(String message) {
+            return new IOException(message + " at line " + line + ", column " + (position + 1));
+        }
+    }
+}
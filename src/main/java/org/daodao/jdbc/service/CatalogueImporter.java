@@ -0,0 +1,243 @@
+package org.daodao.jdbc.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.daodao.jdbc.config.Neo4jConfig;
+import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.model.Movie;
+import org.daodao.jdbc.model.Person;
+import org.daodao.jdbc.model.Relationship;
+import org.daodao.jdbc.queries.QueryDefinition;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Value;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Imports movies, persons and ACTED_IN/DIRECTED relationships from CSV or NDJSON files in the
+ * layout {@link CatalogueExporter} writes. The calling thread streams and parses the file into
+ * UNWIND batches and hands them through a bounded queue to {@code writers} writer threads, each
+ * with its own session, so parsing and writing overlap and a slow server back-pressures the
+ * reader. Deadlocks between writers and other transient failures are retried by the connector's
+ * {@link org.daodao.jdbc.connectors.RetryPolicy}; a batch that still fails stops the import. All
+ * statements are MERGEs, so re-running a failed import is safe.
+ *
+ * <p>Relationship files have the columns {@code personName}, {@code movieTitle} and
+ * {@code type} and should be imported after the movies and persons they connect.
+ */
+public class CatalogueImporter {
+    private static final Logger log = LoggerFactory.getLogger(CatalogueImporter.class);
+    private static final long PROGRESS_INTERVAL_MS = 5000;
+    private static final Batch END = new Batch(null, List.of());
+
+    private final Neo4jConnector connector;
+    private final int batchSize;
+    private final int writers;
+
+    private record Row(QueryDefinition<List<Value>> query, Value value) {
+    }
+
+    private record Batch(QueryDefinition<List<Value>> query, List<Value> rows) {
+    }
+
+    public CatalogueImporter(Neo4jConnector connector) {
+        this(connector, Neo4jBulkLoader.DEFAULT_BATCH_SIZE, defaultWriters(connector.getConfig()));
+    }
+
+    public CatalogueImporter(Neo4jConnector connector, int batchSize, int writers) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        if (writers <= 0) {
+            throw new IllegalArgumentException("Writer count must be positive: " + writers);
+        }
+        this.connector = connector;
+        this.batchSize = batchSize;
+        this.writers = writers;
+        connector.getMetrics().nameQueries(MovieQueries.REGISTRY.names());
+    }
+
+    private static int defaultWriters(Neo4jConfig config) {
+        return Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), config.getMaxConnectionPoolSize()));
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getWriters() {
+        return writers;
+    }
+
+    public BulkLoadResult importMovies(Path file, ExportFormat format) {
+        return connector.getMetrics().timeOperation("importMovies", () -> load("movies", file, format,
+                row -> new Row(MovieQueries.MERGE_MOVIES, MovieQueries.movieRow(new Movie(
+                        text(row, "title"), integer(row, "year"), text(row, "genre"), text(row, "description"))))));
+    }
+
+    public BulkLoadResult importPersons(Path file, ExportFormat format) {
+        return connector.getMetrics().timeOperation("importPersons", () -> load("persons", file, format,
+                row -> new Row(MovieQueries.MERGE_PERSONS, MovieQueries.personRow(new Person(
+                        text(row, "name"), integer(row, "birthYear"), text(row, "nationality")), null))));
+    }
+
+    public BulkLoadResult importRelationships(Path file, ExportFormat format) {
+        return connector.getMetrics().timeOperation("importRelationships", () -> load("relationships", file, format, row -> {
+            Relationship relationship = new Relationship(text(row, "personName"), text(row, "movieTitle"),
+                    Relationship.Type.valueOf(text(row, "type").toUpperCase(Locale.ROOT)));
+            QueryDefinition<List<Value>> query = switch (relationship.getType()) {
+                case ACTED_IN -> MovieQueries.MERGE_ACTED_IN;
+                case DIRECTED -> MovieQueries.MERGE_DIRECTED;
+            };
+            return new Row(query, MovieQueries.relationshipRow(relationship));
+        }));
+    }
+
+    private BulkLoadResult load(String label, Path file, ExportFormat format, Function<Map<String, Object>, Row> parser) {
+        long start = System.nanoTime();
+        BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(writers * 2);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Progress progress = new Progress(label, start);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < writers; i++) {
+                executor.submit(() -> write(queue, failure, progress));
+            }
+            try (CatalogueFileReader reader = new CatalogueFileReader(file, format)) {
+                Map<QueryDefinition<List<Value>>, List<Value>> pending = new LinkedHashMap<>();
+                while (failure.get() == null && reader.hasNext()) {
+                    Row row;
+                    try {
+                        row = parser.apply(reader.next());
+                    } catch (RuntimeException e) {
+                        throw new IllegalArgumentException("Invalid " + label + " row at " + file + ":" + reader.getLine(), e);
+                    }
+                    List<Value> batch = pending.computeIfAbsent(row.query(), query -> new ArrayList<>(batchSize));
+                    batch.add(row.value());
+                    if (batch.size() == batchSize) {
+                        enqueue(queue, new Batch(row.query(), batch), failure);
+                        pending.remove(row.query());
+                    }
+                }
+                for (Map.Entry<QueryDefinition<List<Value>>, List<Value>> batch : pending.entrySet()) {
+                    enqueue(queue, new Batch(batch.getKey(), batch.getValue()), failure);
+                }
+            } catch (IOException | UncheckedIOException | IllegalArgumentException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                for (int i = 0; i < writers; i++) {
+                    enqueue(queue, END, null);
+                }
+            }
+        }
+
+        if (failure.get() != null) {
+            throw new RuntimeException("Import of " + label + " from " + file + " failed after "
+                    + progress.rows.get() + " rows", failure.get());
+        }
+        BulkLoadResult result = new BulkLoadResult(progress.rows.get(), progress.batches.get(),
+                (System.nanoTime() - start) / 1_000_000);
+        log.info("Imported {} {} from {} in {} batches ({} ms, {} rows/s)", result.getRows(), label, file,
+                result.getBatches(), result.getElapsedMillis(), Math.round(result.getRowsPerSecond()));
+        return result;
+    }
+
+    // Gives up once the writers have failed, so a dead pipeline cannot block the reader forever
+    private static void enqueue(BlockingQueue<Batch> queue, Batch batch, AtomicReference<Throwable> failure) {
+        try {
+            while (!queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+                if (failure != null && failure.get() != null) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(BlockingQueue<Batch> queue, AtomicReference<Throwable> failure, Progress progress) {
+        try (Session session = connector.getSession()) {
+            while (true) {
+                Batch batch = queue.take();
+                if (batch == END) {
+                    return;
+                }
+                if (failure.get() != null) {
+                    continue;
+                }
+                try {
+                    writeBatch(session, batch);
+                    progress.completed(batch.rows().size());
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    // Transient failures are retried, and counted, by the connector's retry policy only
+    private void writeBatch(Session session, Batch batch) {
+        Query query = batch.query().bind(batch.rows());
+        connector.getMetrics().timeQuery(query.text(), "write",
+                () -> connector.getRetryPolicy().inTransaction(session, query.text(), tx -> tx.run(query).consume()));
+    }
+
+    private static String text(Map<String, Object> row, String column) {
+        Object value = row.get(column);
+        return value == null ? null : value.toString();
+    }
+
+    private static Integer integer(Map<String, Object> row, String column) {
+        Object value = row.get(column);
+        if (value == null) {
+            return null;
+        }
+        return value instanceof Number number ? number.intValue() : Integer.valueOf(value.toString().trim());
+    }
+
+    private static final class Progress {
+        private final String label;
+        private final long start;
+        private final AtomicLong rows = new AtomicLong();
+        private final AtomicInteger batches = new AtomicInteger();
+        private final AtomicLong lastReport;
+
+        Progress(String label, long start) {
+            this.label = label;
+            this.start = start;
+            this.lastReport = new AtomicLong(start);
+        }
+
+        void completed(int batchRows) {
+            long total = rows.addAndGet(batchRows);
+            batches.incrementAndGet();
+            long now = System.nanoTime();
+            long last = lastReport.get();
+            if (now - last >= TimeUnit.MILLISECONDS.toNanos(PROGRESS_INTERVAL_MS) && lastReport.compareAndSet(last, now)) {
+                long elapsedMillis = Math.max((now - start) / 1_000_000, 1);
+                log.info("Importing {}: {} rows in {} batches ({} rows/s)", label, total, batches.get(),
+                        total * 1000 / elapsedMillis);
+            }
+        }
+    }
+}
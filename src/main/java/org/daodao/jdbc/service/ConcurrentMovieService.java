@@ -0,0 +1,143 @@
+package org.daodao.jdbc.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.daodao.jdbc.config.Neo4jConfig;
+import org.daodao.jdbc.model.Movie;
+import org.daodao.jdbc.model.Person;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Runs {@link Neo4jMovieService} operations on a virtual-thread-per-task executor. The number
+ * of transactions in flight is capped by a semaphore sized to the driver connection pool, so
+ * callers can fan out thousands of lookups without starving the pool or sizing a thread pool.
+ */
+public class ConcurrentMovieService implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ConcurrentMovieService.class);
+    private final Neo4jMovieService movieService;
+    private final ExecutorService executor;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+
+    public ConcurrentMovieService(Neo4jMovieService movieService, Neo4jConfig config) {
+        this(movieService, config.getMaxConnectionPoolSize());
+    }
+
+    public ConcurrentMovieService(Neo4jMovieService movieService, int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Max in-flight transactions must be positive: " + maxInFlight);
+        }
+        this.movieService = movieService;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        log.info("Concurrent movie service started with {} max in-flight transactions", maxInFlight);
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public CompletableFuture<Movie> getMovie(String title) {
+        return submit(() -> movieService.getMovie(title));
+    }
+
+    public CompletableFuture<List<Person>> getActorsInMovie(String movieTitle) {
+        return submit(() -> movieService.getActorsInMovie(movieTitle));
+    }
+
+    public CompletableFuture<List<Person>> getDirectorsOfMovie(String movieTitle) {
+        return submit(() -> movieService.getDirectorsOfMovie(movieTitle));
+    }
+
+    public CompletableFuture<List<Movie>> getMoviesByActor(String actorName) {
+        return submit(() -> movieService.getMoviesByActor(actorName));
+    }
+
+    public CompletableFuture<List<Movie>> getMoviesByDirector(String directorName) {
+        return submit(() -> movieService.getMoviesByDirector(directorName));
+    }
+
+    public CompletableFuture<Void> createMovie(Movie movie) {
+        return submit(() -> {
+            movieService.createMovie(movie);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> updateMovie(String title, Movie updatedMovie) {
+        return submit(() -> {
+            movieService.updateMovie(title, updatedMovie);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> deleteMovie(String title) {
+        return submit(() -> {
+            movieService.deleteMovie(title);
+            return null;
+        });
+    }
+
+    /**
+     * Looks up all titles in parallel and returns the movies found, in the iteration order of
+     * the given titles.
+     */
+    public List<Movie> getMovies(Collection<String> titles) {
+        Map<String, CompletableFuture<Movie>> lookups = new LinkedHashMap<>();
+        for (String title : titles) {
+            lookups.computeIfAbsent(title, this::getMovie);
+        }
+        List<Movie> movies = new ArrayList<>(lookups.size());
+        for (CompletableFuture<Movie> lookup : lookups.values()) {
+            Movie movie = lookup.join();
+            if (movie != null) {
+                movies.add(movie);
+            }
+        }
+        return movies;
+    }
+
+    public Map<String, List<Person>> getActorsInMovies(Collection<String> movieTitles) {
+        Map<String, CompletableFuture<List<Person>>> lookups = new LinkedHashMap<>();
+        for (String title : movieTitles) {
+            lookups.computeIfAbsent(title, this::getActorsInMovie);
+        }
+        Map<String, List<Person>> actors = new LinkedHashMap<>();
+        lookups.forEach((title, lookup) -> actors.put(title, lookup.join()));
+        return actors;
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> operation) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+            try {
+                return operation.get();
+            } finally {
+                inFlight.release();
+            }
+        }, executor);
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+        log.info("Concurrent movie service stopped");
+    }
+}
@@ -0,0 +1,165 @@
+package org.daodao.jdbc.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Per-range export progress, kept next to the target file. For each key range it records the
+ * last key written and the part file length at that point; a resumed export truncates the part
+ * file to that length and continues after that key. Open range bounds are left out. Saved
+ * atomically via a temporary file.
+ */
+class ExportCheckpoint {
+    private final Path file;
+    private final String label;
+    private final ExportFormat format;
+    private final List<Partition> partitions;
+
+    static final class Partition {
+        private final KeyRange range;
+        private String lastKey;
+        private long bytes;
+        private long rows;
+        private boolean done;
+
+        Partition(KeyRange range) {
+            this.range = range;
+        }
+
+        KeyRange getRange() {
+            return range;
+        }
+
+        String getLastKey() {
+            return lastKey;
+        }
+
+        long getBytes() {
+            return bytes;
+        }
+
+        long getRows() {
+            return rows;
+        }
+
+        boolean isDone() {
+            return done;
+        }
+    }
+
+    ExportCheckpoint(Path file, String label, ExportFormat format, List<KeyRange> ranges) {
+        this.file = file;
+        this.label = label;
+        this.format = format;
+        this.partitions = new ArrayList<>(ranges.size());
+        for (KeyRange range : ranges) {
+            partitions.add(new Partition(range));
+        }
+    }
+
+    /**
+     * Returns the checkpoint stored at {@code file} if it belongs to an export of the same label
+     * and format, or null.
+     */
+    static ExportCheckpoint load(Path file, String label, ExportFormat format) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read export checkpoint " + file, e);
+        }
+        if (!label.equals(properties.getProperty("label")) || !format.name().equals(properties.getProperty("format"))) {
+            return null;
+        }
+        int count = Integer.parseInt(properties.getProperty("partitions"));
+        List<KeyRange> ranges = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ranges.add(new KeyRange(properties.getProperty(key(i, "from")), properties.getProperty(key(i, "to"))));
+        }
+        ExportCheckpoint checkpoint = new ExportCheckpoint(file, label, format, ranges);
+        for (int i = 0; i < count; i++) {
+            Partition partition = checkpoint.partitions.get(i);
+            partition.lastKey = properties.getProperty(key(i, "lastKey"));
+            partition.bytes = Long.parseLong(properties.getProperty(key(i, "bytes")));
+            partition.rows = Long.parseLong(properties.getProperty(key(i, "rows")));
+            partition.done = Boolean.parseBoolean(properties.getProperty(key(i, "done")));
+        }
+        return checkpoint;
+    }
+
+    int size() {
+        return partitions.size();
+    }
+
+    synchronized Partition partition(int index) {
+        return partitions.get(index);
+    }
+
+    synchronized long totalRows() {
+        long rows = 0;
+        for (Partition partition : partitions) {
+            rows += partition.rows;
+        }
+        return rows;
+    }
+
+    synchronized void update(int index, String lastKey, long bytes, long rows, boolean done) {
+        Partition partition = partitions.get(index);
+        partition.lastKey = lastKey;
+        partition.bytes = bytes;
+        partition.rows = rows;
+        partition.done = done;
+        save();
+    }
+
+    synchronized void save() {
+        Properties properties = new Properties();
+        properties.setProperty("label", label);
+        properties.setProperty("format", format.name());
+        properties.setProperty("partitions", String.valueOf(partitions.size()));
+        for (int i = 0; i < partitions.size(); i++) {
+            Partition partition = partitions.get(i);
+            if (partition.range.from() != null) {
+                properties.setProperty(key(i, "from"), partition.range.from());
+            }
+            if (partition.range.to() != null) {
+                properties.setProperty(key(i, "to"), partition.range.to());
+            }
+            if (partition.lastKey != null) {
+                properties.setProperty(key(i, "lastKey"), partition.lastKey);
+            }
+            properties.setProperty(key(i, "bytes"), String.valueOf(partition.bytes));
+            properties.setProperty(key(i, "rows"), String.valueOf(partition.rows));
+            properties.setProperty(key(i, "done"), String.valueOf(partition.done));
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                properties.store(writer, "Export checkpoint");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write export checkpoint " + file, e);
+        }
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private static String key(int index, String field) {
+        return "partition." + index + "." + field;
+    }
+}
@@ -0,0 +1,125 @@
+package org.daodao.jdbc.service;
+
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+
+import java.util.List;
+
+/**
+ * Line-oriented export formats. NDJSON writes one JSON object per node; CSV writes a header row
+ * followed by RFC 4180 quoted rows, with null properties left empty.
+ */
+public enum ExportFormat {
+    NDJSON("ndjson") {
+        @Override
+        String header(List<String> columns) {
+            return "";
+        }
+
+        @Override
+        void appendRow(StringBuilder line, List<String> columns, Record record) {
+            line.append('{');
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                appendJsonString(line, columns.get(i));
+                line.append(':');
+                Value value = record.get(i);
+                Object object = value.isNull() ? null : value.asObject();
+                if (object == null || object instanceof Long || object instanceof Boolean) {
+                    line.append(object);
+                } else if (object instanceof Double number && Double.isFinite(number)) {
+                    line.append(number);
+                } else {
+                    appendJsonString(line, object.toString());
+                }
+            }
+            line.append("}\n");
+        }
+    },
+    CSV("csv") {
+        @Override
+        String header(List<String> columns) {
+            StringBuilder line = new StringBuilder();
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                appendCsvField(line, columns.get(i));
+            }
+            return line.append('\n').toString();
+        }
+
+        @Override
+        void appendRow(StringBuilder line, List<String> columns, Record record) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                Value value = record.get(i);
+                if (!value.isNull()) {
+                    appendCsvField(line, value.asObject().toString());
+                }
+            }
+            line.append('\n');
+        }
+    };
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    abstract String header(List<String> columns);
+
+    abstract void appendRow(StringBuilder line, List<String> columns, Record record);
+
+    static void appendJsonString(StringBuilder line, String text) {
+        line.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+
+    private static void appendCsvField(StringBuilder line, String text) {
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            line.append(text);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+}
@@ -0,0 +1,35 @@
+package org.daodao.jdbc.service;
+
+public class ExportResult {
+    private final long rows;
+    private final int partitions;
+    private final boolean resumed;
+    private final long elapsedMillis;
+
+    public ExportResult(long rows, int partitions, boolean resumed, long elapsedMillis) {
+        this.rows = rows;
+        this.partitions = partitions;
+        this.resumed = resumed;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public boolean isResumed() {
+        return resumed;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return rows * 1000.0 / Math.max(elapsedMillis, 1);
+    }
+}
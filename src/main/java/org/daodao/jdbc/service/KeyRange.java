@@ -0,0 +1,8 @@
+package org.daodao.jdbc.service;
+
+/**
+ * Range of unique node keys (movie titles or person names) from {@code from} inclusive to
+ * {@code to} exclusive. A null bound leaves that end open.
+ */
+record KeyRange(String from, String to) {
+}
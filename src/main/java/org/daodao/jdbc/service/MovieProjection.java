@@ -0,0 +1,63 @@
+package org.daodao.jdbc.service;
+
+import org.daodao.jdbc.model.MovieField;
+import org.daodao.jdbc.queries.ParameterBinder;
+import org.daodao.jdbc.queries.QueryDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * A movie read in every field projection: one definition per subset of year, genre and
+ * description (the title is always returned), each with its own fixed RETURN clause. The
+ * variants are built once, so a projected read costs an array lookup, and each keeps a stable
+ * statement text the server can cache a plan for. {@link MovieQueries#MOVIE_MAPPER} reads
+ * the columns a variant leaves out as null.
+ */
+final class MovieProjection<P> {
+    private static final MovieField[] OPTIONAL = {MovieField.YEAR, MovieField.GENRE, MovieField.DESCRIPTION};
+    private static final int ALL = (1 << OPTIONAL.length) - 1;
+
+    private final List<QueryDefinition<P>> variants;
+
+    /**
+     * Builds the variants of {@code template}, whose {@code %s} is replaced by the returned
+     * columns of {@code m}. The variant with every field is named {@code name}, the others
+     * {@code name[title,...]}; {@code register} receives each one.
+     */
+    MovieProjection(String name, String template, ParameterBinder<P> binder, P sample,
+                    UnaryOperator<QueryDefinition<P>> register) {
+        List<QueryDefinition<P>> built = new ArrayList<>(ALL + 1);
+        for (int mask = 0; mask <= ALL; mask++) {
+            StringBuilder columns = new StringBuilder("m.title as title");
+            StringBuilder fields = new StringBuilder("title");
+            for (int i = 0; i < OPTIONAL.length; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    String property = OPTIONAL[i].getProperty();
+                    columns.append(", m.").append(property).append(" as ").append(property);
+                    fields.append(',').append(property);
+                }
+            }
+            String variantName = mask == ALL ? name : name + "[" + fields + "]";
+            QueryDefinition<P> definition = QueryDefinition.read(variantName, String.format(template, columns), binder);
+            built.add(register.apply(sample == null ? definition : definition.withSample(sample)));
+        }
+        this.variants = List.copyOf(built);
+    }
+
+    QueryDefinition<P> all() {
+        return variants.get(ALL);
+    }
+
+    QueryDefinition<P> select(Set<MovieField> fields) {
+        int mask = 0;
+        for (int i = 0; i < OPTIONAL.length; i++) {
+            if (fields.contains(OPTIONAL[i])) {
+                mask |= 1 << i;
+            }
+        }
+        return variants.get(mask);
+    }
+}
@@ -0,0 +1,253 @@
+package org.daodao.jdbc.service;
+
+import org.daodao.jdbc.model.Movie;
+import org.daodao.jdbc.model.MovieDetails;
+import org.daodao.jdbc.model.Person;
+import org.daodao.jdbc.model.Relationship;
+import org.daodao.jdbc.queries.ParameterBinder;
+import org.daodao.jdbc.queries.QueryDefinition;
+import org.daodao.jdbc.queries.QueryRegistry;
+import org.daodao.jdbc.queries.RecordMapper;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.neo4j.driver.Values.parameters;
+
+/**
+ * Cypher statements, parameter binders and record mappers shared by the blocking, reactive and
+ * async movie services, the bulk loader and the database initializer. Every statement is
+ * registered in {@link #REGISTRY} exactly once. The movie and person mappers and the
+ * {@code movie.create} definition are public so the benchmarks measure the production ones.
+ */
+public final class MovieQueries {
+    static final QueryRegistry REGISTRY = new QueryRegistry();
+
+    static final String MOVIE_COLUMNS = "m.title as title, m.year as year, m.genre as genre, m.description as description";
+    static final String PERSON_COLUMNS = "%1$s.name as name, %1$s.birthYear as birthYear, %1$s.nationality as nationality";
+
+    public static final RecordMapper<Movie> MOVIE_MAPPER = RecordMapper.of((record, columns) -> new Movie(
+            columns.string(record, 0), columns.integer(record, 1), columns.string(record, 2), columns.string(record, 3)),
+            "title", "year", "genre", "description");
+    public static final RecordMapper<Person> PERSON_MAPPER = RecordMapper.of((record, columns) -> new Person(
+            columns.string(record, 0), columns.integer(record, 1), columns.string(record, 2)),
+            "name", "birthYear", "nationality");
+
+    // Movie with its cast in one row; each person is a [name, birthYear, nationality] list
+    static final String DETAILS_COLUMNS = MOVIE_COLUMNS +
+            ", [(a:Person)-[:ACTED_IN]->(m) | [a.name, a.birthYear, a.nationality]] as actors" +
+            ", [(d:Person)-[:DIRECTED]->(m) | [d.name, d.birthYear, d.nationality]] as directors";
+    static final RecordMapper<MovieDetails> DETAILS_MAPPER = RecordMapper.of((record, columns) -> new MovieDetails(
+            new Movie(columns.string(record, 0), columns.integer(record, 1), columns.string(record, 2), columns.string(record, 3)),
+            persons(columns.value(record, 4)), persons(columns.value(record, 5))),
+            "title", "year", "genre", "description", "actors", "directors");
+
+    private static final Movie SAMPLE_MOVIE = new Movie("", 0, "", "");
+    private static final Relationship SAMPLE_RELATIONSHIP = new Relationship("", "", Relationship.Type.ACTED_IN);
+
+    public static final QueryDefinition<Movie> CREATE_MOVIE = register(QueryDefinition.write("movie.create",
+            "MERGE (m:Movie {title: $title}) SET m.year = $year, m.genre = $genre, m.description = $description",
+            MovieQueries::bindMovie).withSample(SAMPLE_MOVIE));
+    static final QueryDefinition<String> GET_MOVIE = register(QueryDefinition.read("movie.get",
+            "MATCH (m:Movie {title: $title}) RETURN " + MOVIE_COLUMNS,
+            (String title) -> parameters("title", title)).withSample(""));
+    static final QueryDefinition<List<String>> GET_MOVIES = register(QueryDefinition.read("movie.getMany",
+            "UNWIND $titles AS title MATCH (m:Movie {title: title}) RETURN " + MOVIE_COLUMNS,
+            (List<String> titles) -> parameters("titles", titles)).withSample(List.of("")));
+    static final QueryDefinition<String> GET_MOVIE_DETAILS = register(QueryDefinition.read("movie.details",
+            "MATCH (m:Movie {title: $title}) RETURN " + DETAILS_COLUMNS,
+            (String title) -> parameters("title", title)).withSample(""));
+    static final QueryDefinition<List<String>> GET_MOVIES_DETAILS = register(QueryDefinition.read("movie.detailsMany",
+            "UNWIND $titles AS title MATCH (m:Movie {title: title}) RETURN " + DETAILS_COLUMNS,
+            (List<String> titles) -> parameters("titles", titles)).withSample(List.of("")));
+    static final MovieProjection<Void> ALL_MOVIES = new MovieProjection<>("movie.all",
+            "MATCH (m:Movie) RETURN %s ORDER BY m.title", ignored -> Values.EmptyMap, null, MovieQueries::register);
+    static final QueryDefinition<Void> GET_ALL_MOVIES = ALL_MOVIES.all();
+    static final QueryDefinition<Movie> UPDATE_MOVIE = register(QueryDefinition.write("movie.update",
+            "MATCH (m:Movie {title: $title}) SET m.year = $year, m.genre = $genre, m.description = $description",
+            MovieQueries::bindMovie).withSample(SAMPLE_MOVIE));
+    static final QueryDefinition<String> DELETE_MOVIE = register(QueryDefinition.write("movie.delete",
+            "MATCH (m:Movie {title: $title}) DETACH DELETE m",
+            (String title) -> parameters("title", title)).withSample(""));
+    static final QueryDefinition<Relationship> ADD_ACTOR = register(QueryDefinition.write("movie.addActor",
+            "MATCH (m:Movie {title: $movieTitle}), (a:Person {name: $actorName}) MERGE (a)-[:ACTED_IN]->(m)",
+            (Relationship r) -> parameters("movieTitle", r.getMovieTitle(), "actorName", r.getPersonName())).withSample(SAMPLE_RELATIONSHIP));
+    static final QueryDefinition<Relationship> ADD_DIRECTOR = register(QueryDefinition.write("movie.addDirector",
+            "MATCH (m:Movie {title: $movieTitle}), (d:Person {name: $directorName}) MERGE (d)-[:DIRECTED]->(m)",
+            (Relationship r) -> parameters("movieTitle", r.getMovieTitle(), "directorName", r.getPersonName())).withSample(SAMPLE_RELATIONSHIP));
+    static final QueryDefinition<String> GET_ACTORS_IN_MOVIE = register(QueryDefinition.read("movie.actors",
+            "MATCH (a:Person)-[:ACTED_IN]->(m:Movie {title: $movieTitle}) RETURN " + String.format(PERSON_COLUMNS, "a"),
+            (String title) -> parameters("movieTitle", title)).withSample(""));
+    static final QueryDefinition<String> GET_DIRECTORS_OF_MOVIE = register(QueryDefinition.read("movie.directors",
+            "MATCH (d:Person)-[:DIRECTED]->(m:Movie {title: $movieTitle}) RETURN " + String.format(PERSON_COLUMNS, "d"),
+            (String title) -> parameters("movieTitle", title)).withSample(""));
+    static final MovieProjection<String> MOVIES_BY_ACTOR = new MovieProjection<>("person.actedIn",
+            "MATCH (a:Person {name: $actorName})-[:ACTED_IN]->(m:Movie) RETURN %s",
+            (String name) -> parameters("actorName", name), "", MovieQueries::register);
+    static final QueryDefinition<String> GET_MOVIES_BY_ACTOR = MOVIES_BY_ACTOR.all();
+    static final MovieProjection<String> MOVIES_BY_DIRECTOR = new MovieProjection<>("person.directed",
+            "MATCH (d:Person {name: $directorName})-[:DIRECTED]->(m:Movie) RETURN %s",
+            (String name) -> parameters("directorName", name), "", MovieQueries::register);
+    static final QueryDefinition<String> GET_MOVIES_BY_DIRECTOR = MOVIES_BY_DIRECTOR.all();
+    static final QueryDefinition<String> GET_PERSON = register(QueryDefinition.read("person.get",
+            "MATCH (p:Person {name: $name}) RETURN " + String.format(PERSON_COLUMNS, "p"),
+            (String name) -> parameters("name", name)).withSample(""));
+    static final QueryDefinition<List<String>> GET_PERSONS = register(QueryDefinition.read("person.getMany",
+            "UNWIND $names AS name MATCH (p:Person {name: name}) RETURN " + String.format(PERSON_COLUMNS, "p"),
+            (List<String> names) -> parameters("names", names)).withSample(List.of("")));
+
+    // Keyset pages start at $from in key order; $limit is one past the page size so the extra row marks the next page
+    private static final PageQuery SAMPLE_PAGE = new PageQuery("", "", 1);
+
+    static final MovieProjection<PageQuery> MOVIE_PAGES = new MovieProjection<>("movie.page",
+            "MATCH (m:Movie) WHERE m.title >= $from RETURN %s ORDER BY m.title LIMIT $limit",
+            pageBinder(null), SAMPLE_PAGE, MovieQueries::register);
+    static final QueryDefinition<PageQuery> LIST_MOVIES = MOVIE_PAGES.all();
+    static final QueryDefinition<PageQuery> LIST_PERSONS = register(QueryDefinition.read("person.page",
+            "MATCH (p:Person) WHERE p.name >= $from RETURN " + String.format(PERSON_COLUMNS, "p") + " ORDER BY p.name LIMIT $limit",
+            pageBinder(null)).withSample(SAMPLE_PAGE));
+    static final QueryDefinition<PageQuery> LIST_ACTORS_IN_MOVIE = register(QueryDefinition.read("movie.actorsPage",
+            "MATCH (a:Person)-[:ACTED_IN]->(m:Movie {title: $movieTitle}) WHERE a.name >= $from RETURN " +
+                    String.format(PERSON_COLUMNS, "a") + " ORDER BY a.name LIMIT $limit",
+            pageBinder("movieTitle")).withSample(SAMPLE_PAGE));
+    static final QueryDefinition<PageQuery> LIST_DIRECTORS_OF_MOVIE = register(QueryDefinition.read("movie.directorsPage",
+            "MATCH (d:Person)-[:DIRECTED]->(m:Movie {title: $movieTitle}) WHERE d.name >= $from RETURN " +
+                    String.format(PERSON_COLUMNS, "d") + " ORDER BY d.name LIMIT $limit",
+            pageBinder("movieTitle")).withSample(SAMPLE_PAGE));
+    static final MovieProjection<PageQuery> ACTED_IN_PAGES = new MovieProjection<>("person.actedInPage",
+            "MATCH (a:Person {name: $actorName})-[:ACTED_IN]->(m:Movie) WHERE m.title >= $from RETURN %s ORDER BY m.title LIMIT $limit",
+            pageBinder("actorName"), SAMPLE_PAGE, MovieQueries::register);
+    static final QueryDefinition<PageQuery> LIST_MOVIES_BY_ACTOR = ACTED_IN_PAGES.all();
+    static final MovieProjection<PageQuery> DIRECTED_PAGES = new MovieProjection<>("person.directedPage",
+            "MATCH (d:Person {name: $directorName})-[:DIRECTED]->(m:Movie) WHERE m.title >= $from RETURN %s ORDER BY m.title LIMIT $limit",
+            pageBinder("directorName"), SAMPLE_PAGE, MovieQueries::register);
+    static final QueryDefinition<PageQuery> LIST_MOVIES_BY_DIRECTOR = DIRECTED_PAGES.all();
+
+    // Bulk statements take a list of rows built by movieRow/personRow/relationshipRow
+    static final QueryDefinition<List<Value>> MERGE_MOVIES = register(QueryDefinition.write("bulk.movies",
+            "UNWIND $rows AS row MERGE (m:Movie {title: row.title}) " +
+                    "SET m.year = row.year, m.genre = row.genre, m.description = row.description",
+            MovieQueries::bindRows).withSample(List.of(movieRow(SAMPLE_MOVIE))));
+    static final QueryDefinition<List<Value>> UPDATE_MOVIES = register(QueryDefinition.write("bulk.updateMovies",
+            "UNWIND $rows AS row MATCH (m:Movie {title: row.title}) " +
+                    "SET m.year = row.year, m.genre = row.genre, m.description = row.description",
+            MovieQueries::bindRows).withSample(List.of(movieRow(SAMPLE_MOVIE))));
+    static final QueryDefinition<List<Value>> MERGE_PERSONS = register(QueryDefinition.write("bulk.persons",
+            "UNWIND $rows AS row MERGE (p:Person {name: row.name}) " +
+                    "SET p.birthYear = row.birthYear, p.nationality = row.nationality",
+            MovieQueries::bindRows).withSample(List.of(personRow(new Person("", 0, ""), null))));
+    static final QueryDefinition<List<Value>> MERGE_PERSONS_WITH_ROLE = register(QueryDefinition.write("bulk.personsWithRole",
+            "UNWIND $rows AS row MERGE (p:Person {name: row.name}) " +
+                    "SET p.birthYear = row.birthYear, p.nationality = row.nationality, p.role = row.role",
+            MovieQueries::bindRows).withSample(List.of(personRow(new Person("", 0, ""), ""))));
+    static final QueryDefinition<List<Value>> MERGE_ACTED_IN = register(QueryDefinition.write("bulk.actedIn",
+            "UNWIND $rows AS row " +
+                    "MATCH (p:Person {name: row.personName}), (m:Movie {title: row.movieTitle}) MERGE (p)-[:ACTED_IN]->(m)",
+            MovieQueries::bindRows).withSample(List.of(relationshipRow(SAMPLE_RELATIONSHIP))));
+    static final QueryDefinition<List<Value>> MERGE_DIRECTED = register(QueryDefinition.write("bulk.directed",
+            "UNWIND $rows AS row " +
+                    "MATCH (p:Person {name: row.personName}), (m:Movie {title: row.movieTitle}) MERGE (p)-[:DIRECTED]->(m)",
+            MovieQueries::bindRows).withSample(List.of(relationshipRow(SAMPLE_RELATIONSHIP))));
+
+    // Export: the sorted unique keys are cut into equal-sized ranges, returned as the first key
+    // of each; a null bound leaves a range open so keys created after planning are not missed
+    private static final String EXPORT_RANGES = "WITH collect(key) AS keys, $partitions AS p " +
+            "RETURN [i IN range(0, p - 1) WHERE (i + 1) * size(keys) / p > i * size(keys) / p | " +
+            "keys[i * size(keys) / p]] AS starts";
+    private static final KeyRange SAMPLE_RANGE = new KeyRange("", "");
+
+    static final QueryDefinition<Integer> MOVIE_EXPORT_RANGES = register(QueryDefinition.read("export.movieRanges",
+            "MATCH (m:Movie) WHERE m.title IS NOT NULL WITH m.title AS key ORDER BY key " + EXPORT_RANGES,
+            MovieQueries::bindPartitions).withSample(1));
+    static final QueryDefinition<KeyRange> EXPORT_MOVIES_FROM = register(QueryDefinition.read("export.moviesFrom",
+            "MATCH (m:Movie) WHERE ($from IS NULL OR m.title >= $from) AND ($to IS NULL OR m.title < $to) RETURN " + MOVIE_COLUMNS + " ORDER BY m.title",
+            MovieQueries::bindRange).withSample(SAMPLE_RANGE));
+    static final QueryDefinition<KeyRange> EXPORT_MOVIES_AFTER = register(QueryDefinition.read("export.moviesAfter",
+            "MATCH (m:Movie) WHERE m.title > $from AND ($to IS NULL OR m.title < $to) RETURN " + MOVIE_COLUMNS + " ORDER BY m.title",
+            MovieQueries::bindRange).withSample(SAMPLE_RANGE));
+    static final QueryDefinition<Integer> PERSON_EXPORT_RANGES = register(QueryDefinition.read("export.personRanges",
+            "MATCH (p:Person) WHERE p.name IS NOT NULL WITH p.name AS key ORDER BY key " + EXPORT_RANGES,
+            MovieQueries::bindPartitions).withSample(1));
+    static final QueryDefinition<KeyRange> EXPORT_PERSONS_FROM = register(QueryDefinition.read("export.personsFrom",
+            "MATCH (p:Person) WHERE ($from IS NULL OR p.name >= $from) AND ($to IS NULL OR p.name < $to) RETURN " + String.format(PERSON_COLUMNS, "p") + " ORDER BY p.name",
+            MovieQueries::bindRange).withSample(SAMPLE_RANGE));
+    static final QueryDefinition<KeyRange> EXPORT_PERSONS_AFTER = register(QueryDefinition.read("export.personsAfter",
+            "MATCH (p:Person) WHERE p.name > $from AND ($to IS NULL OR p.name < $to) RETURN " + String.format(PERSON_COLUMNS, "p") + " ORDER BY p.name",
+            MovieQueries::bindRange).withSample(SAMPLE_RANGE));
+
+    static final List<QueryDefinition<Void>> CONSTRAINTS = List.of(
+            register(QueryDefinition.schema("schema.movieTitleUnique",
+                    "CREATE CONSTRAINT movie_title_unique IF NOT EXISTS FOR (m:Movie) REQUIRE m.title IS UNIQUE")),
+            register(QueryDefinition.schema("schema.personNameUnique",
+                    "CREATE CONSTRAINT person_name_unique IF NOT EXISTS FOR (p:Person) REQUIRE p.name IS UNIQUE")));
+    static final List<QueryDefinition<Void>> INDEXES = List.of(
+            register(QueryDefinition.schema("schema.movieYearIndex",
+                    "CREATE INDEX movie_year_index IF NOT EXISTS FOR (m:Movie) ON (m.year)")),
+            register(QueryDefinition.schema("schema.movieGenreIndex",
+                    "CREATE INDEX movie_genre_index IF NOT EXISTS FOR (m:Movie) ON (m.genre)")),
+            register(QueryDefinition.schema("schema.personBirthYearIndex",
+                    "CREATE INDEX person_birth_year_index IF NOT EXISTS FOR (p:Person) ON (p.birthYear)")),
+            register(QueryDefinition.schema("schema.personNationalityIndex",
+                    "CREATE INDEX person_nationality_index IF NOT EXISTS FOR (p:Person) ON (p.nationality)")));
+
+    private MovieQueries() {
+    }
+
+    private static <P> QueryDefinition<P> register(QueryDefinition<P> definition) {
+        return REGISTRY.register(definition);
+    }
+
+    static Value bindMovie(Movie movie) {
+        return parameters("title", movie.getTitle(), "year", movie.getYear(),
+                "genre", movie.getGenre(), "description", movie.getDescription());
+    }
+
+    private static Value bindRows(List<Value> rows) {
+        return parameters("rows", rows);
+    }
+
+    private static List<Person> persons(Value people) {
+        if (people.isNull()) {
+            return List.of();
+        }
+        List<Person> persons = new ArrayList<>(people.size());
+        for (Value person : people.values()) {
+            Value birthYear = person.get(1);
+            persons.add(new Person(person.get(0).asString(null), birthYear.isNull() ? null : birthYear.asInt(),
+                    person.get(2).asString(null)));
+        }
+        return persons;
+    }
+
+    private static ParameterBinder<PageQuery> pageBinder(String keyParameter) {
+        if (keyParameter == null) {
+            return page -> parameters("from", page.from(), "limit", page.limit());
+        }
+        return page -> parameters(keyParameter, page.key(), "from", page.from(), "limit", page.limit());
+    }
+
+    private static Value bindPartitions(Integer partitions) {
+        return parameters("partitions", partitions);
+    }
+
+    private static Value bindRange(KeyRange range) {
+        return parameters("from", range.from(), "to", range.to());
+    }
+
+    static Value movieRow(Movie movie) {
+        return bindMovie(movie);
+    }
+
+    static Value personRow(Person person, String role) {
+        return role == null
+                ? parameters("name", person.getName(), "birthYear", person.getBirthYear(), "nationality", person.getNationality())
+                : parameters("name", person.getName(), "birthYear", person.getBirthYear(), "nationality", person.getNationality(),
+                "role", role);
+    }
+
+    static Value relationshipRow(Relationship relationship) {
+        return parameters("personName", relationship.getPersonName(), "movieTitle", relationship.getMovieTitle());
+    }
+}
@@ -0,0 +1,143 @@
+package org.daodao.jdbc.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.model.Movie;
+import org.daodao.jdbc.model.MovieDetails;
+import org.daodao.jdbc.model.Person;
+import org.daodao.jdbc.model.Relationship;
+import org.daodao.jdbc.queries.RecordMapper;
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.async.AsyncSession;
+import org.neo4j.driver.async.AsyncTransaction;
+import org.neo4j.driver.summary.ResultSummary;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+import static org.daodao.jdbc.service.MovieQueries.*;
+
+public class Neo4jAsyncMovieService {
+    private static final Logger log = LoggerFactory.getLogger(Neo4jAsyncMovieService.class);
+    private final Neo4jConnector connector;
+    private final SessionConfig readSessionConfig;
+    private final SessionConfig writeSessionConfig;
+
+    public Neo4jAsyncMovieService(Neo4jConnector connector) {
+        this.connector = connector;
+        this.readSessionConfig = connector.sessionConfig(AccessMode.READ);
+        this.writeSessionConfig = connector.sessionConfig(AccessMode.WRITE);
+    }
+
+    public CompletionStage<Void> createMovie(Movie movie) {
+        return write(CREATE_MOVIE.bind(movie))
+                .thenAccept(summary -> log.debug("Movie created: {}", movie.getTitle()));
+    }
+
+    public CompletionStage<Movie> getMovie(String title) {
+        return read(GET_MOVIE.bind(title), MovieQueries.MOVIE_MAPPER)
+                .thenApply(movies -> movies.isEmpty() ? null : movies.get(0));
+    }
+
+    public CompletionStage<List<Movie>> getAllMovies() {
+        return read(GET_ALL_MOVIES.bind(null), MovieQueries.MOVIE_MAPPER);
+    }
+
+    public CompletionStage<Void> updateMovie(String title, Movie updatedMovie) {
+        return write(UPDATE_MOVIE.bind(new Movie(title, updatedMovie.getYear(), updatedMovie.getGenre(), updatedMovie.getDescription())))
+                .thenAccept(summary -> log.debug("Movie updated: {}", title));
+    }
+
+    public CompletionStage<Void> deleteMovie(String title) {
+        return write(DELETE_MOVIE.bind(title))
+                .thenAccept(summary -> log.debug("Movie deleted: {}", title));
+    }
+
+    public CompletionStage<Void> addActor(String movieTitle, String actorName) {
+        return write(ADD_ACTOR.bind(new Relationship(actorName, movieTitle, Relationship.Type.ACTED_IN)))
+                .thenAccept(summary -> log.debug("Actor {} added to movie {}", actorName, movieTitle));
+    }
+
+    public CompletionStage<Void> addDirector(String movieTitle, String directorName) {
+        return write(ADD_DIRECTOR.bind(new Relationship(directorName, movieTitle, Relationship.Type.DIRECTED)))
+                .thenAccept(summary -> log.debug("Director {} added to movie {}", directorName, movieTitle));
+    }
+
+    public CompletionStage<List<Person>> getActorsInMovie(String movieTitle) {
+        return read(GET_ACTORS_IN_MOVIE.bind(movieTitle), MovieQueries.PERSON_MAPPER);
+    }
+
+    public CompletionStage<List<Person>> getDirectorsOfMovie(String movieTitle) {
+        return read(GET_DIRECTORS_OF_MOVIE.bind(movieTitle), MovieQueries.PERSON_MAPPER);
+    }
+
+    public CompletionStage<List<Movie>> getMoviesByActor(String actorName) {
+        return read(GET_MOVIES_BY_ACTOR.bind(actorName), MovieQueries.MOVIE_MAPPER);
+    }
+
+    public CompletionStage<List<Movie>> getMoviesByDirector(String directorName) {
+        return read(GET_MOVIES_BY_DIRECTOR.bind(directorName), MovieQueries.MOVIE_MAPPER);
+    }
+
+    /**
+     * Loads each movie with its actors and directors in a single query, returned in the order of
+     * the titles given. Titles with no movie are skipped.
+     */
+    public CompletionStage<List<MovieDetails>> getMoviesWithCast(List<String> titles) {
+        List<String> distinct = List.copyOf(new LinkedHashSet<>(titles));
+        if (distinct.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        return read(GET_MOVIES_DETAILS.bind(distinct), MovieQueries.DETAILS_MAPPER).thenApply(rows -> {
+            Map<String, MovieDetails> byTitle = new HashMap<>();
+            for (MovieDetails details : rows) {
+                byTitle.put(details.getMovie().getTitle(), details);
+            }
+            List<MovieDetails> result = new ArrayList<>(byTitle.size());
+            for (String title : distinct) {
+                MovieDetails details = byTitle.get(title);
+                if (details != null) {
+                    result.add(details);
+                }
+            }
+            return result;
+        });
+    }
+
+    private <T> CompletionStage<List<T>> read(Query query, Function<Record, T> mapper) {
+        AsyncSession session = connector.getAsyncSession(readSessionConfig);
+        return closeAfter(session, session.readTransactionAsync(tx -> run(tx, query, mapper)));
+    }
+
+    private CompletionStage<ResultSummary> write(Query query) {
+        AsyncSession session = connector.getAsyncSession(writeSessionConfig);
+        return closeAfter(session, session.writeTransactionAsync(tx -> tx.runAsync(query)
+                .thenCompose(cursor -> cursor.consumeAsync())));
+    }
+
+    private static <T> CompletableFuture<List<T>> run(AsyncTransaction tx, Query query, Function<Record, T> mapper) {
+        return tx.runAsync(query)
+                .thenCompose(cursor -> cursor.listAsync(RecordMapper.forResult(mapper, cursor.keys())))
+                .toCompletableFuture();
+    }
+
+    private static <T> CompletionStage<T> closeAfter(AsyncSession session, CompletionStage<T> stage) {
+        return stage.handle((value, error) -> session.closeAsync().handle((ignored, closeError) -> {
+            if (error != null) {
+                throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+            }
+            return value;
+        })).thenCompose(Function.identity());
+    }
+}
@@ -0,0 +1,136 @@
+package org.daodao.jdbc.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.model.Movie;
+import org.daodao.jdbc.model.Person;
+import org.daodao.jdbc.model.Relationship;
+import org.daodao.jdbc.queries.QueryDefinition;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Value;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public class Neo4jBulkLoader {
+    private static final Logger log = LoggerFactory.getLogger(Neo4jBulkLoader.class);
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private final Neo4jConnector connector;
+    private final int batchSize;
+
+    public Neo4jBulkLoader(Neo4jConnector connector) {
+        this(connector, DEFAULT_BATCH_SIZE);
+    }
+
+    public Neo4jBulkLoader(Neo4jConnector connector, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.connector = connector;
+        this.batchSize = batchSize;
+        connector.getMetrics().nameQueries(MovieQueries.REGISTRY.names());
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public BulkLoadResult loadMovies(Iterable<? extends Movie> movies) {
+        return load("movies", MovieQueries.MERGE_MOVIES, movies, MovieQueries::movieRow);
+    }
+
+    public BulkLoadResult loadPersons(Iterable<? extends Person> persons) {
+        return load("persons", MovieQueries.MERGE_PERSONS, persons, person -> MovieQueries.personRow(person, null));
+    }
+
+    public BulkLoadResult loadPersons(Iterable<? extends Person> persons, String role) {
+        return load("persons (" + role + ")", MovieQueries.MERGE_PERSONS_WITH_ROLE, persons, person -> MovieQueries.personRow(person, role));
+    }
+
+    public BulkLoadResult loadRelationships(Iterable<? extends Relationship> relationships) {
+        // Relationship types cannot be parameterized, so each type fills its own UNWIND batch;
+        // at most one batch per type is held while the input is streamed
+        long start = System.nanoTime();
+        long rows = 0;
+        int batches = 0;
+
+        try (Session session = connector.getSession()) {
+            Map<Relationship.Type, List<Value>> pending = new EnumMap<>(Relationship.Type.class);
+            for (Relationship relationship : relationships) {
+                Relationship.Type type = relationship.getType();
+                List<Value> batch = pending.computeIfAbsent(type, t -> new ArrayList<>(batchSize));
+                batch.add(MovieQueries.relationshipRow(relationship));
+                if (batch.size() == batchSize) {
+                    writeBatch(session, relationshipQuery(type), batch);
+                    rows += batch.size();
+                    batches++;
+                    pending.remove(type);
+                }
+            }
+            for (Map.Entry<Relationship.Type, List<Value>> entry : pending.entrySet()) {
+                writeBatch(session, relationshipQuery(entry.getKey()), entry.getValue());
+                rows += entry.getValue().size();
+                batches++;
+            }
+        }
+
+        return finish("relationships", start, rows, batches);
+    }
+
+    public BulkLoadResult loadRelationships(Relationship.Type type, Iterable<? extends Relationship> relationships) {
+        return load(type + " relationships", relationshipQuery(type), relationships, MovieQueries::relationshipRow);
+    }
+
+    private static QueryDefinition<List<Value>> relationshipQuery(Relationship.Type type) {
+        return switch (type) {
+            case ACTED_IN -> MovieQueries.MERGE_ACTED_IN;
+            case DIRECTED -> MovieQueries.MERGE_DIRECTED;
+        };
+    }
+
+    private <T> BulkLoadResult load(String label, QueryDefinition<List<Value>> query,
+                                    Iterable<? extends T> items, Function<T, Value> rowMapper) {
+        long start = System.nanoTime();
+        long rows = 0;
+        int batches = 0;
+
+        try (Session session = connector.getSession()) {
+            List<Value> batch = new ArrayList<>(batchSize);
+            for (T item : items) {
+                batch.add(rowMapper.apply(item));
+                if (batch.size() == batchSize) {
+                    writeBatch(session, query, batch);
+                    rows += batch.size();
+                    batches++;
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(session, query, batch);
+                rows += batch.size();
+                batches++;
+            }
+        }
+
+        return finish(label, start, rows, batches);
+    }
+
+    private static BulkLoadResult finish(String label, long start, long rows, int batches) {
+        BulkLoadResult result = new BulkLoadResult(rows, batches, (System.nanoTime() - start) / 1_000_000);
+        log.info("Loaded {} {} in {} batches, {} ms ({} rows/sec)", result.getRows(), label, result.getBatches(),
+                result.getElapsedMillis(), String.format("%.1f", result.getRowsPerSecond()));
+        return result;
+    }
+
+    private void writeBatch(Session session, QueryDefinition<List<Value>> query, List<Value> batch) {
+        Query bound = query.bind(batch);
+        connector.getMetrics().timeQuery(bound.text(), "write",
+                () -> connector.getRetryPolicy().inTransaction(session, bound.text(), tx -> tx.run(bound).consume()));
+    }
+}
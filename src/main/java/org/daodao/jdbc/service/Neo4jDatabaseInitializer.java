@@ -5,16 +5,25 @@ import org.slf4j.LoggerFactory;
 import org.daodao.jdbc.connectors.Neo4jConnector;
 import org.daodao.jdbc.model.Movie;
 import org.daodao.jdbc.model.Person;
+import org.daodao.jdbc.model.Relationship;
+import org.daodao.jdbc.queries.QueryDefinition;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 public class Neo4jDatabaseInitializer {
     private static final Logger log = LoggerFactory.getLogger(Neo4jDatabaseInitializer.class);
     private final Neo4jConnector connector;
+    private final Neo4jBulkLoader bulkLoader;
 
     public Neo4jDatabaseInitializer(Neo4jConnector connector) {
+        this(connector, new Neo4jBulkLoader(connector));
+    }
+
+    public Neo4jDatabaseInitializer(Neo4jConnector connector, Neo4jBulkLoader bulkLoader) {
         this.connector = connector;
+        this.bulkLoader = bulkLoader;
     }
 
     public void initializeDatabase() {
@@ -28,29 +37,27 @@ public class Neo4jDatabaseInitializer {
         } else {
             log.info("Database already contains data. Skipping initialization.");
         }
+        warmUpQueries();
+    }
+
+    /**
+     * Plans every registered movie query on the server so the first real calls hit its plan cache.
+     */
+    public int warmUpQueries() {
+        return MovieQueries.REGISTRY.warmUp(connector);
     }
 
     private void createConstraints() {
-        String movieConstraint = "CREATE CONSTRAINT movie_title_unique IF NOT EXISTS FOR (m:Movie) REQUIRE m.title IS UNIQUE";
-        String personConstraint = "CREATE CONSTRAINT person_name_unique IF NOT EXISTS FOR (p:Person) REQUIRE p.name IS UNIQUE";
-        
-        connector.executeWrite(movieConstraint, new HashMap<>());
-        connector.executeWrite(personConstraint, new HashMap<>());
-        
+        for (QueryDefinition<Void> constraint : MovieQueries.CONSTRAINTS) {
+            connector.executeWrite(constraint, null);
+        }
         log.info("Database constraints created");
     }
 
     private void createIndexes() {
-        String movieYearIndex = "CREATE INDEX movie_year_index IF NOT EXISTS FOR (m:Movie) ON (m.year)";
-        String movieGenreIndex = "CREATE INDEX movie_genre_index IF NOT EXISTS FOR (m:Movie) ON (m.genre)";
-        String personBirthYearIndex = "CREATE INDEX person_birth_year_index IF NOT EXISTS FOR (p:Person) ON (p.birthYear)";
-        String personNationalityIndex = "CREATE INDEX person_nationality_index IF NOT EXISTS FOR (p:Person) ON (p.nationality)";
-        
-        connector.executeWrite(movieYearIndex, new HashMap<>());
-        connector.executeWrite(movieGenreIndex, new HashMap<>());
-        connector.executeWrite(personBirthYearIndex, new HashMap<>());
-        connector.executeWrite(personNationalityIndex, new HashMap<>());
-        
+        for (QueryDefinition<Void> index : MovieQueries.INDEXES) {
+            connector.executeWrite(index, null);
+        }
         log.info("Database indexes created");
     }
 
@@ -81,33 +88,9 @@ public class Neo4jDatabaseInitializer {
             new Person("Quentin Tarantino", 1963, "American")
         };
 
-        for (Movie movie : movies) {
-            String createMovieQuery = "MERGE (m:Movie {title: $title}) SET m.year = $year, m.genre = $genre, m.description = $description";
-            Map<String, Object> params = new HashMap<>();
-            params.put("title", movie.getTitle());
-            params.put("year", movie.getYear());
-            params.put("genre", movie.getGenre());
-            params.put("description", movie.getDescription());
-            connector.executeWrite(createMovieQuery, params);
-        }
-
-        for (Person person : actors) {
-            String createPersonQuery = "MERGE (p:Person {name: $name}) SET p.birthYear = $birthYear, p.nationality = $nationality, p.role = 'Actor'";
-            Map<String, Object> params = new HashMap<>();
-            params.put("name", person.getName());
-            params.put("birthYear", person.getBirthYear());
-            params.put("nationality", person.getNationality());
-            connector.executeWrite(createPersonQuery, params);
-        }
-
-        for (Person person : directors) {
-            String createPersonQuery = "MERGE (p:Person {name: $name}) SET p.birthYear = $birthYear, p.nationality = $nationality, p.role = 'Director'";
-            Map<String, Object> params = new HashMap<>();
-            params.put("name", person.getName());
-            params.put("birthYear", person.getBirthYear());
-            params.put("nationality", person.getNationality());
-            connector.executeWrite(createPersonQuery, params);
-        }
+        bulkLoader.loadMovies(Arrays.asList(movies));
+        bulkLoader.loadPersons(Arrays.asList(actors), "Actor");
+        bulkLoader.loadPersons(Arrays.asList(directors), "Director");
 
         String[][] actorMovieRelations = {
             {"Keanu Reeves", "The Matrix"},
@@ -128,21 +111,14 @@ public class Neo4jDatabaseInitializer {
             {"Quentin Tarantino", "Pulp Fiction"}
         };
 
+        List<Relationship> relationships = new ArrayList<>();
         for (String[] relation : actorMovieRelations) {
-            String createRelationQuery = "MATCH (a:Person {name: $actorName}), (m:Movie {title: $movieTitle}) MERGE (a)-[:ACTED_IN]->(m)";
-            Map<String, Object> params = new HashMap<>();
-            params.put("actorName", relation[0]);
-            params.put("movieTitle", relation[1]);
-            connector.executeWrite(createRelationQuery, params);
+            relationships.add(new Relationship(relation[0], relation[1], Relationship.Type.ACTED_IN));
         }
-
         for (String[] relation : directorMovieRelations) {
-            String createRelationQuery = "MATCH (d:Person {name: $directorName}), (m:Movie {title: $movieTitle}) MERGE (d)-[:DIRECTED]->(m)";
-            Map<String, Object> params = new HashMap<>();
-            params.put("directorName", relation[0]);
-            params.put("movieTitle", relation[1]);
-            connector.executeWrite(createRelationQuery, params);
+            relationships.add(new Relationship(relation[0], relation[1], Relationship.Type.DIRECTED));
         }
+        bulkLoader.loadRelationships(relationships);
 
         log.info("Sample data inserted successfully");
     }
@@ -2,220 +2,583 @@ package org.daodao.jdbc.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.daodao.jdbc.cache.AdjacencyCache;
+import org.daodao.jdbc.cache.CacheStats;
+import org.daodao.jdbc.cache.EntityCache;
+import org.daodao.jdbc.cache.LocalEntityCache;
+import org.daodao.jdbc.config.Neo4jConfig;
 import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.metrics.Neo4jMetrics;
 import org.daodao.jdbc.model.Movie;
+import org.daodao.jdbc.model.MovieDetails;
+import org.daodao.jdbc.model.MovieField;
+import org.daodao.jdbc.model.Page;
 import org.daodao.jdbc.model.Person;
-import org.neo4j.driver.Result;
+import org.daodao.jdbc.model.Relationship;
+import org.daodao.jdbc.queries.QueryDefinition;
 import org.neo4j.driver.Record;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
-public class Neo4jMovieService {
+import static org.daodao.jdbc.service.MovieQueries.*;
+
+public class Neo4jMovieService implements AutoCloseable {
     private static final Logger log = LoggerFactory.getLogger(Neo4jMovieService.class);
+    public static final int MAX_PAGE_SIZE = 1000;
     private final Neo4jConnector connector;
+    private final int fetchSize;
+    private final EntityCache<String, Movie> movieCache;
+    private final EntityCache<String, Person> personCache;
+    private final AdjacencyCache adjacencyCache;
+    private final Neo4jMetrics metrics;
+    private final WriteBehindBuffer writeBehind;
+    private final BatchLoader<String, Movie> movieLoader;
 
     public Neo4jMovieService(Neo4jConnector connector) {
+        this(connector, connector.getConfig().getFetchSize());
+    }
+
+    public Neo4jMovieService(Neo4jConnector connector, int fetchSize) {
+        this(connector, fetchSize, configuredCache(connector.getConfig()), configuredCache(connector.getConfig()));
+    }
+
+    public Neo4jMovieService(Neo4jConnector connector, EntityCache<String, Movie> movieCache, EntityCache<String, Person> personCache) {
+        this(connector, connector.getConfig().getFetchSize(), movieCache, personCache);
+    }
+
+    public Neo4jMovieService(Neo4jConnector connector, int fetchSize,
+                             EntityCache<String, Movie> movieCache, EntityCache<String, Person> personCache) {
+        this(connector, fetchSize, movieCache, personCache, configuredAdjacencyCache(connector.getConfig()));
+    }
+
+    public Neo4jMovieService(Neo4jConnector connector, int fetchSize, EntityCache<String, Movie> movieCache,
+                             EntityCache<String, Person> personCache, AdjacencyCache adjacencyCache) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Fetch size must be positive: " + fetchSize);
+        }
         this.connector = connector;
+        this.fetchSize = fetchSize;
+        this.movieCache = movieCache;
+        this.personCache = personCache;
+        this.adjacencyCache = adjacencyCache;
+        this.metrics = connector.getMetrics();
+        metrics.nameQueries(REGISTRY.names());
+        this.writeBehind = configuredWriteBehind(connector);
+        this.movieLoader = configuredMovieLoader(connector.getConfig());
+    }
+
+    private static <V> EntityCache<String, V> configuredCache(Neo4jConfig config) {
+        if (config.getEntityCacheMaxSize() == 0) {
+            return EntityCache.disabled();
+        }
+        return new LocalEntityCache<>(config.getEntityCacheMaxSize(), Duration.ofMillis(config.getEntityCacheTtlMs()));
+    }
+
+    private static AdjacencyCache configuredAdjacencyCache(Neo4jConfig config) {
+        return config.getAdjacencyCacheMaxEntries() == 0 ? null : new AdjacencyCache(config.getAdjacencyCacheMaxEntries());
+    }
+
+    private WriteBehindBuffer configuredWriteBehind(Neo4jConnector connector) {
+        Neo4jConfig config = connector.getConfig();
+        if (config.getWriteBehindMaxPending() == 0) {
+            return null;
+        }
+        Path journal = config.getWriteBehindJournal() == null ? null : Path.of(config.getWriteBehindJournal());
+        return new WriteBehindBuffer(connector, config.getWriteBehindMaxPending(), config.getWriteBehindFlushIntervalMs(),
+                journal, config.getWriteBehindJournalSyncMs(), this::writeBehindFlushed);
+    }
+
+    private BatchLoader<String, Movie> configuredMovieLoader(Neo4jConfig config) {
+        if (config.getReadBatchMaxSize() == 0) {
+            return null;
+        }
+        return new BatchLoader<>(this::loadMovies, config.getReadBatchMaxSize(), config.getReadBatchWindowMs());
+    }
+
+    private Map<String, Movie> loadMovies(List<String> titles) {
+        Map<String, Movie> movies = new HashMap<>();
+        for (Movie movie : connector.executeRead(GET_MOVIES, titles, MovieQueries.MOVIE_MAPPER)) {
+            movies.put(movie.getTitle(), movie);
+        }
+        return movies;
+    }
+
+    private Map<String, Person> loadPersons(List<String> names) {
+        Map<String, Person> persons = new HashMap<>();
+        for (Person person : connector.executeRead(GET_PERSONS, names, MovieQueries.PERSON_MAPPER)) {
+            persons.put(person.getName(), person);
+        }
+        return persons;
+    }
+
+    // Reads between buffering and the flush may have cached the old state
+    private void writeBehindFlushed(Collection<Movie> movies, Collection<Relationship> actedIn) {
+        for (Movie movie : movies) {
+            invalidateMovie(movie.getTitle());
+        }
+        if (adjacencyCache != null) {
+            for (Relationship relationship : actedIn) {
+                adjacencyCache.invalidateRelationship(Relationship.Type.ACTED_IN, relationship.getMovieTitle(),
+                        relationship.getPersonName());
+            }
+        }
+    }
+
+    // Readers that started before the write may still put or share the old row; the cache stamp
+    // and the loader's in-flight map both have to forget it
+    private void invalidateMovie(String title) {
+        if (adjacencyCache != null) {
+            adjacencyCache.attributesChanged();
+        }
+        movieCache.invalidate(title);
+        if (movieLoader != null) {
+            movieLoader.invalidate(title);
+        }
+    }
+
+    public boolean isWriteBehind() {
+        return writeBehind != null;
+    }
+
+    public CacheStats getAdjacencyCacheStats() {
+        return adjacencyCache == null ? new CacheStats(0, 0, 0, 0) : adjacencyCache.stats();
+    }
+
+    public CacheStats getMovieCacheStats() {
+        return movieCache.stats();
+    }
+
+    public CacheStats getPersonCacheStats() {
+        return personCache.stats();
     }
 
     public void createMovie(Movie movie) {
-        String query = "MERGE (m:Movie {title: $title}) SET m.year = $year, m.genre = $genre, m.description = $description";
-        Map<String, Object> params = new HashMap<>();
-        params.put("title", movie.getTitle());
-        params.put("year", movie.getYear());
-        params.put("genre", movie.getGenre());
-        params.put("description", movie.getDescription());
-        connector.executeWrite(query, params);
-        log.info("Movie created: {}", movie.getTitle());
+        metrics.timeOperation("createMovie", () -> {
+            if (writeBehind != null) {
+                writeBehind.createMovie(movie);
+            } else {
+                connector.executeWrite(CREATE_MOVIE, movie);
+            }
+            invalidateMovie(movie.getTitle());
+            log.debug("Movie created: {}", movie.getTitle());
+        });
+    }
+
+    /**
+     * Writes buffered mutations now. Without write-behind this does nothing; with it, reads only
+     * see buffered writes once they are flushed.
+     */
+    public void flush() {
+        if (writeBehind != null) {
+            writeBehind.flush();
+        }
+    }
+
+    // Unbuffered writes must land after the buffered ones issued before them, so the buffer is
+    // flushed and the write runs under the same flush lock
+    private void writeUnbuffered(Runnable write) {
+        if (writeBehind != null) {
+            writeBehind.flushThen(write);
+        } else {
+            write.run();
+        }
+    }
+
+    /**
+     * Flushes and stops the write-behind buffer and stops the read batcher, if enabled.
+     */
+    @Override
+    public void close() {
+        if (movieLoader != null) {
+            movieLoader.close();
+        }
+        if (writeBehind != null) {
+            writeBehind.close();
+        }
     }
 
     public Movie getMovie(String title) {
-        String query = "MATCH (m:Movie {title: $title}) RETURN m.year as year, m.genre as genre, m.description as description";
-        Map<String, Object> params = new HashMap<>();
-        params.put("title", title);
-        
-        try (var session = connector.getSession()) {
-            return session.readTransaction(tx -> {
-                Result result = tx.run(query, params);
-                if (result.hasNext()) {
-                    Record record = result.single();
-                    Movie movie = new Movie();
-                    movie.setTitle(title);
-                    var yearValue = record.get("year");
-                    movie.setYear(yearValue.isNull() ? null : yearValue.asInt());
-                    var genreValue = record.get("genre");
-                    movie.setGenre(genreValue.isNull() ? null : genreValue.asString());
-                    var descriptionValue = record.get("description");
-                    movie.setDescription(descriptionValue.isNull() ? null : descriptionValue.asString());
-                    return movie;
-                }
+        return metrics.timeOperation("getMovie", () -> {
+            Movie cached = movieCache.get(title);
+            if (cached != null) {
+                return copyOf(cached);
+            }
+            long stamp = movieCache.stamp(title);
+            Movie movie = movieLoader != null && title != null ? loadBatched(title) : fetchMovie(title);
+            if (movie == null) {
                 return null;
-            });
+            }
+            movieCache.put(title, copyOf(movie), stamp);
+            return movie;
+        });
+    }
+
+    private Movie fetchMovie(String title) {
+        List<Movie> movies = connector.executeRead(GET_MOVIE, title, MovieQueries.MOVIE_MAPPER);
+        return movies.isEmpty() ? null : movies.get(0);
+    }
+
+    // Callers of the same title share one result, so each gets its own copy
+    private Movie loadBatched(String title) {
+        try {
+            Movie movie = movieLoader.load(title).join();
+            return movie == null ? null : copyOf(movie);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
         }
     }
 
+    public Person getPerson(String name) {
+        return metrics.timeOperation("getPerson", () -> {
+            Person cached = personCache.get(name);
+            if (cached != null) {
+                return copyOf(cached);
+            }
+            long stamp = personCache.stamp(name);
+            List<Person> persons = connector.executeRead(GET_PERSON, name, MovieQueries.PERSON_MAPPER);
+            if (persons.isEmpty()) {
+                return null;
+            }
+            Person person = persons.get(0);
+            personCache.put(name, copyOf(person), stamp);
+            return person;
+        });
+    }
+
     public List<Movie> getAllMovies() {
-        String query = "MATCH (m:Movie) RETURN m.title as title, m.year as year, m.genre as genre, m.description as description ORDER BY m.title";
-        Map<String, Object> params = new HashMap<>();
-        
-        try (var session = connector.getSession()) {
-            return session.readTransaction(tx -> {
-                Result result = tx.run(query, params);
-                List<Movie> movies = new ArrayList<>();
-                while (result.hasNext()) {
-                    Record record = result.next();
-                    Movie movie = new Movie();
-                    movie.setTitle(record.get("title").asString());
-                    var yearValue = record.get("year");
-                    movie.setYear(yearValue.isNull() ? null : yearValue.asInt());
-                    var genreValue = record.get("genre");
-                    movie.setGenre(genreValue.isNull() ? null : genreValue.asString());
-                    var descriptionValue = record.get("description");
-                    movie.setDescription(descriptionValue.isNull() ? null : descriptionValue.asString());
-                    movies.add(movie);
-                }
-                return movies;
-            });
-        }
+        return metrics.timeOperation("getAllMovies", () -> connector.executeRead(GET_ALL_MOVIES, null, MovieQueries.MOVIE_MAPPER));
+    }
+
+    /**
+     * Returns all movies with only the given fields read from the server; the title is always
+     * set and the other properties are null. Listings that skip the description transfer and
+     * allocate far less.
+     */
+    public List<Movie> getAllMovies(Set<MovieField> fields) {
+        return metrics.timeOperation("getAllMovies", () -> connector.executeRead(ALL_MOVIES.select(fields), null, MovieQueries.MOVIE_MAPPER));
     }
 
     public void updateMovie(String title, Movie updatedMovie) {
-        String query = "MATCH (m:Movie {title: $title}) SET m.year = $year, m.genre = $genre, m.description = $description";
-        Map<String, Object> params = new HashMap<>();
-        params.put("title", title);
-        params.put("year", updatedMovie.getYear());
-        params.put("genre", updatedMovie.getGenre());
-        params.put("description", updatedMovie.getDescription());
-        connector.executeWrite(query, params);
-        log.info("Movie updated: {}", title);
+        metrics.timeOperation("updateMovie", () -> {
+            Movie movie = new Movie(title, updatedMovie.getYear(), updatedMovie.getGenre(), updatedMovie.getDescription());
+            if (writeBehind != null) {
+                writeBehind.updateMovie(movie);
+            } else {
+                connector.executeWrite(UPDATE_MOVIE, movie);
+            }
+            invalidateMovie(title);
+            log.debug("Movie updated: {}", title);
+        });
     }
 
     public void deleteMovie(String title) {
-        String query = "MATCH (m:Movie {title: $title}) DETACH DELETE m";
-        Map<String, Object> params = new HashMap<>();
-        params.put("title", title);
-        connector.executeWrite(query, params);
-        log.info("Movie deleted: {}", title);
+        metrics.timeOperation("deleteMovie", () -> {
+            writeUnbuffered(() -> connector.executeWrite(DELETE_MOVIE, title));
+            invalidateMovie(title);
+            if (adjacencyCache != null) {
+                adjacencyCache.invalidateMovie(title);
+            }
+            log.debug("Movie deleted: {}", title);
+        });
     }
 
     public void addActor(String movieTitle, String actorName) {
-        String query = "MATCH (m:Movie {title: $movieTitle}), (a:Person {name: $actorName}) MERGE (a)-[:ACTED_IN]->(m)";
-        Map<String, Object> params = new HashMap<>();
-        params.put("movieTitle", movieTitle);
-        params.put("actorName", actorName);
-        connector.executeWrite(query, params);
-        log.info("Actor {} added to movie {}", actorName, movieTitle);
+        metrics.timeOperation("addActor", () -> {
+            if (writeBehind != null) {
+                writeBehind.addActor(movieTitle, actorName);
+            } else {
+                connector.executeWrite(ADD_ACTOR, new Relationship(actorName, movieTitle, Relationship.Type.ACTED_IN));
+            }
+            if (adjacencyCache != null) {
+                adjacencyCache.invalidateRelationship(Relationship.Type.ACTED_IN, movieTitle, actorName);
+            }
+            log.debug("Actor {} added to movie {}", actorName, movieTitle);
+        });
     }
 
     public void addDirector(String movieTitle, String directorName) {
-        String query = "MATCH (m:Movie {title: $movieTitle}), (d:Person {name: $directorName}) MERGE (d)-[:DIRECTED]->(m)";
-        Map<String, Object> params = new HashMap<>();
-        params.put("movieTitle", movieTitle);
-        params.put("directorName", directorName);
-        connector.executeWrite(query, params);
-        log.info("Director {} added to movie {}", directorName, movieTitle);
+        metrics.timeOperation("addDirector", () -> {
+            writeUnbuffered(() -> connector.executeWrite(ADD_DIRECTOR,
+                    new Relationship(directorName, movieTitle, Relationship.Type.DIRECTED)));
+            if (adjacencyCache != null) {
+                adjacencyCache.invalidateRelationship(Relationship.Type.DIRECTED, movieTitle, directorName);
+            }
+            log.debug("Director {} added to movie {}", directorName, movieTitle);
+        });
     }
 
     public List<Person> getActorsInMovie(String movieTitle) {
-        String query = "MATCH (a:Person)-[:ACTED_IN]->(m:Movie {title: $movieTitle}) RETURN a.name as name, a.birthYear as birthYear, a.nationality as nationality";
-        Map<String, Object> params = new HashMap<>();
-        params.put("movieTitle", movieTitle);
-        
-        try (var session = connector.getSession()) {
-            return session.readTransaction(tx -> {
-                Result result = tx.run(query, params);
-                List<Person> actors = new ArrayList<>();
-                while (result.hasNext()) {
-                    Record record = result.next();
-                    Person person = new Person();
-                    person.setName(record.get("name").asString());
-                    var birthYearValue = record.get("birthYear");
-                    person.setBirthYear(birthYearValue.isNull() ? null : birthYearValue.asInt());
-                    var nationalityValue = record.get("nationality");
-                    person.setNationality(nationalityValue.isNull() ? null : nationalityValue.asString());
-                    actors.add(person);
-                }
-                return actors;
-            });
-        }
+        return metrics.timeOperation("getActorsInMovie", () -> getCast(Relationship.Type.ACTED_IN, GET_ACTORS_IN_MOVIE, movieTitle));
     }
 
     public List<Person> getDirectorsOfMovie(String movieTitle) {
-        String query = "MATCH (d:Person)-[:DIRECTED]->(m:Movie {title: $movieTitle}) RETURN d.name as name, d.birthYear as birthYear, d.nationality as nationality";
-        Map<String, Object> params = new HashMap<>();
-        params.put("movieTitle", movieTitle);
-        
-        try (var session = connector.getSession()) {
-            return session.readTransaction(tx -> {
-                Result result = tx.run(query, params);
-                List<Person> directors = new ArrayList<>();
-                while (result.hasNext()) {
-                    Record record = result.next();
-                    Person person = new Person();
-                    person.setName(record.get("name").asString());
-                    var birthYearValue = record.get("birthYear");
-                    person.setBirthYear(birthYearValue.isNull() ? null : birthYearValue.asInt());
-                    var nationalityValue = record.get("nationality");
-                    person.setNationality(nationalityValue.isNull() ? null : nationalityValue.asString());
-                    directors.add(person);
+        return metrics.timeOperation("getDirectorsOfMovie", () -> getCast(Relationship.Type.DIRECTED, GET_DIRECTORS_OF_MOVIE, movieTitle));
+    }
+
+    /**
+     * Loads a movie with its actors and directors in one query, or null if there is no such
+     * movie.
+     */
+    public MovieDetails getMovieDetails(String title) {
+        return metrics.timeOperation("getMovieDetails", () -> {
+            List<MovieDetails> details = connector.executeRead(GET_MOVIE_DETAILS, title, MovieQueries.DETAILS_MAPPER);
+            return details.isEmpty() ? null : details.get(0);
+        });
+    }
+
+    /**
+     * Loads several movies with their casts in one query, in the order of the titles given.
+     * Titles with no movie are skipped.
+     */
+    public List<MovieDetails> getMovieDetails(Collection<String> titles) {
+        return metrics.timeOperation("getMovieDetailsBatch", () -> {
+            List<String> distinct = List.copyOf(new LinkedHashSet<>(titles));
+            if (distinct.isEmpty()) {
+                return List.of();
+            }
+            Map<String, MovieDetails> byTitle = new HashMap<>();
+            for (MovieDetails details : connector.executeRead(GET_MOVIES_DETAILS, distinct, MovieQueries.DETAILS_MAPPER)) {
+                byTitle.put(details.getMovie().getTitle(), details);
+            }
+            List<MovieDetails> result = new ArrayList<>(byTitle.size());
+            for (String title : distinct) {
+                MovieDetails details = byTitle.get(title);
+                if (details != null) {
+                    result.add(details);
                 }
-                return directors;
-            });
-        }
+            }
+            return result;
+        });
     }
 
     public List<Movie> getMoviesByActor(String actorName) {
-        String query = "MATCH (a:Person {name: $actorName})-[:ACTED_IN]->(m:Movie) RETURN m.title as title, m.year as year, m.genre as genre, m.description as description";
-        Map<String, Object> params = new HashMap<>();
-        params.put("actorName", actorName);
-        
-        try (var session = connector.getSession()) {
-            return session.readTransaction(tx -> {
-                Result result = tx.run(query, params);
-                List<Movie> movies = new ArrayList<>();
-                while (result.hasNext()) {
-                    Record record = result.next();
-                    Movie movie = new Movie();
-                    movie.setTitle(record.get("title").asString());
-                    var yearValue = record.get("year");
-                    movie.setYear(yearValue.isNull() ? null : yearValue.asInt());
-                    var genreValue = record.get("genre");
-                    movie.setGenre(genreValue.isNull() ? null : genreValue.asString());
-                    var descriptionValue = record.get("description");
-                    movie.setDescription(descriptionValue.isNull() ? null : descriptionValue.asString());
-                    movies.add(movie);
-                }
-                return movies;
-            });
-        }
+        return metrics.timeOperation("getMoviesByActor", () -> getFilmography(Relationship.Type.ACTED_IN, GET_MOVIES_BY_ACTOR, actorName));
     }
 
     public List<Movie> getMoviesByDirector(String directorName) {
-        String query = "MATCH (d:Person {name: $directorName})-[:DIRECTED]->(m:Movie) RETURN m.title as title, m.year as year, m.genre as genre, m.description as description";
-        Map<String, Object> params = new HashMap<>();
-        params.put("directorName", directorName);
-        
-        try (var session = connector.getSession()) {
-            return session.readTransaction(tx -> {
-                Result result = tx.run(query, params);
-                List<Movie> movies = new ArrayList<>();
-                while (result.hasNext()) {
-                    Record record = result.next();
-                    Movie movie = new Movie();
-                    movie.setTitle(record.get("title").asString());
-                    var yearValue = record.get("year");
-                    movie.setYear(yearValue.isNull() ? null : yearValue.asInt());
-                    var genreValue = record.get("genre");
-                    movie.setGenre(genreValue.isNull() ? null : genreValue.asString());
-                    var descriptionValue = record.get("description");
-                    movie.setDescription(descriptionValue.isNull() ? null : descriptionValue.asString());
-                    movies.add(movie);
-                }
-                return movies;
+        return metrics.timeOperation("getMoviesByDirector", () -> getFilmography(Relationship.Type.DIRECTED, GET_MOVIES_BY_DIRECTOR, directorName));
+    }
+
+    public List<Movie> getMoviesByActor(String actorName, Set<MovieField> fields) {
+        return metrics.timeOperation("getMoviesByActor",
+                () -> getFilmography(Relationship.Type.ACTED_IN, MOVIES_BY_ACTOR, actorName, fields));
+    }
+
+    public List<Movie> getMoviesByDirector(String directorName, Set<MovieField> fields) {
+        return metrics.timeOperation("getMoviesByDirector",
+                () -> getFilmography(Relationship.Type.DIRECTED, MOVIES_BY_DIRECTOR, directorName, fields));
+    }
+
+    private List<Person> getCast(Relationship.Type type, QueryDefinition<String> query, String movieTitle) {
+        if (adjacencyCache == null) {
+            return connector.executeRead(query, movieTitle, MovieQueries.PERSON_MAPPER);
+        }
+        List<String> cached = adjacencyCache.getCast(type, movieTitle);
+        if (cached != null) {
+            return resolve(cached, personCache, this::loadPersons, Neo4jMovieService::copyOf);
+        }
+        long stamp = adjacencyCache.stamp();
+        List<Person> persons = connector.executeRead(query, movieTitle, MovieQueries.PERSON_MAPPER);
+        List<String> names = cacheLoaded(persons, Person::getName, personCache, stamp, Neo4jMovieService::copyOf);
+        adjacencyCache.putCast(type, movieTitle, names, stamp);
+        return persons;
+    }
+
+    private List<Movie> getFilmography(Relationship.Type type, QueryDefinition<String> query, String personName) {
+        if (adjacencyCache == null) {
+            return connector.executeRead(query, personName, MovieQueries.MOVIE_MAPPER);
+        }
+        List<String> cached = adjacencyCache.getFilmography(type, personName);
+        if (cached != null) {
+            return resolve(cached, movieCache, this::loadMovies, Neo4jMovieService::copyOf);
+        }
+        long stamp = adjacencyCache.stamp();
+        List<Movie> movies = connector.executeRead(query, personName, MovieQueries.MOVIE_MAPPER);
+        List<String> titles = cacheLoaded(movies, Movie::getTitle, movieCache, stamp, Neo4jMovieService::copyOf);
+        adjacencyCache.putFilmography(type, personName, titles, stamp);
+        return movies;
+    }
+
+    // Rows read for an adjacency list also fill the entity cache. Every write bumps the adjacency
+    // stamp before it invalidates the entity cache, so if the stamp is unchanged once the entity
+    // stamps are taken, no write raced the read and any later one drops or removes the put
+    private <V> List<String> cacheLoaded(List<V> values, Function<V, String> keyOf, EntityCache<String, V> cache,
+                                         long adjacencyStamp, Function<V, V> copy) {
+        List<String> keys = new ArrayList<>(values.size());
+        long[] stamps = new long[values.size()];
+        for (int i = 0; i < stamps.length; i++) {
+            keys.add(keyOf.apply(values.get(i)));
+            stamps[i] = cache.stamp(keys.get(i));
+        }
+        if (adjacencyCache.stamp() == adjacencyStamp) {
+            for (int i = 0; i < stamps.length; i++) {
+                cache.put(keys.get(i), copy.apply(values.get(i)), stamps[i]);
+            }
+        }
+        return keys;
+    }
+
+    // Cached adjacency holds only keys: attributes come from the entity cache, and whatever it
+    // misses is read in one query and cached under the stamps taken before the read
+    private static <V> List<V> resolve(List<String> keys, EntityCache<String, V> cache,
+                                       Function<List<String>, Map<String, V>> loader, Function<V, V> copy) {
+        Map<String, V> found = new HashMap<>();
+        Map<String, Long> stamps = new LinkedHashMap<>();
+        for (String key : keys) {
+            V cached = cache.get(key);
+            if (cached != null) {
+                found.put(key, cached);
+            } else {
+                stamps.putIfAbsent(key, cache.stamp(key));
+            }
+        }
+        if (!stamps.isEmpty()) {
+            loader.apply(new ArrayList<>(stamps.keySet())).forEach((key, value) -> {
+                found.put(key, value);
+                cache.put(key, copy.apply(value), stamps.get(key));
             });
         }
+        List<V> values = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            V value = found.get(key);
+            // A node deleted since the list was cached is skipped
+            if (value != null) {
+                values.add(copy.apply(value));
+            }
+        }
+        return values;
+    }
+
+    // A cached full filmography is projected locally; a miss reads only the requested columns
+    private List<Movie> getFilmography(Relationship.Type type, MovieProjection<String> query, String personName,
+                                       Set<MovieField> fields) {
+        List<String> titles = adjacencyCache == null ? null : adjacencyCache.getFilmography(type, personName);
+        if (titles == null) {
+            return connector.executeRead(query.select(fields), personName, MovieQueries.MOVIE_MAPPER);
+        }
+        List<Movie> cached = resolve(titles, movieCache, this::loadMovies, Neo4jMovieService::copyOf);
+        List<Movie> movies = new ArrayList<>(cached.size());
+        for (Movie movie : cached) {
+            movies.add(new Movie(movie.getTitle(), fields.contains(MovieField.YEAR) ? movie.getYear() : null,
+                    fields.contains(MovieField.GENRE) ? movie.getGenre() : null,
+                    fields.contains(MovieField.DESCRIPTION) ? movie.getDescription() : null));
+        }
+        return movies;
+    }
+
+    /**
+     * Lists movies in title order, one page at a time. Pass null for the first page and the
+     * previous page's {@link Page#getNextPageToken()} after that. Each page is an index seek from
+     * the last position, so deep pages cost the same as the first.
+     */
+    public Page<Movie> listMovies(String pageToken, int limit) {
+        return metrics.timeOperation("listMovies", () -> page(LIST_MOVIES, "movies", null, pageToken, limit, MOVIE_MAPPER, Movie::getTitle));
+    }
+
+    public Page<Movie> listMovies(String pageToken, int limit, Set<MovieField> fields) {
+        return metrics.timeOperation("listMovies",
+                () -> page(MOVIE_PAGES.select(fields), "movies", null, pageToken, limit, MOVIE_MAPPER, Movie::getTitle));
+    }
+
+    public Page<Person> listPersons(String pageToken, int limit) {
+        return metrics.timeOperation("listPersons", () -> page(LIST_PERSONS, "persons", null, pageToken, limit, PERSON_MAPPER, Person::getName));
+    }
+
+    public Page<Person> listActorsInMovie(String movieTitle, String pageToken, int limit) {
+        return metrics.timeOperation("listActorsInMovie",
+                () -> page(LIST_ACTORS_IN_MOVIE, "actors", movieTitle, pageToken, limit, PERSON_MAPPER, Person::getName));
+    }
+
+    public Page<Person> listDirectorsOfMovie(String movieTitle, String pageToken, int limit) {
+        return metrics.timeOperation("listDirectorsOfMovie",
+                () -> page(LIST_DIRECTORS_OF_MOVIE, "directors", movieTitle, pageToken, limit, PERSON_MAPPER, Person::getName));
+    }
+
+    public Page<Movie> listMoviesByActor(String actorName, String pageToken, int limit) {
+        return metrics.timeOperation("listMoviesByActor",
+                () -> page(LIST_MOVIES_BY_ACTOR, "actedIn", actorName, pageToken, limit, MOVIE_MAPPER, Movie::getTitle));
+    }
+
+    public Page<Movie> listMoviesByDirector(String directorName, String pageToken, int limit) {
+        return metrics.timeOperation("listMoviesByDirector",
+                () -> page(LIST_MOVIES_BY_DIRECTOR, "directed", directorName, pageToken, limit, MOVIE_MAPPER, Movie::getTitle));
+    }
+
+    public Page<Movie> listMoviesByActor(String actorName, String pageToken, int limit, Set<MovieField> fields) {
+        return metrics.timeOperation("listMoviesByActor",
+                () -> page(ACTED_IN_PAGES.select(fields), "actedIn", actorName, pageToken, limit, MOVIE_MAPPER, Movie::getTitle));
+    }
+
+    public Page<Movie> listMoviesByDirector(String directorName, String pageToken, int limit, Set<MovieField> fields) {
+        return metrics.timeOperation("listMoviesByDirector",
+                () -> page(DIRECTED_PAGES.select(fields), "directed", directorName, pageToken, limit, MOVIE_MAPPER, Movie::getTitle));
+    }
+
+    // Fetches one row past the page; that row's key starts the next page
+    private <T> Page<T> page(QueryDefinition<PageQuery> query, String listing, String key, String pageToken, int limit,
+                             Function<Record, T> mapper, Function<T, String> sortKey) {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE + ": " + limit);
+        }
+        String from = pageToken == null ? "" : PageTokens.decode(listing, key, pageToken);
+        List<T> rows = connector.executeRead(query, new PageQuery(key, from, limit + 1), mapper);
+        if (rows.size() <= limit) {
+            return new Page<>(rows, null);
+        }
+        return new Page<>(List.copyOf(rows.subList(0, limit)), PageTokens.encode(listing, key, sortKey.apply(rows.get(limit))));
+    }
+
+    /**
+     * Streams all movies ordered by title. Records are pulled from the server in fetch-size
+     * chunks as the stream is consumed; the stream must be closed to release the session. The
+     * operation is timed until the stream is closed.
+     */
+    public Stream<Movie> streamAllMovies() {
+        return metrics.timeStream("streamAllMovies", () -> streamMovies(GET_ALL_MOVIES, null));
+    }
+
+    public Stream<Movie> streamMoviesByActor(String actorName) {
+        return metrics.timeStream("streamMoviesByActor", () -> streamMovies(GET_MOVIES_BY_ACTOR, actorName));
+    }
+
+    public Stream<Movie> streamMoviesByDirector(String directorName) {
+        return metrics.timeStream("streamMoviesByDirector", () -> streamMovies(GET_MOVIES_BY_DIRECTOR, directorName));
+    }
+
+    public void forEachMovie(Consumer<Movie> consumer) {
+        metrics.timeOperation("forEachMovie", () -> {
+            try (Stream<Movie> movies = streamMovies(GET_ALL_MOVIES, null)) {
+                movies.forEach(consumer);
+            }
+        });
+    }
+
+    private <P> Stream<Movie> streamMovies(QueryDefinition<P> query, P source) {
+        return connector.openCursor(query, source, MovieQueries.MOVIE_MAPPER, fetchSize).stream();
+    }
+
+    // Cached entities are mutable beans, so callers only ever see copies
+    private static Movie copyOf(Movie movie) {
+        return new Movie(movie.getTitle(), movie.getYear(), movie.getGenre(), movie.getDescription());
+    }
+
+    private static Person copyOf(Person person) {
+        return new Person(person.getName(), person.getBirthYear(), person.getNationality());
     }
-}
\ No newline at end of file
+}
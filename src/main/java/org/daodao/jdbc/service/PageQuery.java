@@ -0,0 +1,8 @@
+package org.daodao.jdbc.service;
+
+/**
+ * One keyset page request: the listing's scope key (a movie title or person name, null for
+ * top-level listings), the first sort key to return and the number of rows to fetch.
+ */
+record PageQuery(String key, String from, int limit) {
+}
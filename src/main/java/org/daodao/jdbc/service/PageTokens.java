@@ -0,0 +1,38 @@
+package org.daodao.jdbc.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Encodes the first sort key of the next page as an opaque, URL-safe token. The token also
+ * carries the listing it came from, so it cannot be replayed against a different listing.
+ */
+final class PageTokens {
+    private static final String VERSION = "1";
+    private static final char SEPARATOR = '\u0000';
+
+    private PageTokens() {
+    }
+
+    static String encode(String listing, String key, String from) {
+        String token = VERSION + SEPARATOR + listing + SEPARATOR + (key == null ? "" : key) + SEPARATOR + from;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String decode(String listing, String key, String token) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(String.valueOf(SEPARATOR), 4);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed page token", e);
+        }
+        if (parts.length != 4 || !VERSION.equals(parts[0])) {
+            throw new IllegalArgumentException("Malformed page token");
+        }
+        if (!parts[1].equals(listing) || !parts[2].equals(Objects.requireNonNullElse(key, ""))) {
+            throw new IllegalArgumentException("Page token belongs to a different listing");
+        }
+        return parts[3];
+    }
+}
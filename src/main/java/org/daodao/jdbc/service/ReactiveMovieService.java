@@ -0,0 +1,75 @@
+package org.daodao.jdbc.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.daodao.jdbc.connectors.ReactiveNeo4jConnector;
+import org.daodao.jdbc.model.Movie;
+import org.daodao.jdbc.model.Person;
+import org.daodao.jdbc.model.Relationship;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.daodao.jdbc.service.MovieQueries.*;
+
+public class ReactiveMovieService {
+    private static final Logger log = LoggerFactory.getLogger(ReactiveMovieService.class);
+    private final ReactiveNeo4jConnector connector;
+
+    public ReactiveMovieService(ReactiveNeo4jConnector connector) {
+        this.connector = connector;
+    }
+
+    public Mono<Void> createMovie(Movie movie) {
+        return connector.executeWrite(CREATE_MOVIE, movie)
+                .doOnSuccess(summary -> log.debug("Movie created: {}", movie.getTitle()))
+                .then();
+    }
+
+    public Mono<Movie> getMovie(String title) {
+        return connector.executeRead(GET_MOVIE, title, MovieQueries.MOVIE_MAPPER).next();
+    }
+
+    public Flux<Movie> getAllMovies() {
+        return connector.executeRead(GET_ALL_MOVIES, null, MovieQueries.MOVIE_MAPPER);
+    }
+
+    public Mono<Void> updateMovie(String title, Movie updatedMovie) {
+        return connector.executeWrite(UPDATE_MOVIE, new Movie(title, updatedMovie.getYear(), updatedMovie.getGenre(), updatedMovie.getDescription()))
+                .doOnSuccess(summary -> log.debug("Movie updated: {}", title))
+                .then();
+    }
+
+    public Mono<Void> deleteMovie(String title) {
+        return connector.executeWrite(DELETE_MOVIE, title)
+                .doOnSuccess(summary -> log.debug("Movie deleted: {}", title))
+                .then();
+    }
+
+    public Mono<Void> addActor(String movieTitle, String actorName) {
+        return connector.executeWrite(ADD_ACTOR, new Relationship(actorName, movieTitle, Relationship.Type.ACTED_IN))
+                .doOnSuccess(summary -> log.debug("Actor {} added to movie {}", actorName, movieTitle))
+                .then();
+    }
+
+    public Mono<Void> addDirector(String movieTitle, String directorName) {
+        return connector.executeWrite(ADD_DIRECTOR, new Relationship(directorName, movieTitle, Relationship.Type.DIRECTED))
+                .doOnSuccess(summary -> log.debug("Director {} added to movie {}", directorName, movieTitle))
+                .then();
+    }
+
+    public Flux<Person> getActorsInMovie(String movieTitle) {
+        return connector.executeRead(GET_ACTORS_IN_MOVIE, movieTitle, MovieQueries.PERSON_MAPPER);
+    }
+
+    public Flux<Person> getDirectorsOfMovie(String movieTitle) {
+        return connector.executeRead(GET_DIRECTORS_OF_MOVIE, movieTitle, MovieQueries.PERSON_MAPPER);
+    }
+
+    public Flux<Movie> getMoviesByActor(String actorName) {
+        return connector.executeRead(GET_MOVIES_BY_ACTOR, actorName, MovieQueries.MOVIE_MAPPER);
+    }
+
+    public Flux<Movie> getMoviesByDirector(String directorName) {
+        return connector.executeRead(GET_MOVIES_BY_DIRECTOR, directorName, MovieQueries.MOVIE_MAPPER);
+    }
+}
@@ -0,0 +1,477 @@
+package org.daodao.jdbc.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.model.Movie;
+import org.daodao.jdbc.model.Relationship;
+import org.daodao.jdbc.queries.QueryDefinition;
+import org.neo4j.driver.Value;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Buffers createMovie, updateMovie and addActor mutations in memory and writes them as UNWIND
+ * batches. Mutations are keyed by movie title (or title and actor), so repeated writes to one
+ * key collapse into its last state: an update after a create stays a MERGE with the new values,
+ * an update on its own stays a MATCH. The buffer flushes once {@code maxPending} keys are
+ * buffered (on the calling thread, which back-pressures writers) and every flush interval.
+ *
+ * <p>With a journal, each mutation is appended to the file before it is buffered and the file
+ * is compacted after every successful flush; mutations left in it by a crash are replayed on
+ * the next start. Appends reach the disk when the journal is forced, every
+ * {@code journalSyncMs} or after each append when that is 0, so a process crash loses nothing
+ * but a host crash can lose the mutations of the last sync interval. Compacted journals are
+ * forced before they replace the old file. A failed flush keeps its mutations buffered under
+ * any newer ones.
+ */
+class WriteBehindBuffer implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindBuffer.class);
+
+    /**
+     * Called after a successful flush with the movies and relationships that were written.
+     */
+    interface FlushListener {
+        void flushed(Collection<Movie> movies, Collection<Relationship> actedIn);
+    }
+
+    private final Neo4jConnector connector;
+    private final int maxPending;
+    private final int batchSize;
+    private final Path journal;
+    private final long journalSyncMs;
+    private final FlushListener listener;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ScheduledExecutorService scheduler;
+
+    // Guarded by this
+    private Map<String, Movie> upserts = new LinkedHashMap<>();
+    private Map<String, Movie> updates = new LinkedHashMap<>();
+    private Map<String, Relationship> actedIn = new LinkedHashMap<>();
+    private FileChannel journalChannel;
+    private boolean journalDirty;
+    private long mutations;
+    private long flushedRows;
+    private boolean closed;
+
+    private record Snapshot(Map<String, Movie> upserts, Map<String, Movie> updates,
+                            Map<String, Relationship> actedIn, long journalPosition) {
+        int size() {
+            return upserts.size() + updates.size() + actedIn.size();
+        }
+    }
+
+    WriteBehindBuffer(Neo4jConnector connector, int maxPending, long flushIntervalMs, Path journal, long journalSyncMs,
+                      FlushListener listener) {
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("Max pending must be positive: " + maxPending);
+        }
+        if (flushIntervalMs <= 0) {
+            throw new IllegalArgumentException("Flush interval must be positive: " + flushIntervalMs);
+        }
+        if (journalSyncMs < 0) {
+            throw new IllegalArgumentException("Journal sync interval must not be negative: " + journalSyncMs);
+        }
+        this.connector = connector;
+        this.maxPending = maxPending;
+        this.batchSize = Math.min(maxPending, Neo4jBulkLoader.DEFAULT_BATCH_SIZE);
+        this.journal = journal;
+        this.journalSyncMs = journalSyncMs;
+        this.listener = listener;
+        if (journal != null) {
+            openJournal();
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("write-behind-flush").factory());
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (journal != null && journalSyncMs > 0) {
+            scheduler.scheduleWithFixedDelay(this::syncJournal, journalSyncMs, journalSyncMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void createMovie(Movie movie) {
+        enqueue(() -> {
+            appendJournal("create", movie);
+            applyCreate(copyOf(movie));
+        });
+    }
+
+    void updateMovie(Movie movie) {
+        enqueue(() -> {
+            appendJournal("update", movie);
+            applyUpdate(copyOf(movie));
+        });
+    }
+
+    void addActor(String movieTitle, String actorName) {
+        enqueue(() -> {
+            appendJournal(movieTitle, actorName);
+            applyActedIn(new Relationship(actorName, movieTitle, Relationship.Type.ACTED_IN));
+        });
+    }
+
+    synchronized int getPendingCount() {
+        return upserts.size() + updates.size() + actedIn.size();
+    }
+
+    synchronized long getMutationCount() {
+        return mutations;
+    }
+
+    synchronized long getFlushedCount() {
+        return flushedRows;
+    }
+
+    private void enqueue(Runnable mutation) {
+        int pending;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Write-behind buffer is closed");
+            }
+            mutation.run();
+            mutations++;
+            pending = getPendingCount();
+        }
+        if (pending >= maxPending) {
+            flush();
+        }
+    }
+
+    private void applyCreate(Movie movie) {
+        updates.remove(movie.getTitle());
+        upserts.put(movie.getTitle(), movie);
+    }
+
+    // An update to a movie created in the same window folds into its MERGE
+    private void applyUpdate(Movie movie) {
+        if (upserts.containsKey(movie.getTitle())) {
+            upserts.put(movie.getTitle(), movie);
+        } else {
+            updates.put(movie.getTitle(), movie);
+        }
+    }
+
+    private void applyActedIn(Relationship relationship) {
+        actedIn.putIfAbsent(relationship.getMovieTitle() + '\u0000' + relationship.getPersonName(), relationship);
+    }
+
+    /**
+     * Writes everything buffered so far. Throws if the write fails; the mutations then stay
+     * buffered (and journaled) for the next flush.
+     */
+    void flush() {
+        flushLock.lock();
+        try {
+            Snapshot snapshot;
+            synchronized (this) {
+                if (getPendingCount() == 0) {
+                    return;
+                }
+                snapshot = new Snapshot(upserts, updates, actedIn, journalPosition());
+                upserts = new LinkedHashMap<>();
+                updates = new LinkedHashMap<>();
+                actedIn = new LinkedHashMap<>();
+            }
+            long start = System.nanoTime();
+            try {
+                // Movies first, so relationships to movies created in this window can MATCH them
+                write(MovieQueries.MERGE_MOVIES, snapshot.upserts().values(), MovieQueries::movieRow);
+                write(MovieQueries.UPDATE_MOVIES, snapshot.updates().values(), MovieQueries::movieRow);
+                write(MovieQueries.MERGE_ACTED_IN, snapshot.actedIn().values(), MovieQueries::relationshipRow);
+            } catch (RuntimeException e) {
+                restore(snapshot);
+                throw e;
+            }
+            synchronized (this) {
+                flushedRows += snapshot.size();
+                compactJournal(snapshot.journalPosition());
+            }
+            List<Movie> movies = new ArrayList<>(snapshot.upserts().values());
+            movies.addAll(snapshot.updates().values());
+            listener.flushed(movies, snapshot.actedIn().values());
+            log.debug("Flushed {} buffered mutations in {} ms", snapshot.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Flushes, then runs a write that bypasses the buffer while still holding the flush lock, so
+     * no buffered mutation issued before the write can land after it.
+     */
+    void flushThen(Runnable write) {
+        flushLock.lock();
+        try {
+            flush();
+            write.run();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Write-behind flush of {} mutations failed, retrying next interval: {}", getPendingCount(), e.getMessage());
+        }
+    }
+
+    private <T> void write(QueryDefinition<List<Value>> query, Collection<T> items, Function<T, Value> row) {
+        List<Value> rows = new ArrayList<>(Math.min(items.size(), batchSize));
+        for (T item : items) {
+            rows.add(row.apply(item));
+            if (rows.size() == batchSize) {
+                connector.executeWrite(query, rows);
+                rows = new ArrayList<>(batchSize);
+            }
+        }
+        if (!rows.isEmpty()) {
+            connector.executeWrite(query, rows);
+        }
+    }
+
+    // Mutations that arrived during the failed flush are newer, so they are replayed on top
+    private synchronized void restore(Snapshot snapshot) {
+        Map<String, Movie> newerUpserts = upserts;
+        Map<String, Movie> newerUpdates = updates;
+        Map<String, Relationship> newerActedIn = actedIn;
+        upserts = snapshot.upserts();
+        updates = snapshot.updates();
+        actedIn = snapshot.actedIn();
+        newerUpserts.values().forEach(this::applyCreate);
+        newerUpdates.values().forEach(this::applyUpdate);
+        newerActedIn.values().forEach(this::applyActedIn);
+    }
+
+    /**
+     * Stops the flush timer and writes what is left. Mutations after close are rejected; if the
+     * final flush fails they stay in the journal, if there is one.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            flush();
+        } finally {
+            closeJournal();
+        }
+        log.info("Write-behind buffer closed: {} mutations written as {} rows", getMutationCount(), getFlushedCount());
+    }
+
+    private static Movie copyOf(Movie movie) {
+        return new Movie(movie.getTitle(), movie.getYear(), movie.getGenre(), movie.getDescription());
+    }
+
+    // Journal: one flat JSON object per mutation, readable by CatalogueFileReader
+
+    private void openJournal() {
+        try {
+            if (Files.exists(journal)) {
+                int recovered = replayJournal();
+                if (recovered > 0) {
+                    log.warn("Recovered {} unflushed mutations from {}", recovered, journal);
+                }
+            }
+            // Rewrite the journal from the recovered state, which also drops a torn last line
+            Path temporary = journal.resolveSibling(journal.getFileName() + ".tmp");
+            StringBuilder lines = new StringBuilder();
+            upserts.values().forEach(movie -> lines.append(journalLine("create", movie)));
+            updates.values().forEach(movie -> lines.append(journalLine("update", movie)));
+            actedIn.values().forEach(r -> lines.append(journalLine(r.getMovieTitle(), r.getPersonName())));
+            Files.writeString(temporary, lines, StandardCharsets.UTF_8);
+            try (FileChannel written = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                written.force(false);
+            }
+            Files.move(temporary, journal, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            journalChannel = FileChannel.open(journal, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open write-behind journal " + journal, e);
+        }
+    }
+
+    private int replayJournal() throws IOException {
+        int recovered = 0;
+        try (CatalogueFileReader reader = new CatalogueFileReader(journal, ExportFormat.NDJSON)) {
+            while (reader.hasNext()) {
+                Map<String, Object> entry = reader.next();
+                String op = (String) entry.get("op");
+                if ("actedIn".equals(op)) {
+                    applyActedIn(new Relationship((String) entry.get("personName"), (String) entry.get("movieTitle"),
+                            Relationship.Type.ACTED_IN));
+                } else {
+                    Number year = (Number) entry.get("year");
+                    Movie movie = new Movie((String) entry.get("title"), year == null ? null : year.intValue(),
+                            (String) entry.get("genre"), (String) entry.get("description"));
+                    if ("create".equals(op)) {
+                        applyCreate(movie);
+                    } else {
+                        applyUpdate(movie);
+                    }
+                }
+                recovered++;
+            }
+        } catch (UncheckedIOException e) {
+            log.warn("Write-behind journal {} ends in an unreadable entry, replayed {} before it: {}",
+                    journal, recovered, e.getCause().getMessage());
+        }
+        return recovered;
+    }
+
+    private void appendJournal(String op, Movie movie) {
+        if (journalChannel != null) {
+            writeJournal(journalLine(op, movie));
+        }
+    }
+
+    private void appendJournal(String movieTitle, String actorName) {
+        if (journalChannel != null) {
+            writeJournal(journalLine(movieTitle, actorName));
+        }
+    }
+
+    private void writeJournal(String line) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                journalChannel.write(buffer);
+            }
+            if (journalSyncMs == 0) {
+                journalChannel.force(false);
+            } else {
+                journalDirty = true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to write-behind journal " + journal, e);
+        }
+    }
+
+    // Forced outside the monitor so appends are not held up by the disk; a channel closed in the
+    // meantime was replaced by a compacted journal that was forced before the swap
+    private void syncJournal() {
+        FileChannel channel;
+        synchronized (this) {
+            if (!journalDirty || journalChannel == null) {
+                return;
+            }
+            channel = journalChannel;
+            journalDirty = false;
+        }
+        try {
+            channel.force(false);
+        } catch (ClosedChannelException e) {
+            // Compacted or closed while syncing
+        } catch (IOException e) {
+            synchronized (this) {
+                journalDirty = true;
+            }
+            log.warn("Failed to sync write-behind journal {}: {}", journal, e.getMessage());
+        }
+    }
+
+    private long journalPosition() {
+        try {
+            return journalChannel == null ? 0 : journalChannel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Drops the entries up to position, keeping those appended while the flush ran
+    private void compactJournal(long position) {
+        if (journalChannel == null) {
+            return;
+        }
+        Path temporary = journal.resolveSibling(journal.getFileName() + ".tmp");
+        try {
+            try (FileChannel target = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 FileChannel source = FileChannel.open(journal, StandardOpenOption.READ)) {
+                long end = source.size();
+                for (long copied = position; copied < end; ) {
+                    copied += source.transferTo(copied, end - copied, target);
+                }
+                target.force(false);
+            }
+            journalChannel.close();
+            Files.move(temporary, journal, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            journalChannel = FileChannel.open(journal, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            journalDirty = false;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot compact write-behind journal " + journal, e);
+        }
+    }
+
+    private synchronized void closeJournal() {
+        if (journalChannel == null) {
+            return;
+        }
+        try {
+            boolean empty = journalChannel.size() == 0;
+            journalChannel.force(false);
+            journalChannel.close();
+            journalChannel = null;
+            if (empty) {
+                Files.deleteIfExists(journal);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to close write-behind journal {}: {}", journal, e.getMessage());
+        }
+    }
+
+    private static String journalLine(String op, Movie movie) {
+        StringBuilder line = new StringBuilder("{\"op\":\"").append(op).append("\",\"title\":");
+        ExportFormat.appendJsonString(line, movie.getTitle());
+        line.append(",\"year\":").append(movie.getYear()).append(",\"genre\":");
+        appendNullable(line, movie.getGenre());
+        line.append(",\"description\":");
+        appendNullable(line, movie.getDescription());
+        return line.append("}\n").toString();
+    }
+
+    private static String journalLine(String movieTitle, String actorName) {
+        StringBuilder line = new StringBuilder("{\"op\":\"actedIn\",\"movieTitle\":");
+        ExportFormat.appendJsonString(line, movieTitle);
+        line.append(",\"personName\":");
+        ExportFormat.appendJsonString(line, actorName);
+        return line.append("}\n").toString();
+    }
+
+    private static void appendNullable(StringBuilder line, String text) {
+        if (text == null) {
+            line.append("null");
+        } else {
+            ExportFormat.appendJsonString(line, text);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package org.daodao.jdbc.neo4j;
+
+import org.daodao.jdbc.cache.AdjacencyCache;
+import org.daodao.jdbc.cache.EntityCache;
+import org.daodao.jdbc.cache.LocalEntityCache;
+import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.model.Movie;
+import org.daodao.jdbc.model.Person;
+import org.daodao.jdbc.model.Relationship;
+import org.daodao.jdbc.service.Neo4jMovieService;
+import org.daodao.jdbc.support.FakeBoltServer;
+import org.daodao.jdbc.support.ScriptedResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Adjacency Cache Test Cases
+ * Verifies cast/filmography caching, precise invalidation, per-list eviction and that the
+ * service resolves cached lists through the entity caches. Runs without a database.
+ */
+class AdjacencyCacheTest {
+
+    @Test
+    @DisplayName("Test Cast Round Trip")
+    void testCastRoundTrip() {
+        AdjacencyCache cache = new AdjacencyCache(10);
+        assertNull(cache.getCast(Relationship.Type.ACTED_IN, "The Matrix"));
+
+        cache.putCast(Relationship.Type.ACTED_IN, "The Matrix", List.of("Keanu Reeves", "Carrie-Anne Moss"), cache.stamp());
+
+        assertEquals(List.of("Keanu Reeves", "Carrie-Anne Moss"), cache.getCast(Relationship.Type.ACTED_IN, "The Matrix"));
+        assertNull(cache.getCast(Relationship.Type.DIRECTED, "The Matrix"));
+    }
+
+    @Test
+    @DisplayName("Test Stale Load Is Discarded")
+    void testStaleLoadDiscarded() {
+        AdjacencyCache cache = new AdjacencyCache(10);
+        long stamp = cache.stamp();
+        cache.invalidateRelationship(Relationship.Type.ACTED_IN, "The Matrix", "Keanu Reeves");
+        cache.putCast(Relationship.Type.ACTED_IN, "The Matrix", List.of("Keanu Reeves"), stamp);
+
+        assertNull(cache.getCast(Relationship.Type.ACTED_IN, "The Matrix"));
+    }
+
+    @Test
+    @DisplayName("Test Movie Deletion Invalidates Filmographies")
+    void testInvalidateMovie() {
+        AdjacencyCache cache = new AdjacencyCache(10);
+        cache.putFilmography(Relationship.Type.ACTED_IN, "Keanu Reeves", List.of("The Matrix", "John Wick"), cache.stamp());
+        cache.putFilmography(Relationship.Type.ACTED_IN, "Ian McShane", List.of("John Wick"), cache.stamp());
+
+        cache.invalidateMovie("The Matrix");
+
+        assertNull(cache.getFilmography(Relationship.Type.ACTED_IN, "Keanu Reeves"));
+        assertEquals(List.of("John Wick"), cache.getFilmography(Relationship.Type.ACTED_IN, "Ian McShane"));
+    }
+
+    @Test
+    @DisplayName("Test Least Recently Used List Is Evicted")
+    void testEviction() {
+        AdjacencyCache cache = new AdjacencyCache(2);
+        cache.putCast(Relationship.Type.ACTED_IN, "A", List.of(), cache.stamp());
+        cache.putCast(Relationship.Type.ACTED_IN, "B", List.of(), cache.stamp());
+        assertNotNull(cache.getCast(Relationship.Type.ACTED_IN, "A"));
+        cache.putCast(Relationship.Type.ACTED_IN, "C", List.of(), cache.stamp());
+
+        assertNull(cache.getCast(Relationship.Type.ACTED_IN, "B"));
+        assertNotNull(cache.getCast(Relationship.Type.ACTED_IN, "A"));
+        assertEquals(1, cache.stats().getEvictions());
+        assertEquals(2, cache.stats().getSize());
+    }
+
+    @Test
+    @DisplayName("Test Node Bound Evicts Oldest Lists Instead Of Clearing")
+    void testNodeBoundEviction() {
+        AdjacencyCache cache = new AdjacencyCache(10, 4);
+        cache.putCast(Relationship.Type.ACTED_IN, "The Matrix", List.of("Keanu Reeves", "Carrie-Anne Moss"), cache.stamp());
+        cache.putCast(Relationship.Type.ACTED_IN, "John Wick", List.of("Keanu Reeves", "Ian McShane"), cache.stamp());
+        assertNotNull(cache.getCast(Relationship.Type.ACTED_IN, "The Matrix"));
+
+        // Evicting John Wick releases Ian McShane, which leaves room for both titles
+        cache.putFilmography(Relationship.Type.DIRECTED, "Chad Stahelski", List.of("John Wick", "Speed"), cache.stamp());
+
+        assertNull(cache.getCast(Relationship.Type.ACTED_IN, "John Wick"), "Only the least recently used list is evicted");
+        assertEquals(List.of("Keanu Reeves", "Carrie-Anne Moss"), cache.getCast(Relationship.Type.ACTED_IN, "The Matrix"));
+        assertEquals(List.of("John Wick", "Speed"), cache.getFilmography(Relationship.Type.DIRECTED, "Chad Stahelski"));
+        assertEquals(1, cache.stats().getEvictions());
+        assertEquals(2, cache.stats().getSize());
+    }
+
+    @Test
+    @DisplayName("Test Service Resolves Cached Lists Through The Entity Caches")
+    void testServiceResolvesAttributes() throws IOException {
+        Map<String, Movie> movies = new ConcurrentHashMap<>(Map.of(
+                "The Matrix", new Movie("The Matrix", 1999, "Science Fiction", "Reality"),
+                "John Wick", new Movie("John Wick", 2014, "Action", "Revenge")));
+        try (FakeBoltServer server = new FakeBoltServer()) {
+            server.respondContaining("-[:ACTED_IN]->(m:Movie {title: $movieTitle})", (query, params) -> ScriptedResult.of(
+                    List.of("name", "birthYear", "nationality"), List.of(List.of("Keanu Reeves", 1964L, "Canadian"))));
+            server.respondContaining("(a:Person {name: $actorName})-[:ACTED_IN]->", (query, params) -> ScriptedResult.of(
+                    List.of("title", "year", "genre", "description"), List.of(row(movies.get("The Matrix")), row(movies.get("John Wick")))));
+            server.respondContaining("UNWIND $names", (query, params) -> ScriptedResult.of(
+                    List.of("name", "birthYear", "nationality"), List.of(List.of("Keanu Reeves", 1964L, "Canadian"))));
+            server.respondContaining("UNWIND $titles", (query, params) -> ScriptedResult.of(
+                    List.of("title", "year", "genre", "description"),
+                    ((List<?>) params.get("titles")).stream().map(title -> row(movies.get(title))).toList()));
+            server.respondContaining("SET m.year", (query, params) -> {
+                movies.put("John Wick", new Movie("John Wick", 2014, "Action", "Updated"));
+                return ScriptedResult.empty();
+            });
+
+            Neo4jConnector connector = new Neo4jConnector(server.config());
+            try (Neo4jMovieService movieService = new Neo4jMovieService(connector, 100,
+                    new LocalEntityCache<>(100, Duration.ofMinutes(5)), EntityCache.disabled(), new AdjacencyCache(10))) {
+                movieService.getActorsInMovie("The Matrix");
+                List<Person> cast = movieService.getActorsInMovie("The Matrix");
+                movieService.getActorsInMovie("The Matrix");
+
+                assertEquals(1964, cast.get(0).getBirthYear());
+                assertEquals("Canadian", cast.get(0).getNationality());
+                assertEquals(2, server.getQueries().stream().filter(q -> q.contains("UNWIND $names")).count(),
+                        "Without a person cache each hit reads the attributes in one batch");
+
+                movieService.getMoviesByActor("Keanu Reeves");
+                movieService.updateMovie("John Wick", new Movie("John Wick", 2014, "Action", "Updated"));
+                List<Movie> filmography = movieService.getMoviesByActor("Keanu Reeves");
+
+                assertEquals(List.of("The Matrix", "John Wick"), filmography.stream().map(Movie::getTitle).toList());
+                assertEquals("Updated", filmography.get(1).getDescription());
+                assertEquals(1, server.getQueries().stream().filter(q -> q.contains("{name: $actorName})-[:ACTED_IN]->")).count());
+                assertEquals(1, server.getQueries().stream().filter(q -> q.contains("UNWIND $titles")).count(),
+                        "Only the updated movie is re-read; the other comes from the movie cache");
+            } finally {
+                connector.close();
+            }
+        }
+    }
+
+    private static List<Object> row(Movie movie) {
+        return List.of(movie.getTitle(), (long) movie.getYear(), movie.getGenre(), movie.getDescription());
+    }
+}
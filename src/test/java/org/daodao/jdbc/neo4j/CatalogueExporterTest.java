@@ -0,0 +1,147 @@
+package org.daodao.jdbc.neo4j;
+
+import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.service.CatalogueExporter;
+import org.daodao.jdbc.service.ExportFormat;
+import org.daodao.jdbc.service.ExportResult;
+import org.daodao.jdbc.support.BoltFailureException;
+import org.daodao.jdbc.support.BoltProfile;
+import org.daodao.jdbc.support.FakeBoltServer;
+import org.daodao.jdbc.support.ScriptedResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Catalogue Exporter Test Cases
+ * Verifies range-partitioned parallel export to NDJSON and CSV and resume from a checkpoint
+ * against the Bolt stand-in. Runs without a database.
+ */
+class CatalogueExporterTest {
+
+    private FakeBoltServer server;
+    private Neo4jConnector connector;
+    private volatile List<String> starts = List.of("A", "G", "N");
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeBoltServer(BoltProfile.defaults().withRecordCount(25));
+        server.respondContaining("AS starts", (query, params) -> ScriptedResult.of(List.of("starts"), List.of(List.of(starts))));
+        connector = new Neo4jConnector(server.config());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connector.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Test NDJSON Export Reads Each Range Once")
+    void testNdjsonExport() throws IOException {
+        Path target = directory.resolve("movies.ndjson");
+        ExportResult result = new CatalogueExporter(connector, 2, 3, 10).exportMovies(target, ExportFormat.NDJSON);
+
+        List<String> lines = Files.readAllLines(target);
+        assertEquals(75, result.getRows());
+        assertEquals(3, result.getPartitions());
+        assertFalse(result.isResumed());
+        assertEquals(75, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"title\":\"title 000000\",\"year\":1950,"), lines.get(0));
+        assertEquals(3, server.getQueries().stream().filter(q -> q.contains("m.title >= $from")).count());
+        try (var files = Files.list(directory)) {
+            assertEquals(List.of(target), files.toList(), "Part and checkpoint files must be removed");
+        }
+    }
+
+    @Test
+    @DisplayName("Test Ranges Are Contiguous And Open At Both Ends")
+    void testOpenRanges() throws IOException {
+        Queue<List<String>> bounds = new ConcurrentLinkedQueue<>();
+        server.respond(q -> q.contains("m.title >= $from"), (query, params) -> {
+            bounds.add(Arrays.asList((String) params.get("from"), (String) params.get("to")));
+            return FakeBoltServer.synthesize(query, params, 25);
+        });
+        new CatalogueExporter(connector, 1, 3, 10).exportMovies(directory.resolve("movies.ndjson"), ExportFormat.NDJSON);
+
+        assertEquals(List.of(Arrays.asList(null, "G"), List.of("G", "N"), Arrays.asList("N", null)),
+                bounds.stream().sorted(Comparator.comparing(b -> b.get(0), Comparator.nullsFirst(Comparator.naturalOrder()))).toList(),
+                "Keys created before the first or after the last planned key must still be exported");
+
+        starts = List.of();
+        bounds.clear();
+        new CatalogueExporter(connector, 1, 3, 10).exportMovies(directory.resolve("empty.ndjson"), ExportFormat.NDJSON);
+        assertEquals(List.of(Arrays.asList(null, null)), List.copyOf(bounds), "An empty key space still gets one open range");
+    }
+
+    @Test
+    @DisplayName("Test CSV Export Writes Header And Quotes Fields")
+    void testCsvExport() throws IOException {
+        server.respondContaining("p.name >= $from", (query, params) -> ScriptedResult.of(
+                List.of("name", "birthYear", "nationality"),
+                List.of(List.of("Doe, \"JJ\"", 1970L, "US"), Arrays.asList("Roe", null, null))));
+        Path target = directory.resolve("persons.csv");
+        new CatalogueExporter(connector, 3, 3, 10).exportPersons(target, ExportFormat.CSV);
+
+        List<String> lines = Files.readAllLines(target);
+        assertEquals("name,birthYear,nationality", lines.get(0));
+        assertEquals("\"Doe, \"\"JJ\"\"\",1970,US", lines.get(1));
+        assertEquals("Roe,,", lines.get(2));
+        assertEquals(7, lines.size());
+    }
+
+    @Test
+    @DisplayName("Test Failed Export Resumes From Checkpoint")
+    void testResume() throws IOException {
+        AtomicBoolean failing = new AtomicBoolean(true);
+        server.respond(q -> q.contains("m.title >= $from"), (query, params) -> {
+            if ("N".equals(params.get("from")) && failing.get()) {
+                throw new BoltFailureException("Neo.ClientError.General.ForbiddenOnReadOnlyDatabase", "Range unavailable");
+            }
+            return FakeBoltServer.synthesize(query, params, 25);
+        });
+        Path target = directory.resolve("movies.ndjson");
+        CatalogueExporter exporter = new CatalogueExporter(connector, 1, 3, 10);
+
+        assertThrows(RuntimeException.class, () -> exporter.exportMovies(target, ExportFormat.NDJSON));
+        Properties checkpoint = new Properties();
+        try (var reader = Files.newBufferedReader(directory.resolve("movies.ndjson.checkpoint"))) {
+            checkpoint.load(reader);
+        }
+        long pending = checkpoint.stringPropertyNames().stream()
+                .filter(key -> key.endsWith(".done") && !Boolean.parseBoolean(checkpoint.getProperty(key)))
+                .count();
+        assertTrue(pending >= 1);
+        assertEquals("false", checkpoint.getProperty("partition.2.done"));
+        assertNull(checkpoint.getProperty("partition.2.to"), "The last range is open above");
+
+        failing.set(false);
+        server.resetCounters();
+        ExportResult result = exporter.exportMovies(target, ExportFormat.NDJSON);
+
+        assertTrue(result.isResumed());
+        assertEquals(75, result.getRows());
+        assertEquals(75, Files.readAllLines(target).size());
+        assertEquals(pending, server.getQueries().stream().filter(q -> q.contains("$from")).count(),
+                "Only unfinished ranges are read again");
+        assertFalse(Files.exists(directory.resolve("movies.ndjson.checkpoint")));
+    }
+}
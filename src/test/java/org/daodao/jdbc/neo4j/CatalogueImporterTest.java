@@ -0,0 +1,191 @@
+package org.daodao.jdbc.neo4j;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.metrics.Neo4jMetrics;
+import org.daodao.jdbc.service.BulkLoadResult;
+import org.daodao.jdbc.service.CatalogueExporter;
+import org.daodao.jdbc.service.CatalogueImporter;
+import org.daodao.jdbc.service.ExportFormat;
+import org.daodao.jdbc.support.BoltFailureException;
+import org.daodao.jdbc.support.FakeBoltServer;
+import org.daodao.jdbc.support.ScriptedResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Catalogue Importer Test Cases
+ * Verifies CSV/NDJSON parsing, batched parallel writes, retry of transient failures and the
+ * exporter round trip against the Bolt stand-in. Runs without a database.
+ */
+class CatalogueImporterTest {
+
+    private FakeBoltServer server;
+    private Neo4jConnector connector;
+    private final ConcurrentLinkedQueue<Map<String, Object>> written = new ConcurrentLinkedQueue<>();
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeBoltServer();
+        connector = new Neo4jConnector(server.config());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connector.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Test CSV Movies Import In Batches")
+    void testCsvMovies() throws IOException {
+        recordWrites();
+        Path file = Files.writeString(directory.resolve("movies.csv"), """
+                title,year,genre,description
+                The Matrix,1999,Science Fiction,"Hacker, meets ""Morpheus""\"
+                Heat,1995,Crime,"Two lines
+                of plot"
+                Alien,,Horror,
+
+                Up,2009,Animation,Balloons
+                Ran,1985,Drama,Lear
+                """);
+
+        BulkLoadResult result = new CatalogueImporter(connector, 2, 2).importMovies(file, ExportFormat.CSV);
+
+        assertEquals(5, result.getRows());
+        assertEquals(3, result.getBatches());
+        assertEquals(3, server.getQueries().stream().filter(q -> q.startsWith("UNWIND $rows")).count());
+        Map<String, Map<String, Object>> byTitle = byKey("title");
+        assertEquals("Hacker, meets \"Morpheus\"", byTitle.get("The Matrix").get("description"));
+        assertEquals("Two lines\nof plot", byTitle.get("Heat").get("description"));
+        assertEquals(1999L, byTitle.get("The Matrix").get("year"));
+        assertNull(byTitle.get("Alien").get("year"));
+        assertNull(byTitle.get("Alien").get("description"));
+    }
+
+    @Test
+    @DisplayName("Test Relationships Are Routed By Type")
+    void testNdjsonRelationships() throws IOException {
+        Path file = Files.writeString(directory.resolve("relationships.ndjson"), """
+                {"personName":"Keanu Reeves","movieTitle":"The Matrix","type":"ACTED_IN"}
+                {"personName":"Lana Wachowski","movieTitle":"The Matrix","type":"directed"}
+                {"personName":"Al Pacino","movieTitle":"Heat","type":"ACTED_IN"}
+                """);
+
+        BulkLoadResult result = new CatalogueImporter(connector, 10, 2).importRelationships(file, ExportFormat.NDJSON);
+
+        assertEquals(3, result.getRows());
+        assertEquals(2, result.getBatches());
+        assertEquals(1, server.getQueries().stream().filter(q -> q.contains("[:DIRECTED]")).count());
+        assertEquals(1, server.getQueries().stream().filter(q -> q.contains("[:ACTED_IN]")).count());
+    }
+
+    @Test
+    @DisplayName("Test Transient Failures Are Retried Once By The Retry Policy")
+    void testRetry() throws IOException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Neo4jConnector metered = new Neo4jConnector(server.config(), new Neo4jMetrics(registry));
+        AtomicInteger attempts = new AtomicInteger();
+        server.respond(q -> q.startsWith("UNWIND $rows"), (query, params) -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new BoltFailureException("Neo.TransientError.Transaction.DeadlockDetected", "Deadlock detected");
+            }
+            return ScriptedResult.empty();
+        });
+        Path file = Files.writeString(directory.resolve("persons.ndjson"),
+                "{\"name\":\"Keanu Reeves\",\"birthYear\":1964,\"nationality\":\"Canadian\"}\n");
+
+        try {
+            BulkLoadResult result = new CatalogueImporter(metered, 10, 1).importPersons(file, ExportFormat.NDJSON);
+
+            assertEquals(1, result.getRows());
+            assertEquals(2, attempts.get());
+            assertEquals(1, registry.get("neo4j.tx.retries").counter().count(), "A retry is counted once");
+        } finally {
+            metered.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Test Database Errors Are Not Retried")
+    void testDatabaseError() throws IOException {
+        server.respond(q -> q.startsWith("UNWIND $rows"), (query, params) -> {
+            throw new BoltFailureException("Neo.DatabaseError.General.UnknownError", "Disk full");
+        });
+        Path file = Files.writeString(directory.resolve("persons.csv"), "name,birthYear,nationality\nKeanu Reeves,1964,Canadian\n");
+
+        long start = System.nanoTime();
+        assertThrows(RuntimeException.class, () -> new CatalogueImporter(connector, 10, 1).importPersons(file, ExportFormat.CSV));
+
+        assertEquals(1, server.getQueries().stream().filter(q -> q.startsWith("UNWIND $rows")).count());
+        assertTrue(System.nanoTime() - start < 1_000_000_000L, "A failing batch must not stall the writer");
+    }
+
+    @Test
+    @DisplayName("Test Client Errors And Bad Rows Fail The Import")
+    void testFailures() throws IOException {
+        server.respond(q -> q.startsWith("UNWIND $rows"), (query, params) -> {
+            throw new BoltFailureException("Neo.ClientError.Schema.ConstraintValidationFailed", "Duplicate");
+        });
+        Path persons = Files.writeString(directory.resolve("persons.csv"), "name,birthYear,nationality\nKeanu Reeves,1964,Canadian\n");
+        Path movies = Files.writeString(directory.resolve("movies.csv"), "title,year\nHeat,nineteen\n");
+        CatalogueImporter importer = new CatalogueImporter(connector, 10, 1);
+
+        assertThrows(RuntimeException.class, () -> importer.importPersons(persons, ExportFormat.CSV));
+        assertEquals(1, server.getQueries().stream().filter(q -> q.startsWith("UNWIND $rows")).count(), "Client errors are not retried");
+        RuntimeException error = assertThrows(RuntimeException.class, () -> importer.importMovies(movies, ExportFormat.CSV));
+        assertTrue(error.getCause().getMessage().contains("movies.csv:2"), error.getCause().getMessage());
+    }
+
+    @Test
+    @DisplayName("Test Exported File Imports Back")
+    void testRoundTrip() throws IOException {
+        recordWrites();
+        server.respondContaining("AS starts", (query, params) -> ScriptedResult.of(List.of("starts"),
+                List.of(List.of(List.of("A", "N")))));
+        Path file = directory.resolve("movies.ndjson");
+        new CatalogueExporter(connector, 2, 2, 100).exportMovies(file, ExportFormat.NDJSON);
+
+        BulkLoadResult result = new CatalogueImporter(connector, 3, 2).importMovies(file, ExportFormat.NDJSON);
+
+        assertEquals(Files.readAllLines(file).size(), result.getRows());
+        assertTrue(written.stream().allMatch(row -> row.get("title") != null && row.get("year") instanceof Long));
+    }
+
+    private void recordWrites() {
+        server.respond(q -> q.startsWith("UNWIND $rows"), (query, params) -> {
+            for (Object row : (List<?>) params.get("rows")) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> values = (Map<String, Object>) row;
+                written.add(values);
+            }
+            return ScriptedResult.empty();
+        });
+    }
+
+    private Map<String, Map<String, Object>> byKey(String key) {
+        Map<String, Map<String, Object>> rows = new HashMap<>();
+        for (Map<String, Object> row : written) {
+            rows.put((String) row.get(key), row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,171 @@
+package org.daodao.jdbc.neo4j;
+
+import org.daodao.jdbc.cache.CacheStats;
+import org.daodao.jdbc.cache.LocalEntityCache;
+import org.daodao.jdbc.config.Neo4jConfig;
+import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.model.Movie;
+import org.daodao.jdbc.service.Neo4jMovieService;
+import org.daodao.jdbc.support.FakeBoltServer;
+import org.daodao.jdbc.support.ScriptedResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Entity Cache Test Cases
+ * Verifies size and TTL eviction, the hit/miss/eviction counters and that a read racing a write
+ * cannot cache the old row. Runs without a database.
+ */
+class EntityCacheTest {
+
+    @Test
+    @DisplayName("Test Least Recently Used Entry Is Evicted")
+    void testSizeEviction() {
+        LocalEntityCache<String, String> cache = new LocalEntityCache<>(2, Duration.ofMinutes(1));
+        cache.put("a", "A");
+        cache.put("b", "B");
+        assertEquals("A", cache.get("a"));
+        cache.put("c", "C");
+
+        assertNull(cache.get("b"));
+        assertEquals("A", cache.get("a"));
+        assertEquals("C", cache.get("c"));
+
+        CacheStats stats = cache.stats();
+        assertEquals(3, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getEvictions());
+        assertEquals(2, stats.getSize());
+    }
+
+    @Test
+    @DisplayName("Test Expired Entry Is Evicted")
+    void testTtlEviction() {
+        AtomicLong clock = new AtomicLong();
+        LocalEntityCache<String, String> cache = new LocalEntityCache<>(10, Duration.ofSeconds(5), clock::get);
+        cache.put("a", "A");
+
+        clock.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertEquals("A", cache.get("a"));
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.stats().getEvictions());
+        assertEquals(0, cache.stats().getSize());
+    }
+
+    @Test
+    @DisplayName("Test Invalidation")
+    void testInvalidation() {
+        LocalEntityCache<String, String> cache = new LocalEntityCache<>(10, Duration.ofMinutes(1));
+        cache.put("a", "A");
+        cache.put("b", "B");
+
+        cache.invalidate("a");
+        assertNull(cache.get("a"));
+        assertEquals("B", cache.get("b"));
+
+        cache.invalidateAll();
+        assertNull(cache.get("b"));
+        assertEquals(1 / 3.0, cache.stats().getHitRate(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Test Put After Invalidation Is Dropped")
+    void testStampedPut() {
+        LocalEntityCache<String, String> cache = new LocalEntityCache<>(10, Duration.ofMinutes(1));
+        long stamp = cache.stamp("a");
+        cache.invalidate("a");
+        cache.put("a", "stale", stamp);
+        assertNull(cache.get("a"));
+
+        long fresh = cache.stamp("a");
+        cache.put("a", "A", fresh);
+        assertEquals("A", cache.get("a"));
+
+        long beforeClear = cache.stamp("b");
+        cache.invalidateAll();
+        cache.put("b", "stale", beforeClear);
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    @DisplayName("Test Null Keys Bypass The Cache")
+    void testNullKeys() throws IOException {
+        LocalEntityCache<String, String> cache = new LocalEntityCache<>(10, Duration.ofMinutes(1));
+        cache.put(null, "A");
+        cache.put(null, "A", cache.stamp(null));
+        cache.invalidate(null);
+        assertNull(cache.get(null));
+        assertEquals(0, cache.stats().getSize());
+
+        try (FakeBoltServer server = new FakeBoltServer()) {
+            server.respondContaining("{title: $title}", (query, params) -> ScriptedResult.empty());
+            server.respondContaining("{name: $name}", (query, params) -> ScriptedResult.empty());
+            Neo4jConnector connector = new Neo4jConnector(server.config());
+            try (Neo4jMovieService service = new Neo4jMovieService(connector,
+                    new LocalEntityCache<>(10, Duration.ofMinutes(1)), new LocalEntityCache<>(10, Duration.ofMinutes(1)))) {
+                assertNull(service.getMovie(null));
+                assertNull(service.getPerson(null));
+                assertEquals(2, server.getQueryCount(), "Null keys are looked up in the database");
+            } finally {
+                connector.close();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test Read Miss Racing An Update Does Not Cache The Old Row")
+    void testReadRacingUpdate() throws Exception {
+        AtomicReference<String> description = new AtomicReference<>("Old");
+        CountDownLatch readStarted = new CountDownLatch(1);
+        CountDownLatch updated = new CountDownLatch(1);
+        try (FakeBoltServer server = new FakeBoltServer()) {
+            server.respond(q -> q.startsWith("MATCH (m:Movie {title: $title}) SET"), (query, params) -> {
+                description.set((String) params.get("description"));
+                return ScriptedResult.empty();
+            });
+            server.respond(q -> q.startsWith("MATCH (m:Movie {title: $title}) RETURN"), (query, params) -> {
+                String current = description.get();
+                readStarted.countDown();
+                try {
+                    updated.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return ScriptedResult.of(List.of("title", "year", "genre", "description"),
+                        List.of(List.of("Heat", 1995L, "Crime", current)));
+            });
+            Properties props = new Properties();
+            props.setProperty("neo4j.uri", server.getUri());
+            props.setProperty("neo4j.username", "neo4j");
+            props.setProperty("neo4j.password", "");
+            props.setProperty("neo4j.cache.entity.max-size", "100");
+            Neo4jConnector connector = new Neo4jConnector(new Neo4jConfig(props));
+            try (Neo4jMovieService service = new Neo4jMovieService(connector)) {
+                CompletableFuture<Movie> read = CompletableFuture.supplyAsync(() -> service.getMovie("Heat"));
+                assertTrue(readStarted.await(5, TimeUnit.SECONDS));
+                service.updateMovie("Heat", new Movie("Heat", 1995, "Crime", "New"));
+                updated.countDown();
+
+                assertEquals("Old", read.get(5, TimeUnit.SECONDS).getDescription());
+                assertEquals("New", service.getMovie("Heat").getDescription(), "The racing read must not be cached");
+                assertEquals("New", service.getMovie("Heat").getDescription());
+            } finally {
+                connector.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package org.daodao.jdbc.neo4j;
+
+import org.daodao.jdbc.cache.LocalEntityCache;
+import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.connectors.QueryCursor;
+import org.daodao.jdbc.connectors.ReactiveNeo4jConnector;
+import org.daodao.jdbc.model.Movie;
+import org.daodao.jdbc.model.Relationship;
+import org.daodao.jdbc.service.BulkLoadResult;
+import org.daodao.jdbc.service.ConcurrentMovieService;
+import org.daodao.jdbc.service.Neo4jAsyncMovieService;
+import org.daodao.jdbc.service.Neo4jBulkLoader;
+import org.daodao.jdbc.service.Neo4jMovieService;
+import org.daodao.jdbc.service.ReactiveMovieService;
+import org.daodao.jdbc.support.BoltFailureException;
+import org.daodao.jdbc.support.BoltProfile;
+import org.daodao.jdbc.support.FakeBoltServer;
+import org.daodao.jdbc.support.ScriptedResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.exceptions.ClientException;
+import org.neo4j.driver.summary.ResultSummary;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fake Bolt Server Test Cases
+ * Drives the connector and services against the in-process Bolt stand-in. Runs without a database.
+ */
+class FakeBoltServerTest {
+
+    private FakeBoltServer server;
+    private Neo4jConnector connector;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeBoltServer();
+        connector = new Neo4jConnector(server.config());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connector.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Test Synthesized Single Movie Lookup")
+    void testGetMovie() {
+        Movie movie = new Neo4jMovieService(connector).getMovie("The Matrix");
+
+        assertNotNull(movie);
+        assertEquals("The Matrix", movie.getTitle());
+        assertNotNull(movie.getYear());
+        assertEquals(1, server.getQueryCount());
+    }
+
+    @Test
+    @DisplayName("Test Streaming Pulls In Fetch-Size Batches")
+    void testStreamingFetchSize() {
+        server.setProfile(BoltProfile.defaults().withRecordCount(25));
+        Neo4jMovieService movieService = new Neo4jMovieService(connector, 10);
+
+        List<String> titles;
+        try (var movies = movieService.streamAllMovies()) {
+            titles = movies.map(Movie::getTitle).collect(Collectors.toList());
+        }
+
+        assertEquals(25, titles.size());
+        assertEquals("title 000000", titles.get(0));
+        assertEquals(25, server.getRecordCount());
+    }
+
+    @Test
+    @DisplayName("Test Bulk Loader Sends One Query Per Batch")
+    void testBulkLoaderBatches() {
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            movies.add(new Movie("Movie " + i, 2000, "Drama", "Generated"));
+        }
+
+        new Neo4jBulkLoader(connector, 100).loadMovies(movies);
+
+        assertEquals(3, server.getQueryCount());
+        assertEquals(3, server.getCommitCount());
+    }
+
+    @Test
+    @DisplayName("Test Relationships Stream Into Per-Type Batches")
+    void testBulkLoaderStreamsRelationships() {
+        AtomicInteger consumed = new AtomicInteger();
+        List<Integer> consumedAtWrite = new ArrayList<>();
+        server.respond(q -> q.startsWith("UNWIND $rows"), (query, params) -> {
+            consumedAtWrite.add(consumed.get());
+            return ScriptedResult.empty();
+        });
+        Iterable<Relationship> relationships = () -> new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return consumed.get() < 100;
+            }
+
+            @Override
+            public Relationship next() {
+                int i = consumed.getAndIncrement();
+                Relationship.Type type = i % 2 == 0 ? Relationship.Type.ACTED_IN : Relationship.Type.DIRECTED;
+                return new Relationship("Person " + i, "Movie " + i, type);
+            }
+        };
+
+        BulkLoadResult result = new Neo4jBulkLoader(connector, 10).loadRelationships(relationships);
+
+        assertEquals(100, result.getRows());
+        assertEquals(10, result.getBatches());
+        assertEquals(19, consumedAtWrite.get(0), "The first batch is written as soon as it fills");
+        assertEquals(5, server.getQueries().stream().filter(q -> q.contains(":ACTED_IN]")).count());
+        assertEquals(5, server.getQueries().stream().filter(q -> q.contains(":DIRECTED]")).count());
+    }
+
+    @Test
+    @DisplayName("Test Cursor Pulls In Fetch-Size Batches And Summary Reads Consume")
+    void testCursorAndSummary() {
+        server.setProfile(BoltProfile.defaults().withRecordCount(25));
+
+        List<String> titles = new ArrayList<>();
+        try (QueryCursor<String> cursor = connector.openCursor("MATCH (m:Movie) RETURN m.title AS title", Map.of(),
+                r -> r.get("title").asString(), 10)) {
+            for (int i = 0; i < 5 && cursor.hasNext(); i++) {
+                titles.add(cursor.next());
+            }
+        }
+        assertEquals(5, titles.size());
+        assertTrue(server.getRecordCount() < 25, "Closing the cursor early must not pull every record");
+
+        ResultSummary summary = connector.executeRead("MATCH (m:Movie) RETURN count(m) AS count", Map.of());
+        assertEquals("MATCH (m:Movie) RETURN count(m) AS count", summary.query().text());
+    }
+
+    @Test
+    @DisplayName("Test Reactive Service Streams Records")
+    void testReactiveService() {
+        server.setProfile(BoltProfile.defaults().withRecordCount(25));
+        ReactiveMovieService reactiveService = new ReactiveMovieService(new ReactiveNeo4jConnector(connector, 10));
+
+        assertEquals("Heat", reactiveService.getMovie("Heat").map(Movie::getTitle).block());
+        assertEquals(25L, reactiveService.getAllMovies().count().block());
+        reactiveService.createMovie(new Movie("Heat", 1995, "Crime", "Heist")).block();
+        assertEquals(3, server.getQueryCount());
+        assertEquals(2, server.getReadQueries().size(), "Only the create runs in a write transaction");
+    }
+
+    @Test
+    @DisplayName("Test Async And Virtual-Thread Lookups Skip Missing Movies")
+    void testAsyncAndConcurrentLookups() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        server.respondContaining("{title: $title}", (query, params) -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+            return "Missing".equals(params.get("title")) ? ScriptedResult.empty() : FakeBoltServer.synthesize(query, params, 1);
+        });
+
+        Neo4jAsyncMovieService asyncService = new Neo4jAsyncMovieService(connector);
+        assertEquals("Heat", asyncService.getMovie("Heat").toCompletableFuture().join().getTitle());
+        assertNull(asyncService.getMovie("Missing").toCompletableFuture().join());
+
+        server.resetCounters();
+        try (ConcurrentMovieService concurrentService = new ConcurrentMovieService(new Neo4jMovieService(connector), 2)) {
+            List<Movie> movies = concurrentService.getMovies(List.of("Heat", "Alien", "Heat", "Missing", "Up", "Jaws"));
+
+            assertEquals(List.of("Heat", "Alien", "Up", "Jaws"), movies.stream().map(Movie::getTitle).toList());
+            assertEquals(5, server.getQueryCount(), "Duplicate titles are looked up once");
+            assertTrue(maxRunning.get() <= 2, "At most maxInFlight lookups run at once: " + maxRunning.get());
+        }
+    }
+
+    @Test
+    @DisplayName("Test Cached Movie Service Reads Once Until Invalidated")
+    void testCachedService() {
+        Neo4jMovieService cachedService = new Neo4jMovieService(connector,
+                new LocalEntityCache<>(100, Duration.ofMinutes(1)), new LocalEntityCache<>(100, Duration.ofMinutes(1)));
+
+        cachedService.getMovie("Heat");
+        cachedService.getMovie("Heat");
+        assertEquals(1, server.getQueryCount());
+        assertEquals(1, cachedService.getMovieCacheStats().getHits());
+
+        cachedService.updateMovie("Heat", new Movie("Heat", 1995, "Crime", "Heist"));
+        cachedService.getMovie("Heat");
+        assertEquals(3, server.getQueryCount(), "An update invalidates the cached movie");
+    }
+
+    @Test
+    @DisplayName("Test Transient Failures Are Retried")
+    void testTransientFailureRetried() {
+        int[] attempts = {0};
+        server.respondContaining("RETURN 1 AS ok", (query, params) -> {
+            if (attempts[0]++ == 0) {
+                throw new BoltFailureException(BoltProfile.DEFAULT_FAILURE_CODE, "Deadlock detected");
+            }
+            return ScriptedResult.of(List.of("ok"), List.of(List.of(1L)));
+        });
+
+        List<Long> rows = connector.executeRead("RETURN 1 AS ok", Map.of(), r -> r.get("ok").asLong());
+
+        assertEquals(List.of(1L), rows);
+        assertEquals(2, attempts[0]);
+        assertEquals(1, server.getFailureCount());
+    }
+
+    @Test
+    @DisplayName("Test Client Errors Are Not Retried")
+    void testClientErrorSurfaces() {
+        server.respondContaining("BROKEN", (query, params) -> {
+            throw new BoltFailureException("Neo.ClientError.Statement.SyntaxError", "Invalid input");
+        });
+
+        assertThrows(ClientException.class, () -> connector.executeWrite("BROKEN", Map.of()));
+        assertEquals(1, server.getQueryCount());
+    }
+
+    @Test
+    @DisplayName("Test Profile Latency Is Applied Per Query")
+    void testLatency() {
+        server.setProfile(BoltProfile.defaults().withQueryLatency(Duration.ofMillis(50)));
+        Neo4jMovieService movieService = new Neo4jMovieService(connector);
+
+        long start = System.nanoTime();
+        movieService.getMovie("Inception");
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertTrue(elapsedMillis >= 50, "Expected at least 50ms, took " + elapsedMillis);
+    }
+}
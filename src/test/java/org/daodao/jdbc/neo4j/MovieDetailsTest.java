@@ -0,0 +1,118 @@
+package org.daodao.jdbc.neo4j;
+
+import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.model.MovieDetails;
+import org.daodao.jdbc.model.Person;
+import org.daodao.jdbc.service.Neo4jAsyncMovieService;
+import org.daodao.jdbc.service.Neo4jMovieService;
+import org.daodao.jdbc.support.FakeBoltServer;
+import org.daodao.jdbc.support.ScriptedResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Movie Details Test Cases
+ * Verifies that a movie and its cast load in one pattern-comprehension query, singly and in
+ * batches, against the Bolt stand-in. Runs without a database.
+ */
+class MovieDetailsTest {
+
+    private static final List<String> COLUMNS = List.of("title", "year", "genre", "description", "actors", "directors");
+
+    private FakeBoltServer server;
+    private Neo4jConnector connector;
+    private Neo4jMovieService movieService;
+    private final ConcurrentLinkedQueue<Object> lookups = new ConcurrentLinkedQueue<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeBoltServer();
+        server.respondContaining("[(a:Person)-[:ACTED_IN]->(m)", (query, params) -> {
+            Object requested = params.containsKey("titles") ? params.get("titles") : List.of(params.get("title"));
+            lookups.add(requested);
+            List<List<Object>> rows = new ArrayList<>();
+            for (Object title : (List<?>) requested) {
+                if (!"Missing".equals(title)) {
+                    rows.add(row((String) title));
+                }
+            }
+            return ScriptedResult.of(COLUMNS, rows);
+        });
+        connector = new Neo4jConnector(server.config());
+        movieService = new Neo4jMovieService(connector);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connector.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Test Movie And Cast Load In One Query")
+    void testSingle() {
+        MovieDetails details = movieService.getMovieDetails("Heat");
+
+        assertEquals("Heat", details.getMovie().getTitle());
+        assertEquals(1995, details.getMovie().getYear());
+        assertEquals(List.of("Al Pacino", "Robert De Niro"), details.getActors().stream().map(Person::getName).toList());
+        assertNull(details.getActors().get(1).getBirthYear());
+        assertEquals("Michael Mann", details.getDirectors().get(0).getName());
+        assertEquals(1943, details.getDirectors().get(0).getBirthYear());
+        assertEquals(1, server.getQueries().size(), server.getQueries().toString());
+
+        assertNull(movieService.getMovieDetails("Missing"));
+    }
+
+    @Test
+    @DisplayName("Test Batch Keeps Order And Skips Missing Titles")
+    void testBatch() {
+        List<MovieDetails> details = movieService.getMovieDetails(List.of("Heat", "Missing", "Alien", "Heat"));
+
+        assertEquals(List.of("Heat", "Alien"), details.stream().map(d -> d.getMovie().getTitle()).toList());
+        assertEquals(List.of(List.of("Heat", "Missing", "Alien")), new ArrayList<>(lookups), "Titles are sent once each");
+        assertEquals(1, server.getQueries().size());
+        assertTrue(movieService.getMovieDetails(List.of()).isEmpty());
+        assertEquals(1, server.getQueries().size());
+    }
+
+    @Test
+    @DisplayName("Test Async Cast Lookup Uses One Query")
+    void testAsync() {
+        List<MovieDetails> details = new Neo4jAsyncMovieService(connector)
+                .getMoviesWithCast(List.of("Alien", "Missing", "Heat")).toCompletableFuture().join();
+
+        assertEquals(List.of("Alien", "Heat"), details.stream().map(d -> d.getMovie().getTitle()).toList());
+        assertEquals(2, details.get(1).getActors().size());
+        assertEquals(1, server.getQueries().size());
+    }
+
+    @Test
+    @DisplayName("Test Async Batch Keeps Order And Sends Titles Once")
+    void testAsyncBatch() {
+        Neo4jAsyncMovieService asyncService = new Neo4jAsyncMovieService(connector);
+        List<MovieDetails> details = asyncService
+                .getMoviesWithCast(List.of("Heat", "Missing", "Alien", "Heat")).toCompletableFuture().join();
+
+        assertEquals(List.of("Heat", "Alien"), details.stream().map(d -> d.getMovie().getTitle()).toList());
+        assertEquals(List.of(List.of("Heat", "Missing", "Alien")), new ArrayList<>(lookups), "Titles are sent once each");
+        assertTrue(asyncService.getMoviesWithCast(List.of()).toCompletableFuture().join().isEmpty());
+        assertEquals(1, server.getQueries().size());
+    }
+
+    private static List<Object> row(String title) {
+        List<Object> actors = List.of(List.of("Al Pacino", 1940L, "American"), Arrays.asList("Robert De Niro", null, "American"));
+        List<Object> directors = List.of(List.of("Michael Mann", 1943L, "American"));
+        return List.of(title, 1995L, "Crime", "Heist", actors, directors);
+    }
+}
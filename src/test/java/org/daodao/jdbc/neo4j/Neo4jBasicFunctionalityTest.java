@@ -10,6 +10,7 @@ import org.daodao.jdbc.model.Movie;
 import org.daodao.jdbc.model.Person;
 import org.daodao.jdbc.service.Neo4jMovieService;
 import org.daodao.jdbc.service.Neo4jDatabaseInitializer;
+import org.neo4j.driver.AccessMode;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -266,4 +267,36 @@ class Neo4jBasicFunctionalityTest {
             assertTrue(titles != null); // Just verify the query executes without error
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test Connector Read Forms")
+    void testConnectorReadForms() {
+        String query = "MATCH (m:Movie) RETURN m.title as title ORDER BY m.title";
+
+        List<String> titles = connector.executeRead(query, new HashMap<>(), record -> record.get("title").asString());
+        assertFalse(titles.isEmpty());
+
+        try (var cursor = connector.openCursor(query, new HashMap<>(), record -> record.get("title").asString(), 2)) {
+            assertEquals(titles, cursor.stream().toList());
+        }
+
+        var summary = connector.executeRead(query, new HashMap<>());
+        assertNotNull(summary);
+        assertFalse(summary.counters().containsUpdates());
+    }
+
+    @Test
+    @DisplayName("Test Per-Database Session Routing")
+    void testPerDatabaseSessions() {
+        assertSame(connector.sessionConfig(AccessMode.READ),
+                connector.sessionConfig(AccessMode.READ));
+
+        Neo4jConnector databaseConnector = connector.forDatabase(connector.getDatabase());
+        Neo4jMovieService databaseService = new Neo4jMovieService(databaseConnector);
+        assertEquals(movieService.getAllMovies().size(), databaseService.getAllMovies().size());
+
+        // Closing a database view must leave the shared driver open
+        databaseConnector.close();
+        assertNotNull(movieService.getMovie("The Matrix"));
+    }
+}
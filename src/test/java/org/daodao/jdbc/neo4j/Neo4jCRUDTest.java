@@ -1,15 +1,27 @@
 package org.daodao.jdbc.neo4j;
 
+import org.daodao.jdbc.cache.LocalEntityCache;
 import org.daodao.jdbc.config.Neo4jConfig;
 import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.connectors.ReactiveNeo4jConnector;
 import org.daodao.jdbc.model.Movie;
 import org.daodao.jdbc.model.Person;
+import org.daodao.jdbc.service.BulkLoadResult;
+import org.daodao.jdbc.service.ConcurrentMovieService;
+import org.daodao.jdbc.service.Neo4jAsyncMovieService;
+import org.daodao.jdbc.service.Neo4jBulkLoader;
 import org.daodao.jdbc.service.Neo4jDatabaseInitializer;
 import org.daodao.jdbc.service.Neo4jMovieService;
+import org.daodao.jdbc.service.ReactiveMovieService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class Neo4jCRUDTest {
@@ -145,4 +157,101 @@ class Neo4jCRUDTest {
         // Just check that the method works without size constraint
         // Director may or may not have movies depending on data state
     }
-}
\ No newline at end of file
+
+    @Test
+    void testBulkLoadMovies() {
+        String prefix = "Bulk Test_" + System.currentTimeMillis() + "_";
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            movies.add(new Movie(prefix + i, 2000 + i, "Drama", "Bulk loaded movie " + i));
+        }
+
+        Neo4jBulkLoader bulkLoader = new Neo4jBulkLoader(connector, 10);
+        BulkLoadResult result = bulkLoader.loadMovies(movies);
+        assertEquals(25, result.getRows());
+        assertEquals(3, result.getBatches());
+
+        Movie retrieved = movieService.getMovie(prefix + 24);
+        assertNotNull(retrieved);
+        assertEquals(2024, retrieved.getYear());
+
+        // Clean up
+        for (Movie movie : movies) {
+            movieService.deleteMovie(movie.getTitle());
+        }
+    }
+
+    @Test
+    void testStreamAllMovies() {
+        long streamed;
+        try (var movies = movieService.streamAllMovies()) {
+            streamed = movies.count();
+        }
+        assertEquals(movieService.getAllMovies().size(), streamed);
+
+        AtomicLong visited = new AtomicLong();
+        movieService.forEachMovie(movie -> visited.incrementAndGet());
+        assertEquals(streamed, visited.get());
+    }
+
+    @Test
+    void testReactiveMovieService() {
+        ReactiveMovieService reactiveService = new ReactiveMovieService(new ReactiveNeo4jConnector(connector));
+        String uniqueTitle = "Reactive Test_" + System.currentTimeMillis();
+
+        reactiveService.createMovie(new Movie(uniqueTitle, 2023, "Drama", "Reactive description")).block();
+        Movie retrieved = reactiveService.getMovie(uniqueTitle).block();
+        assertNotNull(retrieved);
+        assertEquals("Reactive description", retrieved.getDescription());
+
+        Long count = reactiveService.getAllMovies().count().block();
+        assertEquals(movieService.getAllMovies().size(), count);
+
+        // Clean up
+        reactiveService.deleteMovie(uniqueTitle).block();
+        assertNull(movieService.getMovie(uniqueTitle));
+    }
+
+    @Test
+    void testAsyncGetMoviesWithCast() {
+        Neo4jAsyncMovieService asyncService = new Neo4jAsyncMovieService(connector);
+
+        Movie movie = asyncService.getMovie("The Matrix").toCompletableFuture().join();
+        assertNotNull(movie);
+
+        var details = asyncService.getMoviesWithCast(List.of("The Matrix", "Inception", "Missing Movie_" + System.currentTimeMillis()))
+                .toCompletableFuture().join();
+        assertEquals(2, details.size());
+        assertEquals("The Matrix", details.get(0).getMovie().getTitle());
+        assertFalse(details.get(0).getActors().isEmpty());
+        assertFalse(details.get(0).getDirectors().isEmpty());
+    }
+
+    @Test
+    void testConcurrentGetMovies() {
+        try (ConcurrentMovieService concurrentService = new ConcurrentMovieService(movieService, 4)) {
+            var movies = concurrentService.getMovies(List.of("The Matrix", "Inception", "The Matrix", "Missing Movie_" + System.currentTimeMillis()));
+            assertEquals(2, movies.size());
+            assertEquals("The Matrix", movies.get(0).getTitle());
+            assertEquals("Inception", movies.get(1).getTitle());
+        }
+    }
+
+    @Test
+    void testMovieCacheInvalidation() {
+        Neo4jMovieService cachedService = new Neo4jMovieService(connector,
+                new LocalEntityCache<>(100, Duration.ofMinutes(1)), new LocalEntityCache<>(100, Duration.ofMinutes(1)));
+        String uniqueTitle = "Cache Test_" + System.currentTimeMillis();
+        cachedService.createMovie(new Movie(uniqueTitle, 2023, "Drama", "Original description"));
+
+        assertEquals("Original description", cachedService.getMovie(uniqueTitle).getDescription());
+        assertEquals("Original description", cachedService.getMovie(uniqueTitle).getDescription());
+        assertEquals(1, cachedService.getMovieCacheStats().getHits());
+
+        cachedService.updateMovie(uniqueTitle, new Movie(uniqueTitle, 2024, "Drama", "Updated description"));
+        assertEquals("Updated description", cachedService.getMovie(uniqueTitle).getDescription());
+
+        cachedService.deleteMovie(uniqueTitle);
+        assertNull(cachedService.getMovie(uniqueTitle));
+    }
+}
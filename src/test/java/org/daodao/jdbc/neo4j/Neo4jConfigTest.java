@@ -0,0 +1,85 @@
+package org.daodao.jdbc.neo4j;
+
+import org.daodao.jdbc.config.Neo4jConfig;
+import org.daodao.jdbc.exceptions.PropertyException;
+import org.daodao.jdbc.logging.QueryLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Neo4j Configuration Test Cases
+ * Verifies parsing and validation of driver tuning properties. Runs without a database.
+ */
+class Neo4jConfigTest {
+
+    @Test
+    @DisplayName("Test Driver Settings Default When Absent")
+    void testDefaults() {
+        Properties props = new Properties();
+        props.setProperty("neo4j.uri", "bolt://localhost:7687");
+
+        Neo4jConfig config = new Neo4jConfig(props);
+        assertEquals("bolt://localhost:7687", config.getUri());
+        assertEquals(Neo4jConfig.DEFAULT_MAX_CONNECTION_POOL_SIZE, config.getMaxConnectionPoolSize());
+        assertEquals(Neo4jConfig.DEFAULT_FETCH_SIZE, config.getFetchSize());
+        assertEquals(Neo4jConfig.DEFAULT_LIVENESS_CHECK_TIMEOUT_MS, config.getLivenessCheckTimeoutMs());
+        assertEquals(QueryLog.Mode.SLOW, config.getQueryLogMode());
+        assertEquals(Neo4jConfig.DEFAULT_RETRY_MAX_TIME_MS, config.getRetryMaxTimeMs());
+        assertEquals(Neo4jConfig.DEFAULT_RETRY_JITTER, config.getRetryJitter());
+    }
+
+    @Test
+    @DisplayName("Test Driver Settings Are Parsed")
+    void testParsedSettings() {
+        Properties props = new Properties();
+        props.setProperty("neo4j.pool.max-size", "250");
+        props.setProperty("neo4j.pool.acquisition-timeout-ms", " 5000 ");
+        props.setProperty("neo4j.pool.liveness-check-timeout-ms", "30000");
+        props.setProperty("neo4j.fetch-size", "500");
+        props.setProperty("neo4j.event-loop-threads", "8");
+        props.setProperty("neo4j.query-log.mode", "Sampled");
+        props.setProperty("neo4j.query-log.slow-threshold-ms", "250");
+        props.setProperty("neo4j.retry.max-backoff-ms", "500");
+        props.setProperty("neo4j.retry.jitter", "0.25");
+
+        Neo4jConfig config = new Neo4jConfig(props);
+        assertEquals(250, config.getMaxConnectionPoolSize());
+        assertEquals(5000, config.getConnectionAcquisitionTimeoutMs());
+        assertEquals(30000, config.getLivenessCheckTimeoutMs());
+        assertEquals(500, config.getFetchSize());
+        assertEquals(8, config.getEventLoopThreads());
+        assertEquals(QueryLog.Mode.SAMPLED, config.getQueryLogMode());
+        assertEquals(250, config.getQueryLogSlowThresholdMs());
+        assertEquals(500, config.getRetryMaxBackoffMs());
+        assertEquals(0.25, config.getRetryJitter());
+    }
+
+    @Test
+    @DisplayName("Test Invalid Driver Settings Are Rejected")
+    void testInvalidSettings() {
+        Properties notANumber = new Properties();
+        notANumber.setProperty("neo4j.pool.max-size", "many");
+        assertThrows(PropertyException.class, () -> new Neo4jConfig(notANumber));
+
+        Properties belowMinimum = new Properties();
+        belowMinimum.setProperty("neo4j.fetch-size", "0");
+        assertThrows(PropertyException.class, () -> new Neo4jConfig(belowMinimum));
+
+        Properties unknownMode = new Properties();
+        unknownMode.setProperty("neo4j.query-log.mode", "verbose");
+        assertThrows(PropertyException.class, () -> new Neo4jConfig(unknownMode));
+
+        Properties jitterTooLarge = new Properties();
+        jitterTooLarge.setProperty("neo4j.retry.jitter", "2");
+        assertThrows(PropertyException.class, () -> new Neo4jConfig(jitterTooLarge));
+
+        Properties backoffBelowInitial = new Properties();
+        backoffBelowInitial.setProperty("neo4j.retry.initial-backoff-ms", "100");
+        backoffBelowInitial.setProperty("neo4j.retry.max-backoff-ms", "10");
+        assertThrows(PropertyException.class, () -> new Neo4jConfig(backoffBelowInitial));
+    }
+}
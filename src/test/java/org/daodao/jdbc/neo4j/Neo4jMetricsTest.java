@@ -0,0 +1,152 @@
+package org.daodao.jdbc.neo4j;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.metrics.Neo4jMetrics;
+import org.daodao.jdbc.model.Movie;
+import org.daodao.jdbc.service.Neo4jMovieService;
+import org.daodao.jdbc.support.BoltFailureException;
+import org.daodao.jdbc.support.BoltProfile;
+import org.daodao.jdbc.support.FakeBoltServer;
+import org.daodao.jdbc.support.ScriptedResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.exceptions.ClientException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Metrics Test Cases
+ * Verifies query, service, retry, error and pool meters against the Bolt stand-in. Runs without a database.
+ */
+class Neo4jMetricsTest {
+
+    private FakeBoltServer server;
+    private SimpleMeterRegistry registry;
+    private Neo4jConnector connector;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeBoltServer(BoltProfile.defaults().withRecordCount(5));
+        registry = new SimpleMeterRegistry();
+        connector = new Neo4jConnector(server.config(), new Neo4jMetrics(registry));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connector.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Test Query And Service Timers Are Tagged By Name")
+    void testQueryAndServiceTimers() {
+        Neo4jMovieService movieService = new Neo4jMovieService(connector);
+        movieService.getAllMovies();
+        movieService.getAllMovies();
+
+        assertEquals(2, registry.get("neo4j.query").tags("query", "movie.all", "mode", "read", "outcome", "success").timer().count());
+        assertEquals(10, registry.get("neo4j.query.rows").tag("query", "movie.all").summary().totalAmount());
+        assertEquals(2, registry.get("neo4j.service").tags("operation", "getAllMovies", "outcome", "success").timer().count());
+        assertEquals(2, registry.get("neo4j.session.acquire").timer().count());
+    }
+
+    @Test
+    @DisplayName("Test Streams Are Timed Until Closed")
+    void testStreamTimers() throws InterruptedException {
+        server.setProfile(BoltProfile.defaults().withRecordCount(5).withQueryLatency(Duration.ofMillis(50)));
+        Neo4jMovieService movieService = new Neo4jMovieService(connector);
+
+        try (Stream<Movie> movies = movieService.streamAllMovies()) {
+            assertNull(registry.find("neo4j.service").tags("operation", "streamAllMovies").timer());
+            assertEquals(5, movies.count());
+            Thread.sleep(50);
+        }
+        movieService.forEachMovie(movie -> { });
+
+        Timer streamTimer = registry.get("neo4j.service").tags("operation", "streamAllMovies", "outcome", "success").timer();
+        assertEquals(1, streamTimer.count());
+        assertTrue(streamTimer.totalTime(TimeUnit.MILLISECONDS) >= 100, "Timer must cover consuming and closing the stream");
+        assertEquals(1, registry.get("neo4j.service").tags("operation", "forEachMovie").timer().count());
+        assertEquals(1, registry.get("neo4j.service").tags("operation", "streamAllMovies").timers().size());
+    }
+
+    @Test
+    @DisplayName("Test Retries And Errors Are Counted")
+    void testRetriesAndErrors() {
+        int[] attempts = {0};
+        server.respondContaining("RETURN 1 AS ok", (query, params) -> {
+            if (attempts[0]++ == 0) {
+                throw new BoltFailureException(BoltProfile.DEFAULT_FAILURE_CODE, "Deadlock detected");
+            }
+            return ScriptedResult.of(List.of("ok"), List.of(List.of(1L)));
+        });
+        server.respondContaining("BROKEN", (query, params) -> {
+            throw new BoltFailureException("Neo.ClientError.Statement.SyntaxError", "Invalid input");
+        });
+        connector.getMetrics().nameQuery("RETURN 1 AS ok", "ok");
+
+        connector.executeRead("RETURN 1 AS ok", Map.of(), r -> r.get("ok").asLong());
+        assertThrows(ClientException.class, () -> connector.executeWrite("BROKEN", Map.of()));
+
+        assertEquals(1, registry.get("neo4j.tx.retries").tag("query", "ok").counter().count());
+        String brokenName = connector.getMetrics().queryName("BROKEN");
+        assertTrue(brokenName.startsWith("q-"));
+        assertEquals(1, registry.get("neo4j.query.errors")
+                .tags("query", brokenName, "code", "Neo.ClientError.Statement.SyntaxError").counter().count());
+        assertEquals(1, registry.get("neo4j.query").tags("query", brokenName, "outcome", "error").timer().count());
+    }
+
+    @Test
+    @DisplayName("Test Unnamed Queries Past The Cap Share One Tag")
+    void testQueryNameCap() {
+        SimpleMeterRegistry capped = new SimpleMeterRegistry();
+        Neo4jMetrics metrics = new Neo4jMetrics(capped);
+        for (int i = 0; i < Neo4jMetrics.MAX_QUERY_NAMES; i++) {
+            record(metrics, "RETURN " + i);
+        }
+        int meters = capped.getMeters().size();
+
+        for (int i = 0; i < 100; i++) {
+            record(metrics, "RETURN 'dynamic " + i + "'");
+        }
+
+        assertEquals(Neo4jMetrics.OTHER_QUERY, metrics.queryName("RETURN 'dynamic 0'"));
+        assertEquals(meters + 4, capped.getMeters().size(), "Past the cap only the shared tag adds meters");
+        assertEquals(100, capped.get("neo4j.query").tag("query", Neo4jMetrics.OTHER_QUERY).timer().count());
+    }
+
+    private static void record(Neo4jMetrics metrics, String query) {
+        metrics.timeQuery(query, "read", () -> null);
+        metrics.recordRows(query, 1);
+        metrics.recordRetry(query, new IllegalStateException());
+        metrics.recordRetriesExhausted(query);
+    }
+
+    @Test
+    @DisplayName("Test Pool Gauges Reflect Idle Connections")
+    void testPoolGauges() {
+        connector.executeRead("RETURN 1 AS ok", Map.of());
+
+        assertEquals(0, registry.get("neo4j.pool.in.use").gauge().value());
+        assertEquals(1, registry.get("neo4j.pool.idle").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Test Disabled Metrics Record Nothing")
+    void testDisabledMetrics() {
+        Neo4jMetrics metrics = Neo4jMetrics.disabled();
+        assertFalse(metrics.isEnabled());
+        assertEquals("value", metrics.timeQuery("RETURN 1", "read", () -> "value"));
+    }
+}
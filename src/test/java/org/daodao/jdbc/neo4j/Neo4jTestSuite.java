@@ -13,6 +13,23 @@ import org.junit.platform.suite.api.SuiteDisplayName;
  * 1. Neo4jCRUDTest - Basic CRUD operations and database interactions
  * 2. Neo4jBasicFunctionalityTest - Core Neo4j features and Cypher queries
  * 3. Neo4jNewFeaturesTest - Latest Neo4j features and capabilities
+ * 4. Neo4jConfigTest - Driver configuration parsing and validation (no database needed)
+ * 5. EntityCacheTest - Entity cache eviction and statistics (no database needed)
+ * 6. AdjacencyCacheTest - Relationship adjacency caching and invalidation (no database needed)
+ * 7. FakeBoltServerTest - Connector and services against the in-process Bolt stand-in (no database needed)
+ * 8. Neo4jMetricsTest - Query, service and pool metrics (no database needed)
+ * 9. QueryLogTest - Sampled and slow-only query logging (no database needed)
+ * 10. SlowQueryLogTest - Slow statement log with plan capture (no database needed)
+ * 11. QueryRegistryTest - Named query definitions, binders and warm-up (no database needed)
+ * 12. RecordMapperTest - Positional mapping into beans and record types (no database needed)
+ * 13. CatalogueExporterTest - Partitioned parallel export with checkpoints (no database needed)
+ * 14. CatalogueImporterTest - Pipelined CSV/NDJSON import with batch retry (no database needed)
+ * 15. PaginationTest - Keyset pages and opaque page tokens (no database needed)
+ * 16. WriteBehindTest - Coalesced write-behind mutations and journal recovery (no database needed)
+ * 17. ReadBatchingTest - Concurrent getMovie calls coalesced into UNWIND lookups (no database needed)
+ * 18. MovieDetailsTest - Movie with its cast in one query (no database needed)
+ * 19. ProjectionTest - Movie reads limited to requested fields (no database needed)
+ * 20. RetryPolicyTest - Transaction retry backoff, classification and counters (no database needed)
  * 
  * Test Categories:
  * - Integration Tests: Require actual Neo4j database connection
@@ -37,7 +54,24 @@ import org.junit.platform.suite.api.SuiteDisplayName;
 @SelectClasses({
     Neo4jCRUDTest.class,
     Neo4jBasicFunctionalityTest.class,
-    Neo4jNewFeaturesTest.class
+    Neo4jNewFeaturesTest.class,
+    Neo4jConfigTest.class,
+    EntityCacheTest.class,
+    AdjacencyCacheTest.class,
+    FakeBoltServerTest.class,
+    Neo4jMetricsTest.class,
+    QueryLogTest.class,
+    SlowQueryLogTest.class,
+    QueryRegistryTest.class,
+    RecordMapperTest.class,
+    CatalogueExporterTest.class,
+    CatalogueImporterTest.class,
+    PaginationTest.class,
+    WriteBehindTest.class,
+    ReadBatchingTest.class,
+    MovieDetailsTest.class,
+    ProjectionTest.class,
+    RetryPolicyTest.class
 })
 public class Neo4jTestSuite {
     // This class serves as a test suite orchestrator
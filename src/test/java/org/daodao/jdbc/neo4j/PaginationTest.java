@@ -0,0 +1,112 @@
+package org.daodao.jdbc.neo4j;
+
+import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.model.Movie;
+import org.daodao.jdbc.model.Page;
+import org.daodao.jdbc.model.Person;
+import org.daodao.jdbc.service.Neo4jMovieService;
+import org.daodao.jdbc.support.FakeBoltServer;
+import org.daodao.jdbc.support.ScriptedResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pagination Test Cases
+ * Verifies keyset pages, opaque continuation tokens and token scoping against the Bolt
+ * stand-in. Runs without a database.
+ */
+class PaginationTest {
+
+    private static final List<String> TITLES = List.of("Alien", "Brazil", "Casablanca", "Dune", "Heat", "Ran", "Up");
+
+    private FakeBoltServer server;
+    private Neo4jConnector connector;
+    private Neo4jMovieService movieService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeBoltServer();
+        // Serves TITLES from $from on, in order, like an index seek would
+        server.respondContaining("m.title >= $from", (query, params) -> {
+            String from = (String) params.get("from");
+            long limit = (Long) params.get("limit");
+            List<List<Object>> rows = TITLES.stream()
+                    .filter(title -> title.compareTo(from) >= 0)
+                    .limit(limit)
+                    .map(title -> List.<Object>of(title, 2000L, "Drama", "Plot"))
+                    .collect(Collectors.toList());
+            return ScriptedResult.of(List.of("title", "year", "genre", "description"), rows);
+        });
+        connector = new Neo4jConnector(server.config());
+        movieService = new Neo4jMovieService(connector);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connector.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Test Pages Cover All Movies Without SKIP")
+    void testPagesInOrder() {
+        List<String> seen = new ArrayList<>();
+        String token = null;
+        int pages = 0;
+        do {
+            Page<Movie> page = movieService.listMovies(token, 3);
+            page.getItems().forEach(movie -> seen.add(movie.getTitle()));
+            token = page.getNextPageToken();
+            pages++;
+            if (token != null) {
+                assertFalse(token.contains(page.getItems().get(0).getTitle()), "Tokens must be opaque");
+            }
+        } while (token != null);
+
+        assertEquals(TITLES, seen);
+        assertEquals(3, pages);
+        assertTrue(server.getQueries().stream().noneMatch(q -> q.contains("SKIP")));
+    }
+
+    @Test
+    @DisplayName("Test Exact Final Page Has No Next Token")
+    void testExactLastPage() {
+        Page<Movie> page = movieService.listMovies(null, TITLES.size());
+
+        assertEquals(TITLES.size(), page.getItems().size());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    @DisplayName("Test Tokens Are Scoped To Their Listing")
+    void testTokenScope() {
+        String token = movieService.listMoviesByActor("Keanu Reeves", null, 2).getNextPageToken();
+        assertNotNull(token);
+
+        Page<Movie> next = movieService.listMoviesByActor("Keanu Reeves", token, 2);
+        assertEquals("Casablanca", next.getItems().get(0).getTitle());
+        assertThrows(IllegalArgumentException.class, () -> movieService.listMoviesByActor("Al Pacino", token, 2));
+        assertThrows(IllegalArgumentException.class, () -> movieService.listMovies(token, 2));
+        assertThrows(IllegalArgumentException.class, () -> movieService.listMovies("not a token!", 2));
+        assertThrows(IllegalArgumentException.class, () -> movieService.listMovies(null, 0));
+    }
+
+    @Test
+    @DisplayName("Test Person Listing Binds Scope And Limit")
+    void testPersonListing() {
+        Page<Person> page = movieService.listActorsInMovie("Heat", null, 5);
+
+        assertEquals(5, page.getItems().size());
+        assertTrue(page.hasNext());
+        assertTrue(server.getQueries().stream().anyMatch(q -> q.contains("a.name >= $from") && q.endsWith("LIMIT $limit")));
+    }
+}
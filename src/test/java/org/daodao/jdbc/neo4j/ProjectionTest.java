@@ -0,0 +1,112 @@
+package org.daodao.jdbc.neo4j;
+
+import org.daodao.jdbc.config.Neo4jConfig;
+import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.model.Movie;
+import org.daodao.jdbc.model.MovieField;
+import org.daodao.jdbc.model.Page;
+import org.daodao.jdbc.service.Neo4jMovieService;
+import org.daodao.jdbc.support.BoltProfile;
+import org.daodao.jdbc.support.FakeBoltServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Projection Test Cases
+ * Verifies that projected movie reads ask the server only for the requested fields and map
+ * into sparse movies, against the Bolt stand-in. Runs without a database.
+ */
+class ProjectionTest {
+
+    private FakeBoltServer server;
+    private Neo4jConnector connector;
+    private Neo4jMovieService movieService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeBoltServer(BoltProfile.defaults().withRecordCount(5));
+        Properties props = new Properties();
+        props.setProperty("neo4j.uri", server.getUri());
+        props.setProperty("neo4j.username", "neo4j");
+        props.setProperty("neo4j.password", "");
+        props.setProperty("neo4j.cache.adjacency.max-entries", "100");
+        props.setProperty("neo4j.cache.entity.max-size", "100");
+        connector = new Neo4jConnector(new Neo4jConfig(props));
+        movieService = new Neo4jMovieService(connector);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connector.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Test Projected Listing Returns Sparse Movies")
+    void testSparseListing() {
+        List<Movie> movies = movieService.getAllMovies(EnumSet.of(MovieField.YEAR));
+
+        assertEquals(5, movies.size());
+        assertTrue(movies.stream().allMatch(m -> m.getTitle() != null && m.getYear() != null
+                && m.getGenre() == null && m.getDescription() == null));
+        String query = lastQuery();
+        assertTrue(query.contains("RETURN m.title as title, m.year as year ORDER BY"), query);
+        assertFalse(query.contains("description"));
+    }
+
+    @Test
+    @DisplayName("Test All Fields Reuse The Full Statement")
+    void testFullProjection() {
+        movieService.getAllMovies();
+        String full = lastQuery();
+        movieService.getAllMovies(EnumSet.allOf(MovieField.class));
+
+        assertEquals(full, lastQuery());
+        assertEquals(5, movieService.getAllMovies(EnumSet.of(MovieField.TITLE, MovieField.DESCRIPTION)).stream()
+                .filter(m -> m.getDescription() != null && m.getGenre() == null).count());
+    }
+
+    @Test
+    @DisplayName("Test Title-Only Pages Keep Their Tokens")
+    void testTitleOnlyPages() {
+        Page<Movie> page = movieService.listMovies(null, 2, EnumSet.noneOf(MovieField.class));
+
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.hasNext());
+        assertNull(page.getItems().get(0).getYear());
+        assertTrue(lastQuery().contains("RETURN m.title as title ORDER BY m.title LIMIT $limit"), lastQuery());
+        assertEquals(2, movieService.listMovies(page.getNextPageToken(), 2, EnumSet.of(MovieField.GENRE)).getItems().size());
+    }
+
+    @Test
+    @DisplayName("Test Cached Filmography Is Projected Locally")
+    void testCachedFilmography() {
+        List<Movie> full = movieService.getMoviesByActor("Keanu Reeves");
+        int queries = server.getQueries().size();
+
+        List<Movie> projected = movieService.getMoviesByActor("Keanu Reeves", EnumSet.of(MovieField.GENRE));
+
+        assertEquals(queries, server.getQueries().size(), "A cached filmography needs no query");
+        assertEquals(full.size(), projected.size());
+        assertEquals(full.get(0).getGenre(), projected.get(0).getGenre());
+        assertNull(projected.get(0).getDescription());
+        assertNull(projected.get(0).getYear());
+
+        movieService.getMoviesByDirector("Lana Wachowski", EnumSet.of(MovieField.YEAR));
+        assertTrue(lastQuery().endsWith("RETURN m.title as title, m.year as year"), lastQuery());
+    }
+
+    private String lastQuery() {
+        List<String> queries = server.getQueries();
+        return queries.get(queries.size() - 1);
+    }
+}
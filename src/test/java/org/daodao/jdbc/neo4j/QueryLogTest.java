@@ -0,0 +1,116 @@
+package org.daodao.jdbc.neo4j;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.daodao.jdbc.logging.QueryLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query Log Test Cases
+ * Verifies slow-only filtering and per-name rate limiting of the query log, including names
+ * beyond the tracking cap. Runs without a database.
+ */
+class QueryLogTest {
+
+    private Logger logger;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        logger = (Logger) LoggerFactory.getLogger(QueryLog.LOGGER_NAME);
+        appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    @DisplayName("Test Slow Mode Logs Only Slow Queries")
+    void testSlowMode() {
+        QueryLog queryLog = new QueryLog(QueryLog.Mode.SLOW, 100, 0);
+        queryLog.record("movie.get", "MATCH (m) RETURN m", "read", TimeUnit.MILLISECONDS.toNanos(5), true);
+        queryLog.record("movie.get", "MATCH (m) RETURN m", "read", TimeUnit.MILLISECONDS.toNanos(150), true);
+
+        assertEquals(1, appender.list.size());
+        ILoggingEvent event = appender.list.get(0);
+        assertEquals(Level.WARN, event.getLevel());
+        assertTrue(event.getFormattedMessage().contains("name=movie.get"));
+        assertTrue(event.getFormattedMessage().contains("cypher=MATCH (m) RETURN m"));
+    }
+
+    @Test
+    @DisplayName("Test Names Beyond The Tracking Cap Share One Rate Limit")
+    void testTrackedNamesCap() {
+        QueryLog queryLog = new QueryLog(QueryLog.Mode.SAMPLED, 10_000, 60_000);
+        // Fill the name table up to its cap of 10,000 without writing to the configured appenders
+        logger.setAdditive(false);
+        try {
+            for (int i = 0; i < 10_000; i++) {
+                queryLog.record("q-" + i, "q", "read", 1_000, true);
+            }
+        } finally {
+            logger.setAdditive(true);
+        }
+        appender.list.clear();
+
+        for (int i = 0; i < 100; i++) {
+            queryLog.record("adhoc-" + i, "q", "read", 1_000, true);
+        }
+        queryLog.record("q-0", "q", "read", 1_000, true);
+
+        assertEquals(1, appender.list.size(), "Untracked names must not bypass the rate limit");
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("name=adhoc-0"));
+    }
+
+    @Test
+    @DisplayName("Test Sampled Mode Rate Limits Per Query Name")
+    void testSampledRateLimit() {
+        QueryLog queryLog = new QueryLog(QueryLog.Mode.SAMPLED, 10_000, 60_000);
+        for (int i = 0; i < 5; i++) {
+            queryLog.record("movie.get", "q1", "read", 1_000, true);
+            queryLog.record("movie.all", "q2", "read", 1_000, true);
+        }
+
+        assertEquals(2, appender.list.size());
+        assertEquals(Level.INFO, appender.list.get(0).getLevel());
+    }
+
+    @Test
+    @DisplayName("Test Suppressed Count Is Reported")
+    void testSuppressedCount() throws InterruptedException {
+        QueryLog queryLog = new QueryLog(QueryLog.Mode.SAMPLED, 10_000, 20);
+        for (int i = 0; i < 4; i++) {
+            queryLog.record("movie.get", "q1", "read", 1_000, true);
+        }
+        Thread.sleep(30);
+        queryLog.record("movie.get", "q1", "read", 1_000, false);
+
+        assertEquals(2, appender.list.size());
+        String message = appender.list.get(1).getFormattedMessage();
+        assertTrue(message.contains("suppressed=3"), message);
+        assertTrue(message.contains("outcome=error"), message);
+    }
+
+    @Test
+    @DisplayName("Test Off Mode Logs Nothing")
+    void testOffMode() {
+        QueryLog queryLog = QueryLog.off();
+        queryLog.record("movie.get", "q1", "read", TimeUnit.SECONDS.toNanos(10), true);
+        assertFalse(queryLog.isEnabled());
+        assertTrue(appender.list.isEmpty());
+    }
+}
@@ -0,0 +1,128 @@
+package org.daodao.jdbc.neo4j;
+
+import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.model.Movie;
+import org.daodao.jdbc.queries.QueryDefinition;
+import org.daodao.jdbc.queries.QueryRegistry;
+import org.daodao.jdbc.service.Neo4jDatabaseInitializer;
+import org.daodao.jdbc.support.BoltFailureException;
+import org.daodao.jdbc.support.FakeBoltServer;
+import org.daodao.jdbc.support.ScriptedResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Query;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.neo4j.driver.Values.parameters;
+
+/**
+ * Query Registry Test Cases
+ * Verifies named query definitions, typed parameter binding and startup warm-up against the Bolt
+ * stand-in. Runs without a database.
+ */
+class QueryRegistryTest {
+
+    private static final QueryDefinition<Movie> CREATE = QueryDefinition.write("test.create",
+            "CREATE (m:Movie {title: $title, year: $year})",
+            (Movie movie) -> parameters("title", movie.getTitle(), "year", movie.getYear()))
+            .withSample(new Movie("", 0, "", ""));
+
+    private FakeBoltServer server;
+    private Neo4jConnector connector;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeBoltServer();
+        connector = new Neo4jConnector(server.config());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connector.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Test Duplicate Query Name Is Rejected")
+    void testDuplicateName() {
+        QueryRegistry registry = new QueryRegistry();
+        registry.register(CREATE);
+
+        assertThrows(IllegalArgumentException.class, () -> registry.register(
+                QueryDefinition.read("test.create", "MATCH (m:Movie) RETURN m.title as title", (Void ignored) -> parameters())));
+        assertSame(CREATE, registry.get("test.create"));
+        assertEquals(Map.of(CREATE.cypher(), "test.create"), registry.names());
+        assertThrows(IllegalArgumentException.class, () -> registry.get("missing"));
+    }
+
+    @Test
+    @DisplayName("Test Binder Produces Fixed Text And Typed Parameters")
+    void testBind() {
+        Query query = CREATE.bind(new Movie("Heat", 1995, "Crime", "Heist"));
+
+        assertEquals(CREATE.cypher(), query.text());
+        assertEquals("Heat", query.parameters().get("title").asString());
+        assertEquals(1995, query.parameters().get("year").asInt());
+        assertEquals(2, query.parameters().size());
+    }
+
+    @Test
+    @DisplayName("Test Warm-Up Explains Each Query With Sample Parameters")
+    void testWarmUp() {
+        List<Map<String, Object>> explained = new CopyOnWriteArrayList<>();
+        server.respond(q -> q.startsWith("EXPLAIN "), (query, params) -> {
+            explained.add(params);
+            return ScriptedResult.empty();
+        });
+        QueryRegistry registry = new QueryRegistry();
+        registry.register(CREATE);
+        registry.register(QueryDefinition.schema("test.index", "CREATE INDEX test_index IF NOT EXISTS FOR (m:Movie) ON (m.year)"));
+
+        assertEquals(1, registry.warmUp(connector));
+        assertEquals(List.of("EXPLAIN " + CREATE.cypher()), server.getQueries());
+        assertEquals(Map.of("title", "", "year", 0L), explained.get(0));
+    }
+
+    @Test
+    @DisplayName("Test Warm-Up Skips Failing Queries")
+    void testWarmUpFailure() {
+        server.respondContaining("broken", (query, params) -> {
+            throw new BoltFailureException("Neo.ClientError.Statement.SyntaxError", "Invalid input");
+        });
+        QueryRegistry registry = new QueryRegistry();
+        registry.register(QueryDefinition.read("test.broken", "MATCH (m:Movie) RETURN broken(m)", (Void ignored) -> parameters()));
+        registry.register(CREATE);
+
+        assertEquals(1, registry.warmUp(connector));
+    }
+
+    @Test
+    @DisplayName("Test Warm-Up Explains Writes In Write Sessions")
+    void testWarmUpAccessModes() {
+        QueryRegistry registry = new QueryRegistry();
+        QueryDefinition<String> read = registry.register(QueryDefinition.read("test.get",
+                "MATCH (m:Movie {title: $title}) RETURN m.year", (String title) -> parameters("title", title)).withSample(""));
+        registry.register(CREATE);
+
+        assertEquals(2, registry.warmUp(connector));
+        assertEquals(2, server.getQueries().size());
+        assertEquals(List.of("EXPLAIN " + read.cypher()), server.getReadQueries());
+    }
+
+    @Test
+    @DisplayName("Test Initializer Warms Every Movie Query")
+    void testInitializerWarmUp() {
+        int warmed = new Neo4jDatabaseInitializer(connector).warmUpQueries();
+
+        assertTrue(warmed > 10, "Expected every movie query to be warmed, got " + warmed);
+        assertEquals(warmed, server.getQueries().stream().filter(q -> q.startsWith("EXPLAIN ")).count());
+        assertTrue(server.getQueries().stream().noneMatch(q -> q.contains("CREATE CONSTRAINT") || q.contains("CREATE INDEX")));
+    }
+}
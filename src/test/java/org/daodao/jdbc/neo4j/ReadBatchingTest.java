@@ -0,0 +1,201 @@
+package org.daodao.jdbc.neo4j;
+
+import org.daodao.jdbc.config.Neo4jConfig;
+import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.model.Movie;
+import org.daodao.jdbc.service.Neo4jMovieService;
+import org.daodao.jdbc.support.BoltFailureException;
+import org.daodao.jdbc.support.FakeBoltServer;
+import org.daodao.jdbc.support.ScriptedResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Read Batching Test Cases
+ * Verifies that concurrent getMovie calls are coalesced into UNWIND lookups, deduplicated and
+ * answered individually, and that lookups after a write do not share an older load, against the
+ * Bolt stand-in. Runs without a database.
+ */
+class ReadBatchingTest {
+
+    private FakeBoltServer server;
+    private Neo4jConnector connector;
+    private final ConcurrentLinkedQueue<List<?>> batches = new ConcurrentLinkedQueue<>();
+    private final Map<String, String> descriptions = new ConcurrentHashMap<>();
+    private final CountDownLatch heldLoadStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseHeldLoad = new CountDownLatch(1);
+    private volatile String heldTitle;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeBoltServer();
+        server.respondContaining("UNWIND $titles", (query, params) -> {
+            List<?> titles = (List<?>) params.get("titles");
+            batches.add(titles);
+            if (titles.contains("Broken")) {
+                throw new BoltFailureException("Neo.ClientError.Statement.ArgumentError", "Broken title");
+            }
+            List<List<Object>> rows = new ArrayList<>();
+            for (Object title : titles) {
+                if (!"Missing".equals(title)) {
+                    rows.add(List.of(title, 2000L, "Drama", descriptions.getOrDefault((String) title, "About " + title)));
+                }
+            }
+            if (titles.contains(heldTitle)) {
+                heldLoadStarted.countDown();
+                await(releaseHeldLoad);
+            }
+            return ScriptedResult.of(List.of("title", "year", "genre", "description"), rows);
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (connector != null) {
+            connector.close();
+        }
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Test Concurrent Lookups Share Batches")
+    void testCoalescing() throws Exception {
+        try (Neo4jMovieService service = service(100, 50)) {
+            List<Movie> movies = concurrently(50, i -> () -> service.getMovie("Movie " + i));
+
+            for (int i = 0; i < 50; i++) {
+                assertEquals("Movie " + i, movies.get(i).getTitle());
+                assertEquals("About Movie " + i, movies.get(i).getDescription());
+            }
+            assertTrue(batches.size() < 10, "50 lookups took " + batches.size() + " queries");
+            assertEquals(50, batches.stream().mapToInt(List::size).sum());
+            assertTrue(server.getQueries().stream().noneMatch(q -> q.startsWith("MATCH (m:Movie {title: $title})")));
+        }
+    }
+
+    @Test
+    @DisplayName("Test Identical Keys Are Loaded Once")
+    void testDeduplication() throws Exception {
+        try (Neo4jMovieService service = service(100, 50)) {
+            List<Movie> movies = concurrently(20, i -> () -> service.getMovie("Heat"));
+
+            assertEquals(20, movies.stream().filter(movie -> "Heat".equals(movie.getTitle())).count());
+            assertEquals(1, batches.stream().mapToInt(List::size).sum());
+            movies.get(0).setDescription("changed");
+            assertEquals("About Heat", movies.get(1).getDescription(), "Callers must not share instances");
+        }
+    }
+
+    @Test
+    @DisplayName("Test Full Batch Dispatches Before The Window")
+    void testMaxBatchSize() throws Exception {
+        try (Neo4jMovieService service = service(5, 60_000)) {
+            long start = System.nanoTime();
+            List<Movie> movies = concurrently(10, i -> () -> service.getMovie("Movie " + i));
+
+            assertEquals(10, movies.size());
+            assertEquals(2, batches.size());
+            assertTrue(batches.stream().allMatch(batch -> batch.size() == 5));
+            assertTrue(System.nanoTime() - start < 10_000_000_000L, "A full batch must not wait for the window");
+        }
+    }
+
+    @Test
+    @DisplayName("Test Missing Titles And Failures Reach Their Callers")
+    void testMissingAndFailure() {
+        try (Neo4jMovieService service = service(100, 1)) {
+            assertNull(service.getMovie("Missing"));
+            assertThrows(RuntimeException.class, () -> service.getMovie("Broken"));
+            assertEquals("Alien", service.getMovie("Alien").getTitle());
+        }
+    }
+
+    @Test
+    @DisplayName("Test Lookup After A Write Does Not Share An Older Load")
+    void testWriteDuringLoad() throws Exception {
+        server.respond(q -> q.startsWith("MATCH (m:Movie {title: $title}) SET"), (query, params) -> {
+            descriptions.put((String) params.get("title"), (String) params.get("description"));
+            return ScriptedResult.empty();
+        });
+        heldTitle = "Heat";
+        try (Neo4jMovieService service = service(100, 1, 100)) {
+            CompletableFuture<Movie> before = CompletableFuture.supplyAsync(() -> service.getMovie("Heat"));
+            assertTrue(heldLoadStarted.await(5, TimeUnit.SECONDS));
+            service.updateMovie("Heat", new Movie("Heat", 1995, "Crime", "Remastered"));
+            heldTitle = null;
+
+            Movie after = CompletableFuture.supplyAsync(() -> service.getMovie("Heat")).get(5, TimeUnit.SECONDS);
+            releaseHeldLoad.countDown();
+
+            assertEquals("Remastered", after.getDescription());
+            assertEquals("About Heat", before.get(5, TimeUnit.SECONDS).getDescription());
+            assertEquals(2, batches.size());
+            assertEquals("Remastered", service.getMovie("Heat").getDescription(), "The older load must not be cached");
+            assertEquals(2, batches.size());
+        }
+    }
+
+    private Neo4jMovieService service(int maxSize, long windowMs) {
+        return service(maxSize, windowMs, 0);
+    }
+
+    private Neo4jMovieService service(int maxSize, long windowMs, int cacheSize) {
+        Properties props = new Properties();
+        props.setProperty("neo4j.uri", server.getUri());
+        props.setProperty("neo4j.username", "neo4j");
+        props.setProperty("neo4j.password", "");
+        props.setProperty("neo4j.read-batch.max-size", String.valueOf(maxSize));
+        props.setProperty("neo4j.read-batch.window-ms", String.valueOf(windowMs));
+        props.setProperty("neo4j.cache.entity.max-size", String.valueOf(cacheSize));
+        connector = new Neo4jConnector(new Neo4jConfig(props));
+        return new Neo4jMovieService(connector);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static <T> List<T> concurrently(int callers, IntFunction<Callable<T>> call) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < callers; i++) {
+                Callable<T> task = call.apply(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+        }
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+}
@@ -0,0 +1,118 @@
+package org.daodao.jdbc.neo4j;
+
+import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.model.Movie;
+import org.daodao.jdbc.queries.RecordMapper;
+import org.daodao.jdbc.service.Neo4jMovieService;
+import org.daodao.jdbc.support.FakeBoltServer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.InternalRecord;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Record Mapper Test Cases
+ * Verifies positional mapping into beans and record types, null handling, column
+ * re-resolution when the result layout changes and results with different layouts mapped
+ * concurrently. Runs without a database.
+ */
+class RecordMapperTest {
+
+    record MovieRow(String title, int year, Integer rank, String genre) {
+    }
+
+    @Test
+    @DisplayName("Test Record Type Mapping By Component Name")
+    void testRecordType() {
+        RecordMapper<MovieRow> mapper = RecordMapper.forRecord(MovieRow.class);
+        Record record = new InternalRecord(List.of("genre", "title", "year", "rank"), new Value[]{
+                Values.value("Crime"), Values.value("Heat"), Values.value(1995), Values.value(7)});
+
+        assertEquals(List.of("title", "year", "rank", "genre"), mapper.columns());
+        assertEquals(new MovieRow("Heat", 1995, 7, "Crime"), mapper.apply(record));
+    }
+
+    @Test
+    @DisplayName("Test Null And Missing Columns")
+    void testNullsAndMissingColumns() {
+        RecordMapper<MovieRow> mapper = RecordMapper.forRecord(MovieRow.class);
+        Record record = new InternalRecord(List.of("title", "year"), new Value[]{Values.value("Heat"), Values.NULL});
+
+        assertEquals(new MovieRow("Heat", 0, null, null), mapper.apply(record));
+    }
+
+    @Test
+    @DisplayName("Test Columns Re-Resolved When Layout Changes")
+    void testLayoutChange() {
+        RecordMapper<Movie> mapper = RecordMapper.of((record, columns) -> new Movie(
+                columns.string(record, 0), columns.integer(record, 1), null, null), "title", "year");
+
+        Movie first = mapper.apply(new InternalRecord(List.of("title", "year"),
+                new Value[]{Values.value("Heat"), Values.value(1995)}));
+        Movie second = mapper.apply(new InternalRecord(List.of("year", "title"),
+                new Value[]{Values.value(1999), Values.value("The Matrix")}));
+
+        assertEquals("Heat", first.getTitle());
+        assertEquals(1995, first.getYear());
+        assertEquals("The Matrix", second.getTitle());
+        assertEquals(1999, second.getYear());
+    }
+
+    @Test
+    @DisplayName("Test Results With Different Layouts Mapped Concurrently")
+    void testConcurrentLayouts() throws Exception {
+        RecordMapper<Movie> mapper = RecordMapper.of((record, columns) -> new Movie(
+                columns.string(record, 0), columns.integer(record, 1), null, null), "title", "year");
+        Record heat = new InternalRecord(List.of("title", "year"), new Value[]{Values.value("Heat"), Values.value(1995)});
+        Record matrix = new InternalRecord(List.of("year", "title"), new Value[]{Values.value(1999), Values.value("The Matrix")});
+        Function<Record, Movie> boundHeat = RecordMapper.forResult(mapper, heat.keys());
+        Function<Record, Movie> boundMatrix = RecordMapper.forResult(mapper, matrix.keys());
+
+        List<Future<?>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int worker = 0; worker < 4; worker++) {
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        assertEquals("Heat", mapper.apply(heat).getTitle());
+                        assertEquals(1999, mapper.apply(matrix).getYear());
+                        assertEquals(1995, boundHeat.apply(heat).getYear());
+                        assertEquals("The Matrix", boundMatrix.apply(matrix).getTitle());
+                    }
+                }));
+            }
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        Function<Record, Movie> plain = record -> null;
+        assertSame(plain, RecordMapper.forResult(plain, heat.keys()));
+    }
+
+    @Test
+    @DisplayName("Test Service Mapping Over The Bolt Stand-In")
+    void testServiceMapping() throws IOException {
+        try (FakeBoltServer server = new FakeBoltServer()) {
+            Neo4jConnector connector = new Neo4jConnector(server.config());
+            try {
+                List<Movie> movies = new Neo4jMovieService(connector).getAllMovies();
+
+                assertFalse(movies.isEmpty());
+                assertTrue(movies.stream().allMatch(m -> m.getTitle() != null && m.getYear() != null));
+            } finally {
+                connector.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package org.daodao.jdbc.neo4j;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.daodao.jdbc.config.Neo4jConfig;
+import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.connectors.RetryPolicy;
+import org.daodao.jdbc.metrics.Neo4jMetrics;
+import org.daodao.jdbc.model.Person;
+import org.daodao.jdbc.service.Neo4jBulkLoader;
+import org.daodao.jdbc.support.BoltFailureException;
+import org.daodao.jdbc.support.FakeBoltServer;
+import org.daodao.jdbc.support.ScriptedResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.exceptions.DatabaseException;
+import org.neo4j.driver.exceptions.TransientException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Retry Policy Test Cases
+ * Verifies backoff bounds, transient versus fatal classification, the retry time budget and
+ * per-query retry counters against the Bolt stand-in. Runs without a database.
+ */
+class RetryPolicyTest {
+
+    private static final String DEADLOCK = "Neo.TransientError.Transaction.DeadlockDetected";
+
+    private FakeBoltServer server;
+    private SimpleMeterRegistry registry;
+    private Neo4jConnector connector;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeBoltServer();
+        registry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (connector != null) {
+            connector.close();
+        }
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Test Backoff Doubles Up To The Cap Within The Jitter")
+    void testBackoff() {
+        RetryPolicy exact = new RetryPolicy(1000, 10, 50, 0, Neo4jMetrics.disabled());
+        assertEquals(List.of(10L, 20L, 40L, 50L, 50L), List.of(exact.backoffMillis(1), exact.backoffMillis(2),
+                exact.backoffMillis(3), exact.backoffMillis(4), exact.backoffMillis(40)));
+
+        RetryPolicy jittered = new RetryPolicy(1000, 100, 1000, 0.5, Neo4jMetrics.disabled());
+        for (int i = 0; i < 100; i++) {
+            long delay = jittered.backoffMillis(2);
+            assertTrue(delay >= 100 && delay <= 300, "Delay out of range: " + delay);
+        }
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(1000, 100, 10, 0, Neo4jMetrics.disabled()));
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(1000, 10, 100, 1.5, Neo4jMetrics.disabled()));
+    }
+
+    @Test
+    @DisplayName("Test Deadlocks Are Retried Quickly And Counted")
+    void testDeadlockRecovery() {
+        AtomicInteger attempts = new AtomicInteger();
+        server.respondContaining("MERGE (p:Person", (query, params) -> {
+            if (attempts.incrementAndGet() <= 3) {
+                throw new BoltFailureException(DEADLOCK, "Deadlock detected");
+            }
+            return ScriptedResult.empty();
+        });
+        connector = connector(10_000);
+        connector.getMetrics().nameQuery("MERGE (p:Person {name: $name})", "person.merge");
+
+        long start = System.nanoTime();
+        connector.executeWrite("MERGE (p:Person {name: $name})", Map.of("name", "Keanu Reeves"));
+
+        assertEquals(4, attempts.get());
+        assertTrue(System.nanoTime() - start < 1_000_000_000L, "Three retries must not take a second");
+        assertEquals(3, registry.get("neo4j.tx.retries").tags("query", "person.merge", "code", DEADLOCK).counter().count());
+        assertEquals(1, server.getCommitCount());
+    }
+
+    @Test
+    @DisplayName("Test Fatal Errors Are Not Retried")
+    void testFatalErrors() {
+        server.respondContaining("FAILS", (query, params) -> {
+            throw new BoltFailureException("Neo.DatabaseError.General.UnknownError", "Disk full");
+        });
+        server.respondContaining("TERMINATED", (query, params) -> {
+            throw new BoltFailureException("Neo.TransientError.Transaction.Terminated", "Terminated by an admin");
+        });
+        connector = connector(10_000);
+
+        assertThrows(DatabaseException.class, () -> connector.executeWrite("FAILS", Map.of()));
+        assertThrows(TransientException.class, () -> connector.executeWrite("TERMINATED", Map.of()));
+
+        assertEquals(2, server.getQueryCount());
+        assertTrue(registry.find("neo4j.tx.retries").counters().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test Retries Stop At The Max Retry Time")
+    void testRetryBudget() {
+        server.respondContaining("MERGE (p:Person", (query, params) -> {
+            throw new BoltFailureException(DEADLOCK, "Deadlock detected");
+        });
+        connector = connector(200);
+        String query = "MERGE (p:Person {name: $name})";
+
+        long start = System.nanoTime();
+        assertThrows(TransientException.class, () -> connector.executeWrite(query, Map.of("name", "Keanu Reeves")));
+
+        assertTrue(System.nanoTime() - start < 2_000_000_000L);
+        assertTrue(server.getQueryCount() > 1);
+        assertEquals(server.getQueryCount() - 1, (int) registry.get("neo4j.tx.retries").counter().count());
+        assertEquals(1, registry.get("neo4j.tx.retries.exhausted").counter().count());
+    }
+
+    @Test
+    @DisplayName("Test Parallel Bulk Loads Recover From Lock Contention")
+    void testParallelBulkLoads() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        server.respond(q -> q.startsWith("UNWIND $rows"), (query, params) -> {
+            if (attempts.incrementAndGet() % 2 == 1) {
+                throw new BoltFailureException(DEADLOCK, "Deadlock detected");
+            }
+            return ScriptedResult.empty();
+        });
+        connector = connector(10_000);
+        Neo4jBulkLoader loader = new Neo4jBulkLoader(connector, 10);
+
+        List<Future<Long>> loads = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int writer = 0; writer < 4; writer++) {
+                List<Person> persons = new ArrayList<>();
+                for (int i = 0; i < 30; i++) {
+                    persons.add(new Person("Person " + (i % 5), 1960 + i, "American"));
+                }
+                loads.add(executor.submit(() -> loader.loadPersons(persons).getRows()));
+            }
+        }
+
+        for (Future<Long> load : loads) {
+            assertEquals(30L, load.get());
+        }
+        assertEquals(12, server.getCommitCount(), "Every batch commits exactly once");
+        assertTrue(registry.get("neo4j.tx.retries").counter().count() >= 1);
+    }
+
+    private Neo4jConnector connector(long maxRetryTimeMs) {
+        Properties props = new Properties();
+        props.setProperty("neo4j.uri", server.getUri());
+        props.setProperty("neo4j.username", "neo4j");
+        props.setProperty("neo4j.password", "");
+        props.setProperty("neo4j.retry.max-time-ms", String.valueOf(maxRetryTimeMs));
+        props.setProperty("neo4j.retry.initial-backoff-ms", "10");
+        props.setProperty("neo4j.retry.max-backoff-ms", "50");
+        return new Neo4jConnector(new Neo4jConfig(props), new Neo4jMetrics(registry));
+    }
+}
@@ -0,0 +1,135 @@
+package org.daodao.jdbc.neo4j;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.daodao.jdbc.config.Neo4jConfig;
+import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.logging.QueryLog;
+import org.daodao.jdbc.logging.SlowQueryLog;
+import org.daodao.jdbc.model.Movie;
+import org.daodao.jdbc.service.Neo4jMovieService;
+import org.daodao.jdbc.support.FakeBoltServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Slow Query Log Test Cases
+ * Verifies slow statements are logged once, with parameter shapes and rate-limited plan captures
+ * shared with derived connectors, against the Bolt stand-in. Runs without a database.
+ */
+class SlowQueryLogTest {
+
+    private FakeBoltServer server;
+    private Neo4jConnector connector;
+    private Logger logger;
+    private ListAppender<ILoggingEvent> appender;
+    private Logger queryLogger;
+    private ListAppender<ILoggingEvent> queryAppender;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeBoltServer();
+        Properties props = new Properties();
+        props.setProperty("neo4j.uri", server.getUri());
+        props.setProperty("neo4j.username", "neo4j");
+        props.setProperty("neo4j.password", "");
+        props.setProperty("neo4j.slow-query.threshold-ms", "0");
+        props.setProperty("neo4j.slow-query.profile-interval-ms", "60000");
+        props.setProperty("neo4j.query-log.mode", "slow");
+        props.setProperty("neo4j.query-log.slow-threshold-ms", "0");
+        connector = new Neo4jConnector(new Neo4jConfig(props));
+
+        logger = (Logger) LoggerFactory.getLogger(SlowQueryLog.LOGGER_NAME);
+        appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        queryLogger = (Logger) LoggerFactory.getLogger(QueryLog.LOGGER_NAME);
+        queryAppender = new ListAppender<>();
+        queryAppender.start();
+        queryLogger.addAppender(queryAppender);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        logger.detachAppender(appender);
+        queryLogger.detachAppender(queryAppender);
+        connector.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Test Slow Read Is Logged With Profile Captured Once")
+    void testReadProfiledOnce() throws InterruptedException {
+        Neo4jMovieService movieService = new Neo4jMovieService(connector);
+        movieService.getMovie("The Matrix");
+        movieService.getMovie("Inception");
+
+        List<String> messages = awaitMessages(2);
+        assertTrue(messages.stream().allMatch(m -> m.contains("name=movie.get") && m.contains("params={title:String}")), messages.toString());
+        assertFalse(messages.stream().anyMatch(m -> m.contains("The Matrix") || m.contains("Inception")), "Parameter values must not be logged");
+        assertEquals(1, messages.stream().filter(m -> m.contains("plan=ProduceResults(rows=1, dbHits=0) <- NodeByLabelScan(rows=1, dbHits=2) totalDbHits=2")).count(), messages.toString());
+        assertEquals(1, messages.stream().filter(m -> m.contains("plan=not captured")).count(), messages.toString());
+        assertEquals(1, server.getQueries().stream().filter(q -> q.startsWith("PROFILE ")).count());
+    }
+
+    @Test
+    @DisplayName("Test Slow Write Is Explained Not Profiled")
+    void testWriteExplained() throws InterruptedException {
+        new Neo4jMovieService(connector).createMovie(new Movie("Heat", 1995, "Crime", "Heist"));
+
+        List<String> messages = awaitMessages(1);
+        assertTrue(messages.get(0).contains("title:String") && messages.get(0).contains("year:Integer"), messages.toString());
+        assertFalse(messages.get(0).contains("Heist"), "Parameter values must not be logged");
+        assertTrue(messages.get(0).contains("plan=ProduceResults <- NodeByLabelScan"), messages.toString());
+        assertTrue(server.getQueries().stream().anyMatch(q -> q.startsWith("EXPLAIN MERGE")));
+        assertTrue(server.getQueries().stream().noneMatch(q -> q.startsWith("PROFILE ")));
+    }
+
+    @Test
+    @DisplayName("Test Slow Statement Is Not Also Written To The Query Log")
+    void testNotLoggedTwice() throws InterruptedException {
+        new Neo4jMovieService(connector).getMovie("The Matrix");
+
+        assertEquals(1, awaitMessages(1).size());
+        assertTrue(queryAppender.list.isEmpty(), "Slow statements belong to the slow query log only");
+    }
+
+    @Test
+    @DisplayName("Test Derived Connectors Share The Slow Query Log")
+    void testSharedWithDerivedConnectors() throws InterruptedException {
+        Neo4jConnector other = connector.forDatabase("other");
+        new Neo4jMovieService(other).getMovie("The Matrix");
+        awaitMessages(1);
+        other.close();
+
+        Neo4jMovieService movieService = new Neo4jMovieService(connector);
+        movieService.getMovie("Inception");
+        movieService.getAllMovies();
+
+        List<String> messages = awaitMessages(3);
+        assertEquals(3, messages.size(), messages.toString());
+        assertEquals(1, messages.stream().filter(m -> m.contains("name=movie.get") && m.contains("plan=not captured")).count(),
+                "The plan captured through the derived connector counts for the parent");
+        assertTrue(messages.stream().anyMatch(m -> m.contains("name=movie.all") && m.contains("totalDbHits")),
+                "Closing a derived connector must not stop plan capture: " + messages);
+    }
+
+    private List<String> awaitMessages(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (appender.list.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return appender.list.stream().map(ILoggingEvent::getFormattedMessage).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,235 @@
+package org.daodao.jdbc.neo4j;
+
+import org.daodao.jdbc.config.Neo4jConfig;
+import org.daodao.jdbc.connectors.Neo4jConnector;
+import org.daodao.jdbc.model.Movie;
+import org.daodao.jdbc.service.Neo4jMovieService;
+import org.daodao.jdbc.support.BoltFailureException;
+import org.daodao.jdbc.support.FakeBoltServer;
+import org.daodao.jdbc.support.ScriptedResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Write-Behind Test Cases
+ * Verifies coalescing of buffered mutations, size and time flush triggers, ordering against
+ * unbuffered writes, including ones racing a delete, and journal recovery against the Bolt stand-in. Runs without a database.
+ */
+class WriteBehindTest {
+
+    private FakeBoltServer server;
+    private final ConcurrentLinkedQueue<Map<String, Object>> written = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean failing = new AtomicBoolean();
+    private final List<Neo4jConnector> connectors = new ArrayList<>();
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeBoltServer();
+        server.respond(q -> q.startsWith("UNWIND $rows"), (query, params) -> {
+            if (failing.get()) {
+                throw new BoltFailureException("Neo.DatabaseError.General.UnknownError", "Disk full");
+            }
+            for (Object row : (List<?>) params.get("rows")) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> values = (Map<String, Object>) row;
+                written.add(values);
+            }
+            return ScriptedResult.empty();
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connectors.forEach(Neo4jConnector::close);
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Test Repeated Mutations Coalesce Into One Batch")
+    void testCoalescing() {
+        try (Neo4jMovieService service = service(1000, 60_000, null)) {
+            assertTrue(service.isWriteBehind());
+            for (int i = 0; i < 50; i++) {
+                String title = "Movie " + i;
+                service.createMovie(new Movie(title, 2000, "Drama", "First"));
+                for (int revision = 1; revision <= 3; revision++) {
+                    service.updateMovie(title, new Movie(title, 2000 + revision, "Drama", "Revision " + revision));
+                }
+                service.addActor(title, "Keanu Reeves");
+                service.addActor(title, "Keanu Reeves");
+            }
+            assertTrue(writes().isEmpty(), "Nothing is written before a flush");
+
+            service.flush();
+
+            assertEquals(2, writes().size(), "300 calls must become one movie and one relationship batch");
+            assertTrue(writes().get(0).contains("MERGE (m:Movie"));
+            assertEquals(100, written.size());
+            Map<String, Object> movie = written.stream().filter(row -> "Movie 7".equals(row.get("title"))).findFirst().orElseThrow();
+            assertEquals(2003L, movie.get("year"));
+            assertEquals("Revision 3", movie.get("description"));
+        }
+    }
+
+    @Test
+    @DisplayName("Test Update Alone Stays A MATCH")
+    void testUpdateOnly() {
+        try (Neo4jMovieService service = service(1000, 60_000, null)) {
+            service.updateMovie("Heat", new Movie("ignored", 1995, "Crime", "Heist"));
+            service.updateMovie("Heat", new Movie("ignored", 1995, "Crime", "Heist, revised"));
+            service.flush();
+        }
+
+        assertEquals(1, writes().size());
+        assertTrue(writes().get(0).contains("MATCH (m:Movie {title: row.title})"), writes().get(0));
+        assertEquals("Heist, revised", written.peek().get("description"));
+    }
+
+    @Test
+    @DisplayName("Test Size And Time Triggers Flush")
+    void testTriggers() throws InterruptedException {
+        try (Neo4jMovieService service = service(10, 60_000, null)) {
+            for (int i = 0; i < 10; i++) {
+                service.createMovie(new Movie("Movie " + i, 2000, "Drama", null));
+            }
+            assertEquals(1, writes().size(), "Reaching max pending flushes on the caller");
+        }
+
+        server.resetCounters();
+        try (Neo4jMovieService service = service(1000, 50, null)) {
+            service.createMovie(new Movie("Alien", 1979, "Horror", null));
+            long deadline = System.currentTimeMillis() + 5000;
+            while (writes().isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, writes().size(), "The flush interval writes without further calls");
+        }
+    }
+
+    @Test
+    @DisplayName("Test Unbuffered Writes Flush The Buffer First")
+    void testOrdering() {
+        try (Neo4jMovieService service = service(1000, 60_000, null)) {
+            service.createMovie(new Movie("Heat", 1995, "Crime", null));
+            service.deleteMovie("Heat");
+
+            List<String> queries = server.getQueries();
+            int merge = indexOf(queries, "UNWIND $rows");
+            int delete = indexOf(queries, "DETACH DELETE");
+            assertTrue(merge >= 0 && merge < delete, queries.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Test Mutations Buffered During A Delete Land After It")
+    void testConcurrentDelete() throws Exception {
+        CountDownLatch deleting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        server.respondContaining("DETACH DELETE", (query, params) -> {
+            deleting.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ScriptedResult.empty();
+        });
+
+        try (Neo4jMovieService service = service(1000, 60_000, null);
+             ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<?> delete = executor.submit(() -> service.deleteMovie("Heat"));
+            assertTrue(deleting.await(5, TimeUnit.SECONDS));
+            service.createMovie(new Movie("Heat", 1995, "Crime", null));
+            Future<?> flush = executor.submit(service::flush);
+            Thread.sleep(100);
+            assertFalse(flush.isDone(), "A flush must wait for the delete holding the flush lock");
+
+            release.countDown();
+            delete.get(5, TimeUnit.SECONDS);
+            flush.get(5, TimeUnit.SECONDS);
+
+            List<String> queries = server.getQueries();
+            assertTrue(indexOf(queries, "DETACH DELETE") < indexOf(queries, "UNWIND $rows"), queries.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Test Journal Survives A Failed Flush")
+    void testJournalRecovery() throws IOException {
+        Path journal = directory.resolve("write-behind.journal");
+        failing.set(true);
+        Neo4jMovieService failed = service(1000, 60_000, journal, 0);
+        failed.createMovie(new Movie("Up", 2009, "Animation", "Balloons \"and\" a house"));
+        failed.updateMovie("Up", new Movie("Up", 2009, "Animation", "Balloons"));
+        failed.addActor("Up", "Ed Asner");
+        assertThrows(RuntimeException.class, failed::close);
+        assertEquals(3, Files.readAllLines(journal).size());
+        assertTrue(written.isEmpty());
+
+        failing.set(false);
+        try (Neo4jMovieService service = service(1000, 60_000, journal)) {
+            assertTrue(service.isWriteBehind());
+        }
+
+        assertEquals(2, written.size());
+        assertTrue(written.stream().anyMatch(row -> "Balloons".equals(row.get("description"))));
+        assertTrue(written.stream().anyMatch(row -> "Ed Asner".equals(row.get("personName"))));
+        assertFalse(Files.exists(journal), "A clean close leaves no journal");
+    }
+
+    private Neo4jMovieService service(int maxPending, long flushIntervalMs, Path journal) {
+        return service(maxPending, flushIntervalMs, journal, Neo4jConfig.DEFAULT_WRITE_BEHIND_JOURNAL_SYNC_MS);
+    }
+
+    private Neo4jMovieService service(int maxPending, long flushIntervalMs, Path journal, long journalSyncMs) {
+        Properties props = new Properties();
+        props.setProperty("neo4j.uri", server.getUri());
+        props.setProperty("neo4j.username", "neo4j");
+        props.setProperty("neo4j.password", "");
+        props.setProperty("neo4j.write-behind.max-pending", String.valueOf(maxPending));
+        props.setProperty("neo4j.write-behind.flush-interval-ms", String.valueOf(flushIntervalMs));
+        if (journal != null) {
+            props.setProperty("neo4j.write-behind.journal", journal.toString());
+            props.setProperty("neo4j.write-behind.journal-sync-ms", String.valueOf(journalSyncMs));
+        }
+        Neo4jConnector connector = new Neo4jConnector(new Neo4jConfig(props));
+        connectors.add(connector);
+        return new Neo4jMovieService(connector);
+    }
+
+    private List<String> writes() {
+        return server.getQueries().stream().filter(q -> q.startsWith("UNWIND $rows")).toList();
+    }
+
+    private static int indexOf(List<String> queries, String fragment) {
+        for (int i = 0; i < queries.size(); i++) {
+            if (queries.get(i).contains(fragment)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,14 @@
+package org.daodao.jdbc.support;
+
+public class BoltFailureException extends RuntimeException {
+    private final String code;
+
+    public BoltFailureException(String code, String message) {
+        super(message);
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+}
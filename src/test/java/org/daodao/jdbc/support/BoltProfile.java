@@ -0,0 +1,78 @@
+package org.daodao.jdbc.support;
+
+import java.time.Duration;
+
+/**
+ * Behaviour profile for {@link FakeBoltServer}: per-query latency, the number of records returned
+ * by synthesized reads, and the share of queries that fail with a transient error.
+ */
+public final class BoltProfile {
+    public static final String DEFAULT_FAILURE_CODE = "Neo.TransientError.Transaction.DeadlockDetected";
+
+    private final Duration queryLatency;
+    private final Duration latencyJitter;
+    private final int recordCount;
+    private final double failureRate;
+    private final String failureCode;
+
+    private BoltProfile(Duration queryLatency, Duration latencyJitter, int recordCount, double failureRate, String failureCode) {
+        if (queryLatency.isNegative() || latencyJitter.isNegative()) {
+            throw new IllegalArgumentException("Latency must not be negative");
+        }
+        if (recordCount < 0) {
+            throw new IllegalArgumentException("Record count must not be negative: " + recordCount);
+        }
+        if (failureRate < 0 || failureRate > 1) {
+            throw new IllegalArgumentException("Failure rate must be between 0 and 1: " + failureRate);
+        }
+        this.queryLatency = queryLatency;
+        this.latencyJitter = latencyJitter;
+        this.recordCount = recordCount;
+        this.failureRate = failureRate;
+        this.failureCode = failureCode;
+    }
+
+    public static BoltProfile defaults() {
+        return new BoltProfile(Duration.ZERO, Duration.ZERO, 10, 0.0, DEFAULT_FAILURE_CODE);
+    }
+
+    public BoltProfile withQueryLatency(Duration queryLatency) {
+        return new BoltProfile(queryLatency, latencyJitter, recordCount, failureRate, failureCode);
+    }
+
+    public BoltProfile withLatencyJitter(Duration latencyJitter) {
+        return new BoltProfile(queryLatency, latencyJitter, recordCount, failureRate, failureCode);
+    }
+
+    public BoltProfile withRecordCount(int recordCount) {
+        return new BoltProfile(queryLatency, latencyJitter, recordCount, failureRate, failureCode);
+    }
+
+    public BoltProfile withFailureRate(double failureRate) {
+        return new BoltProfile(queryLatency, latencyJitter, recordCount, failureRate, failureCode);
+    }
+
+    public BoltProfile withFailureCode(String failureCode) {
+        return new BoltProfile(queryLatency, latencyJitter, recordCount, failureRate, failureCode);
+    }
+
+    public Duration getQueryLatency() {
+        return queryLatency;
+    }
+
+    public Duration getLatencyJitter() {
+        return latencyJitter;
+    }
+
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    public double getFailureRate() {
+        return failureRate;
+    }
+
+    public String getFailureCode() {
+        return failureCode;
+    }
+}
@@ -0,0 +1,567 @@
+package org.daodao.jdbc.support;
+
+import org.daodao.jdbc.config.Neo4jConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * In-process Bolt 4.4 responder that {@code Neo4jConnector} can point at instead of a real server.
+ * Queries are answered by registered scripts, or, when none matches, by synthesizing rows for the
+ * columns named in the RETURN clause. A {@link BoltProfile} adds latency, controls how many rows
+ * synthesized reads return and injects transient failures, so batching, pooling and caching can
+ * be measured offline.
+ */
+public class FakeBoltServer implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(FakeBoltServer.class);
+
+    private static final int BOLT_MAGIC = 0x6060B017;
+    private static final int BOLT_VERSION_4_4 = 0x0404;
+
+    private static final byte HELLO = 0x01;
+    private static final byte GOODBYE = 0x02;
+    private static final byte RESET = 0x0F;
+    private static final byte RUN = 0x10;
+    private static final byte BEGIN = 0x11;
+    private static final byte COMMIT = 0x12;
+    private static final byte ROLLBACK = 0x13;
+    private static final byte DISCARD = 0x2F;
+    private static final byte PULL = 0x3F;
+
+    private static final byte SUCCESS = 0x70;
+    private static final byte RECORD = 0x71;
+    private static final byte IGNORED = 0x7E;
+    private static final byte FAILURE = 0x7F;
+
+    private final ServerSocket serverSocket;
+    private final List<Script> scripts = new CopyOnWriteArrayList<>();
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private volatile BoltProfile profile;
+    private volatile boolean running = true;
+
+    private final AtomicLong connectionCount = new AtomicLong();
+    private final AtomicLong queryCount = new AtomicLong();
+    private final AtomicLong transactionCount = new AtomicLong();
+    private final AtomicLong commitCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private final AtomicLong recordCount = new AtomicLong();
+    private final List<String> queries = new CopyOnWriteArrayList<>();
+    private final List<String> readQueries = new CopyOnWriteArrayList<>();
+
+    private record Script(Predicate<String> matcher, QueryResponder responder) {
+    }
+
+    public FakeBoltServer() throws IOException {
+        this(BoltProfile.defaults());
+    }
+
+    public FakeBoltServer(BoltProfile profile) throws IOException {
+        this.profile = profile;
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread.ofPlatform().daemon().name("fake-bolt-acceptor").start(this::acceptLoop);
+        log.info("Fake Bolt server listening on {}", getUri());
+    }
+
+    public String getUri() {
+        return "bolt://127.0.0.1:" + serverSocket.getLocalPort();
+    }
+
+    public Neo4jConfig config() {
+        Properties props = new Properties();
+        props.setProperty("neo4j.uri", getUri());
+        props.setProperty("neo4j.username", "neo4j");
+        props.setProperty("neo4j.password", "");
+        return new Neo4jConfig(props);
+    }
+
+    public BoltProfile getProfile() {
+        return profile;
+    }
+
+    public void setProfile(BoltProfile profile) {
+        this.profile = profile;
+    }
+
+    /**
+     * Registers a responder for queries matching the predicate. Scripts are tried in registration
+     * order before falling back to synthesized rows.
+     */
+    public FakeBoltServer respond(Predicate<String> matcher, QueryResponder responder) {
+        scripts.add(new Script(matcher, responder));
+        return this;
+    }
+
+    public FakeBoltServer respondContaining(String fragment, QueryResponder responder) {
+        return respond(query -> query.contains(fragment), responder);
+    }
+
+    public long getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    public long getQueryCount() {
+        return queryCount.get();
+    }
+
+    public long getTransactionCount() {
+        return transactionCount.get();
+    }
+
+    public long getCommitCount() {
+        return commitCount.get();
+    }
+
+    public long getFailureCount() {
+        return failureCount.get();
+    }
+
+    public long getRecordCount() {
+        return recordCount.get();
+    }
+
+    public List<String> getQueries() {
+        return List.copyOf(queries);
+    }
+
+    /**
+     * Queries the driver sent in read mode, i.e. ones a cluster would route to a follower.
+     */
+    public List<String> getReadQueries() {
+        return List.copyOf(readQueries);
+    }
+
+    public void resetCounters() {
+        queryCount.set(0);
+        transactionCount.set(0);
+        commitCount.set(0);
+        failureCount.set(0);
+        recordCount.set(0);
+        queries.clear();
+        readQueries.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+        for (Socket socket : connections) {
+            socket.close();
+        }
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.add(socket);
+                connectionCount.incrementAndGet();
+                Thread.ofVirtual().name("fake-bolt-connection").start(() -> serve(socket));
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("Fake Bolt server failed to accept a connection", e);
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            if (!handshake(in, out)) {
+                return;
+            }
+            new Connection(out).run(in);
+        } catch (EOFException | SocketException e) {
+            // Client went away
+        } catch (IOException e) {
+            log.warn("Fake Bolt connection failed", e);
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    private static boolean handshake(DataInputStream in, OutputStream out) throws IOException {
+        if (in.readInt() != BOLT_MAGIC) {
+            return false;
+        }
+        boolean supported = false;
+        for (int i = 0; i < 4; i++) {
+            int proposal = in.readInt();
+            int major = proposal & 0xFF;
+            int minor = (proposal >>> 8) & 0xFF;
+            int range = (proposal >>> 16) & 0xFF;
+            supported |= major == 4 && minor >= 4 && minor - range <= 4;
+        }
+        out.write(new byte[]{0, 0, (byte) (supported ? BOLT_VERSION_4_4 >>> 8 : 0), (byte) (supported ? 4 : 0)});
+        out.flush();
+        return supported;
+    }
+
+    private static byte[] readMessage(DataInputStream in) throws IOException {
+        ByteArrayOutputStream message = new ByteArrayOutputStream();
+        while (true) {
+            int size = in.readUnsignedShort();
+            if (size == 0) {
+                if (message.size() == 0) {
+                    continue; // NOOP chunk
+                }
+                return message.toByteArray();
+            }
+            byte[] chunk = new byte[size];
+            in.readFully(chunk);
+            message.write(chunk, 0, size);
+        }
+    }
+
+    private ScriptedResult resolve(String query, Map<String, Object> parameters) {
+        for (Script script : scripts) {
+            if (script.matcher().test(query)) {
+                return script.responder().respond(query, parameters);
+            }
+        }
+        return synthesize(query, parameters, profile.getRecordCount());
+    }
+
+    /**
+     * Builds rows for the columns named in the final RETURN clause. Columns containing "year" or
+     * "count" are integers, everything else is a string; a column matching a string parameter of
+     * the same name echoes that parameter and limits the result to one row.
+     */
+    public static ScriptedResult synthesize(String query, Map<String, Object> parameters, int recordCount) {
+        List<String> fields = returnColumns(query);
+        if (fields.isEmpty()) {
+            return ScriptedResult.empty();
+        }
+        boolean keyed = false;
+        for (String field : fields) {
+            keyed |= parameters.get(field) instanceof String;
+        }
+        boolean aggregate = fields.size() == 1 && fields.get(0).toLowerCase(Locale.ROOT).contains("count");
+        int rows = keyed || aggregate ? Math.min(1, recordCount) : recordCount;
+        List<List<Object>> values = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            List<Object> row = new ArrayList<>(fields.size());
+            for (String field : fields) {
+                String lower = field.toLowerCase(Locale.ROOT);
+                if (parameters.get(field) instanceof String value) {
+                    row.add(value);
+                } else if (lower.contains("count")) {
+                    row.add((long) recordCount);
+                } else if (lower.contains("year")) {
+                    row.add(1950L + i % 70);
+                } else {
+                    row.add(String.format("%s %06d", field, i));
+                }
+            }
+            values.add(row);
+        }
+        return ScriptedResult.of(fields, values);
+    }
+
+    static List<String> returnColumns(String query) {
+        String upper = query.toUpperCase(Locale.ROOT);
+        int returnIndex = upper.lastIndexOf("RETURN ");
+        if (returnIndex < 0) {
+            return List.of();
+        }
+        String clause = query.substring(returnIndex + "RETURN ".length());
+        String clauseUpper = clause.toUpperCase(Locale.ROOT);
+        for (String terminator : new String[]{" ORDER BY ", " SKIP ", " LIMIT "}) {
+            int index = clauseUpper.indexOf(terminator);
+            if (index >= 0) {
+                clause = clause.substring(0, index);
+                clauseUpper = clauseUpper.substring(0, index);
+            }
+        }
+        List<String> columns = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i <= clause.length(); i++) {
+            char c = i < clause.length() ? clause.charAt(i) : ',';
+            if (c == '(' || c == '[' || c == '{') {
+                depth++;
+            } else if (c == ')' || c == ']' || c == '}') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                String item = clause.substring(start, i).trim();
+                int alias = item.toUpperCase(Locale.ROOT).lastIndexOf(" AS ");
+                columns.add(alias >= 0 ? item.substring(alias + 4).trim() : item);
+                start = i + 1;
+            }
+        }
+        return columns;
+    }
+
+    private final class Connection {
+        private final OutputStream out;
+        private final Map<Long, PendingResult> pending = new LinkedHashMap<>();
+        private boolean failed;
+        private boolean inTransaction;
+        private boolean readTransaction;
+        private long nextQueryId;
+        private long lastQueryId = -1;
+        private String lastQueryType = "r";
+
+        private record PendingResult(Iterator<List<Object>> rows, String planKey, Map<String, Object> plan) {
+        }
+
+        Connection(OutputStream out) {
+            this.out = out;
+        }
+
+        void run(DataInputStream in) throws IOException {
+            while (running) {
+                byte[] message = readMessage(in);
+                PackStream.Unpacker unpacker = new PackStream.Unpacker(message);
+                PackStream.Structure request = (PackStream.Structure) unpacker.unpack();
+                if (!handle(request)) {
+                    return;
+                }
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean handle(PackStream.Structure request) throws IOException {
+            byte signature = request.signature();
+            if (signature == GOODBYE) {
+                return false;
+            }
+            if (signature == RESET) {
+                failed = false;
+                inTransaction = false;
+                pending.clear();
+                success(Map.of());
+                return true;
+            }
+            if (failed) {
+                send(IGNORED);
+                return true;
+            }
+            switch (signature) {
+                case HELLO -> {
+                    Map<String, Object> metadata = new HashMap<>();
+                    metadata.put("server", "Neo4j/4.4.0");
+                    metadata.put("connection_id", "bolt-" + connectionCount.get());
+                    metadata.put("hints", Map.of());
+                    success(metadata);
+                }
+                case BEGIN -> {
+                    inTransaction = true;
+                    readTransaction = isReadMode(request.fields().isEmpty() ? null : request.fields().get(0));
+                    pending.clear();
+                    nextQueryId = 0;
+                    transactionCount.incrementAndGet();
+                    success(Map.of());
+                }
+                case RUN -> run((String) request.fields().get(0), (Map<String, Object>) request.fields().get(1),
+                        inTransaction ? readTransaction : isReadMode(request.fields().size() > 2 ? request.fields().get(2) : null));
+                case PULL -> pull((Map<String, Object>) request.fields().get(0), false);
+                case DISCARD -> pull((Map<String, Object>) request.fields().get(0), true);
+                case COMMIT -> {
+                    inTransaction = false;
+                    pending.clear();
+                    commitCount.incrementAndGet();
+                    success(Map.of("bookmark", "FB:fake-" + commitCount.get()));
+                }
+                case ROLLBACK -> {
+                    inTransaction = false;
+                    pending.clear();
+                    success(Map.of());
+                }
+                default -> fail("Neo.ClientError.Request.Invalid", "Unsupported message 0x" + Integer.toHexString(signature));
+            }
+            return true;
+        }
+
+        private boolean isReadMode(Object extra) {
+            return extra instanceof Map<?, ?> metadata && "r".equals(metadata.get("mode"));
+        }
+
+        private void run(String query, Map<String, Object> parameters, boolean read) throws IOException {
+            queryCount.incrementAndGet();
+            queries.add(query);
+            if (read) {
+                readQueries.add(query);
+            }
+            BoltProfile current = profile;
+            sleep(current);
+            if (current.getFailureRate() > 0 && ThreadLocalRandom.current().nextDouble() < current.getFailureRate()) {
+                fail(current.getFailureCode(), "Injected failure for: " + query);
+                return;
+            }
+            ScriptedResult result;
+            try {
+                result = resolve(query, parameters);
+            } catch (BoltFailureException e) {
+                fail(e.getCode(), e.getMessage());
+                return;
+            }
+            long queryId = inTransaction ? nextQueryId++ : -1;
+            if (!inTransaction) {
+                pending.clear();
+            }
+            String upper = query.stripLeading().toUpperCase(Locale.ROOT);
+            if (upper.startsWith("EXPLAIN ")) {
+                pending.put(queryId, new PendingResult(List.<List<Object>>of().iterator(), "plan", plan(result, false)));
+            } else if (upper.startsWith("PROFILE ")) {
+                pending.put(queryId, new PendingResult(result.rows().iterator(), "profile", plan(result, true)));
+            } else {
+                pending.put(queryId, new PendingResult(result.rows().iterator(), null, null));
+            }
+            lastQueryId = queryId;
+            lastQueryType = isWrite(query) ? "w" : "r";
+
+            Map<String, Object> metadata = new HashMap<>();
+            metadata.put("fields", result.fields());
+            metadata.put("t_first", 0L);
+            if (inTransaction) {
+                metadata.put("qid", queryId);
+            }
+            success(metadata);
+        }
+
+        private void pull(Map<String, Object> extra, boolean discard) throws IOException {
+            long n = ((Number) extra.getOrDefault("n", -1L)).longValue();
+            long queryId = ((Number) extra.getOrDefault("qid", -1L)).longValue();
+            PendingResult pendingResult = pending.get(queryId == -1 ? lastQueryId : queryId);
+            if (pendingResult == null) {
+                fail("Neo.ClientError.Request.Invalid", "No result to " + (discard ? "discard" : "pull"));
+                return;
+            }
+            Iterator<List<Object>> rows = pendingResult.rows();
+            long sent = 0;
+            while (rows.hasNext() && (n < 0 || sent < n)) {
+                List<Object> row = rows.next();
+                if (!discard) {
+                    PackStream.Packer packer = new PackStream.Packer();
+                    packer.packStructHeader(1, RECORD);
+                    packer.pack(row);
+                    write(packer.toByteArray());
+                    recordCount.incrementAndGet();
+                }
+                sent++;
+            }
+            if (rows.hasNext()) {
+                success(Map.of("has_more", true));
+                return;
+            }
+            pending.remove(queryId == -1 ? lastQueryId : queryId);
+            Map<String, Object> metadata = new HashMap<>();
+            metadata.put("type", lastQueryType);
+            metadata.put("t_last", 0L);
+            metadata.put("db", "neo4j");
+            if (pendingResult.planKey() != null) {
+                metadata.put(pendingResult.planKey(), pendingResult.plan());
+            }
+            if (!inTransaction) {
+                metadata.put("bookmark", "FB:fake-auto-" + queryCount.get());
+            }
+            success(metadata);
+        }
+
+        private void fail(String code, String message) throws IOException {
+            failed = true;
+            failureCount.incrementAndGet();
+            PackStream.Packer packer = new PackStream.Packer();
+            packer.packStructHeader(1, FAILURE);
+            packer.pack(Map.of("code", code, "message", message));
+            write(packer.toByteArray());
+        }
+
+        private void success(Map<String, Object> metadata) throws IOException {
+            PackStream.Packer packer = new PackStream.Packer();
+            packer.packStructHeader(1, SUCCESS);
+            packer.pack(metadata);
+            write(packer.toByteArray());
+        }
+
+        private void send(byte signature) throws IOException {
+            PackStream.Packer packer = new PackStream.Packer();
+            packer.packStructHeader(0, signature);
+            write(packer.toByteArray());
+        }
+
+        private void write(byte[] message) throws IOException {
+            for (int offset = 0; offset < message.length; offset += 0xFFFF) {
+                int size = Math.min(0xFFFF, message.length - offset);
+                out.write(size >>> 8);
+                out.write(size);
+                out.write(message, offset, size);
+            }
+            out.write(0);
+            out.write(0);
+        }
+    }
+
+    // A two-operator plan shaped like the ones Neo4j returns for a label scan
+    private static Map<String, Object> plan(ScriptedResult result, boolean profiled) {
+        long rows = result.rows().size();
+        Map<String, Object> scan = new HashMap<>();
+        scan.put("operatorType", "NodeByLabelScan@neo4j");
+        scan.put("args", Map.of("EstimatedRows", (double) rows));
+        scan.put("identifiers", List.of("n"));
+        scan.put("children", List.of());
+        Map<String, Object> produce = new HashMap<>();
+        produce.put("operatorType", "ProduceResults@neo4j");
+        produce.put("args", Map.of("EstimatedRows", (double) rows));
+        produce.put("identifiers", result.fields());
+        produce.put("children", List.of(scan));
+        if (profiled) {
+            scan.put("rows", rows);
+            scan.put("dbHits", rows + 1);
+            produce.put("rows", rows);
+            produce.put("dbHits", 0L);
+        }
+        return produce;
+    }
+
+    private static boolean isWrite(String query) {
+        String upper = query.toUpperCase(Locale.ROOT);
+        return upper.contains("MERGE") || upper.contains("CREATE") || upper.contains("SET ") || upper.contains("DELETE");
+    }
+
+    private static void sleep(BoltProfile profile) {
+        long millis = profile.getQueryLatency().toMillis();
+        long jitter = profile.getLatencyJitter().toMillis();
+        if (jitter > 0) {
+            millis += ThreadLocalRandom.current().nextLong(jitter + 1);
+        }
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package org.daodao.jdbc.support;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal PackStream v1 codec covering the value types the client sends and the stand-in server
+ * returns: null, booleans, integers, floats, strings, bytes, lists, maps and structures.
+ */
+final class PackStream {
+
+    record Structure(byte signature, List<Object> fields) {
+    }
+
+    private PackStream() {
+    }
+
+    static final class Packer {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+
+        void packStructHeader(int size, byte signature) {
+            out.write(0xB0 | size);
+            out.write(signature);
+        }
+
+        @SuppressWarnings("unchecked")
+        void pack(Object value) {
+            if (value == null) {
+                out.write(0xC0);
+            } else if (value instanceof Boolean b) {
+                out.write(b ? 0xC3 : 0xC2);
+            } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+                packInt(((Number) value).longValue());
+            } else if (value instanceof Double || value instanceof Float) {
+                out.write(0xC1);
+                writeBytes(ByteBuffer.allocate(8).putDouble(((Number) value).doubleValue()).array());
+            } else if (value instanceof String s) {
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                packHeader(bytes.length, 0x80, 0xD0, 0xD1, 0xD2);
+                writeBytes(bytes);
+            } else if (value instanceof byte[] bytes) {
+                if (bytes.length <= 0xFF) {
+                    out.write(0xCC);
+                    out.write(bytes.length);
+                } else if (bytes.length <= 0xFFFF) {
+                    out.write(0xCD);
+                    writeShort(bytes.length);
+                } else {
+                    out.write(0xCE);
+                    writeInt(bytes.length);
+                }
+                writeBytes(bytes);
+            } else if (value instanceof List<?> list) {
+                packHeader(list.size(), 0x90, 0xD4, 0xD5, 0xD6);
+                for (Object item : list) {
+                    pack(item);
+                }
+            } else if (value instanceof Map<?, ?> map) {
+                packHeader(map.size(), 0xA0, 0xD8, 0xD9, 0xDA);
+                for (Map.Entry<String, Object> entry : ((Map<String, Object>) map).entrySet()) {
+                    pack(entry.getKey());
+                    pack(entry.getValue());
+                }
+            } else {
+                throw new IllegalArgumentException("Cannot pack value of type " + value.getClass().getName());
+            }
+        }
+
+        private void packInt(long value) {
+            if (value >= -16 && value <= 127) {
+                out.write((int) value);
+            } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                out.write(0xC8);
+                out.write((int) value);
+            } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                out.write(0xC9);
+                writeShort((int) value);
+            } else if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                out.write(0xCA);
+                writeInt((int) value);
+            } else {
+                out.write(0xCB);
+                writeBytes(ByteBuffer.allocate(8).putLong(value).array());
+            }
+        }
+
+        private void packHeader(int size, int tiny, int marker8, int marker16, int marker32) {
+            if (size < 16) {
+                out.write(tiny | size);
+            } else if (size <= 0xFF) {
+                out.write(marker8);
+                out.write(size);
+            } else if (size <= 0xFFFF) {
+                out.write(marker16);
+                writeShort(size);
+            } else {
+                out.write(marker32);
+                writeInt(size);
+            }
+        }
+
+        private void writeShort(int value) {
+            out.write(value >>> 8);
+            out.write(value);
+        }
+
+        private void writeInt(int value) {
+            writeBytes(ByteBuffer.allocate(4).putInt(value).array());
+        }
+
+        private void writeBytes(byte[] bytes) {
+            out.write(bytes, 0, bytes.length);
+        }
+    }
+
+    static final class Unpacker {
+        private final ByteBuffer in;
+
+        Unpacker(byte[] message) {
+            this.in = ByteBuffer.wrap(message);
+        }
+
+        Object unpack() throws IOException {
+            int marker = in.get() & 0xFF;
+            if (marker <= 0x7F) {
+                return (long) marker;
+            }
+            if (marker >= 0xF0) {
+                return (long) (byte) marker;
+            }
+            int high = marker & 0xF0;
+            int low = marker & 0x0F;
+            switch (high) {
+                case 0x80:
+                    return unpackString(low);
+                case 0x90:
+                    return unpackList(low);
+                case 0xA0:
+                    return unpackMap(low);
+                case 0xB0:
+                    return unpackStructure(low);
+                default:
+                    break;
+            }
+            return switch (marker) {
+                case 0xC0 -> null;
+                case 0xC1 -> in.getDouble();
+                case 0xC2 -> false;
+                case 0xC3 -> true;
+                case 0xC8 -> (long) in.get();
+                case 0xC9 -> (long) in.getShort();
+                case 0xCA -> (long) in.getInt();
+                case 0xCB -> in.getLong();
+                case 0xCC -> unpackBytes(in.get() & 0xFF);
+                case 0xCD -> unpackBytes(in.getShort() & 0xFFFF);
+                case 0xCE -> unpackBytes(in.getInt());
+                case 0xD0 -> unpackString(in.get() & 0xFF);
+                case 0xD1 -> unpackString(in.getShort() & 0xFFFF);
+                case 0xD2 -> unpackString(in.getInt());
+                case 0xD4 -> unpackList(in.get() & 0xFF);
+                case 0xD5 -> unpackList(in.getShort() & 0xFFFF);
+                case 0xD6 -> unpackList(in.getInt());
+                case 0xD8 -> unpackMap(in.get() & 0xFF);
+                case 0xD9 -> unpackMap(in.getShort() & 0xFFFF);
+                case 0xDA -> unpackMap(in.getInt());
+                default -> throw new IOException("Unknown PackStream marker 0x" + Integer.toHexString(marker));
+            };
+        }
+
+        Structure unpackStructure(int size) throws IOException {
+            byte signature = in.get();
+            List<Object> fields = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                fields.add(unpack());
+            }
+            return new Structure(signature, fields);
+        }
+
+        private String unpackString(int size) {
+            byte[] bytes = new byte[size];
+            in.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private byte[] unpackBytes(int size) {
+            byte[] bytes = new byte[size];
+            in.get(bytes);
+            return bytes;
+        }
+
+        private List<Object> unpackList(int size) throws IOException {
+            List<Object> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(unpack());
+            }
+            return list;
+        }
+
+        private Map<String, Object> unpackMap(int size) throws IOException {
+            Map<String, Object> map = new LinkedHashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                map.put((String) unpack(), unpack());
+            }
+            return map;
+        }
+    }
+}
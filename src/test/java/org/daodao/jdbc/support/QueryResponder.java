@@ -0,0 +1,13 @@
+package org.daodao.jdbc.support;
+
+import java.util.Map;
+
+@FunctionalInterface
+public interface QueryResponder {
+
+    /**
+     * Produces the result for a query, or throws {@link BoltFailureException} to make the server
+     * answer with a FAILURE message.
+     */
+    ScriptedResult respond(String query, Map<String, Object> parameters);
+}
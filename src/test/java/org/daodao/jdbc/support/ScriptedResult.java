@@ -0,0 +1,17 @@
+package org.daodao.jdbc.support;
+
+import java.util.List;
+
+/**
+ * Columns and rows a {@link FakeBoltServer} streams back for one query.
+ */
+public record ScriptedResult(List<String> fields, List<List<Object>> rows) {
+
+    public static ScriptedResult empty() {
+        return new ScriptedResult(List.of(), List.of());
+    }
+
+    public static ScriptedResult of(List<String> fields, List<List<Object>> rows) {
+        return new ScriptedResult(fields, rows);
+    }
+}